@@ -25,9 +25,15 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A formatter for {@link Date} types. Allows the configuration of an explicit date pattern and locale.
+ * <p>
+ * The date format for each locale is created once and cloned for each conversion, as date formats are not thread-safe.
+ * At most {@value #MAX_CACHED_LOCALES} locales are cached, as the locale usually comes from the client; formats for
+ * further locales are created on every conversion.
  *
  * @author Keith Donald
  * @see SimpleDateFormat
@@ -39,12 +45,19 @@ public class StringToDate extends StringToObject {
      */
     private static final String DEFAULT_PATTERN = "yyyy-MM-dd";
 
+    /**
+     * The maximum number of locales date formats are cached for.
+     */
+    private static final int MAX_CACHED_LOCALES = 32;
+
     private static Log logger = LogFactory.getLog(StringToDate.class);
 
     private String pattern;
 
     private Locale locale;
 
+    private final Map<Locale, DateFormat> dateFormats = new ConcurrentHashMap<>();
+
     public StringToDate() {
         super(Date.class);
     }
@@ -65,6 +78,7 @@ public class StringToDate extends StringToObject {
      */
     public void setPattern(String pattern) {
         this.pattern = pattern;
+        dateFormats.clear();
     }
 
     /**
@@ -110,6 +124,20 @@ public class StringToDate extends StringToObject {
 
     protected DateFormat getDateFormat() {
         Locale locale = determineLocale(this.locale);
+        DateFormat format = dateFormats.get(locale);
+        if (format == null) {
+            format = createDateFormat(locale);
+            if (dateFormats.size() >= MAX_CACHED_LOCALES) {
+                return format;
+            }
+            dateFormats.put(locale, format);
+        }
+        return (DateFormat) format.clone();
+    }
+
+    // internal helpers
+
+    private DateFormat createDateFormat(Locale locale) {
         DateFormat format = DateFormat.getDateInstance(DateFormat.SHORT, locale);
         format.setLenient(false);
         if (format instanceof SimpleDateFormat) {
@@ -122,8 +150,6 @@ public class StringToDate extends StringToObject {
         return format;
     }
 
-    // internal helpers
-
     private String determinePattern(String pattern) {
         return pattern != null ? pattern : DEFAULT_PATTERN;
     }
@@ -21,7 +21,9 @@ import org.springframework.binding.convert.ConversionService;
 import org.springframework.util.Assert;
 
 /**
- * A conversion executor that doesn't resolve its converter until its time to perform a conversion.
+ * A conversion executor that doesn't resolve its converter until its time to perform a conversion. The converter
+ * resolved for the most recent source type is remembered, so repeated conversions of values of the same type do not
+ * look the converter up again.
  *
  * @author Keith Donald
  */
@@ -31,6 +33,8 @@ public class RuntimeBindingConversionExecutor implements ConversionExecutor {
 
     private ConversionService conversionService;
 
+    private volatile ResolvedExecutor lastExecutor;
+
     /**
      * Creates a new runtime binding conversion executor.
      *
@@ -69,7 +73,29 @@ public class RuntimeBindingConversionExecutor implements ConversionExecutor {
     }
 
     public Object execute(Object source, Object context) throws ConversionExecutionException {
-        return conversionService.getConversionExecutor(source.getClass(), targetClass).execute(source);
+        return getConversionExecutor(source.getClass()).execute(source);
+    }
+
+    private ConversionExecutor getConversionExecutor(Class<?> sourceClass) {
+        ResolvedExecutor resolved = lastExecutor;
+        if (resolved == null || resolved.sourceClass != sourceClass) {
+            resolved = new ResolvedExecutor(sourceClass,
+                conversionService.getConversionExecutor(sourceClass, targetClass));
+            lastExecutor = resolved;
+        }
+        return resolved.executor;
+    }
+
+    private static class ResolvedExecutor {
+
+        private final Class<?> sourceClass;
+
+        private final ConversionExecutor executor;
+
+        public ResolvedExecutor(Class<?> sourceClass, ConversionExecutor executor) {
+            this.sourceClass = sourceClass;
+            this.executor = executor;
+        }
     }
 
 }
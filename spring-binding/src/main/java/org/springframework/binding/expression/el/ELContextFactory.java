@@ -40,4 +40,14 @@ public interface ELContextFactory {
      */
     ELContext getELContext(Object target);
 
+    /**
+     * Called once the evaluation using an {@link ELContext} returned by {@link #getELContext(Object)} has completed,
+     * successfully or not. Factories that reuse EL contexts use this to know the context is free again. The default
+     * implementation does nothing.
+     *
+     * @param elContext the EL context no longer in use
+     */
+    default void releaseELContext(ELContext elContext) {
+    }
+
 }
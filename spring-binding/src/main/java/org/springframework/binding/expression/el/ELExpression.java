@@ -69,6 +69,8 @@ public class ELExpression implements Expression {
             throw new EvaluationException(context.getClass(), getExpressionString(),
                 "An ELException occurred getting the value for expression '" + getExpressionString()
                 + "' on context [" + context.getClass() + "]", e);
+        } finally {
+            elContextFactory.releaseELContext(ctx);
         }
     }
 
@@ -87,6 +89,8 @@ public class ELExpression implements Expression {
             throw new EvaluationException(context.getClass(), getExpressionString(),
                 "An ELException occurred setting the value of expression '" + getExpressionString()
                 + "' on context [" + context.getClass() + "] to [" + value + "]", e);
+        } finally {
+            elContextFactory.releaseELContext(ctx);
         }
     }
 
@@ -100,6 +104,8 @@ public class ELExpression implements Expression {
             throw new EvaluationException(context.getClass(), getExpressionString(),
                 "An ELException occurred getting the value type for expression '" + getExpressionString()
                 + "' on context [" + context.getClass() + "]", e);
+        } finally {
+            elContextFactory.releaseELContext(ctx);
         }
     }
 
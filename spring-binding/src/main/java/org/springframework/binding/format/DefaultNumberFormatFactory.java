@@ -21,11 +21,17 @@ import org.apache.commons.logging.LogFactory;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Works with a general purpose {@link DecimalFormat} instance returned by calling
  * {@link NumberFormat#getInstance(Locale)} by default. This instance supports parsing any number type generally and
  * will not perform special type-specific logic such as rounding or truncation.
+ * <p>
+ * The format for each locale is created once and cloned for each call, as number formats are not thread-safe: this
+ * skips the locale data lookup and pattern compilation on every conversion. At most {@value #MAX_CACHED_LOCALES} locales
+ * are cached, as the locale usually comes from the client; formats for further locales are created on every call.
  *
  * @author Keith Donald
  * @see NumberFormat
@@ -35,8 +41,15 @@ public class DefaultNumberFormatFactory extends AbstractNumberFormatFactory {
 
     private static Log logger = LogFactory.getLog(DefaultNumberFormatFactory.class);
 
+    /**
+     * The maximum number of locales number formats are cached for.
+     */
+    private static final int MAX_CACHED_LOCALES = 32;
+
     private String pattern;
 
+    private final Map<Locale, NumberFormat> formats = new ConcurrentHashMap<>();
+
     /**
      * The pattern to use to format number values. If not specified, the default DecimalFormat pattern is used.
      *
@@ -54,9 +67,24 @@ public class DefaultNumberFormatFactory extends AbstractNumberFormatFactory {
      */
     public void setPattern(String pattern) {
         this.pattern = pattern;
+        formats.clear();
     }
 
     protected NumberFormat getNumberFormat(Locale locale) {
+        NumberFormat format = formats.get(locale);
+        if (format == null) {
+            format = createNumberFormat(locale);
+            if (formats.size() >= MAX_CACHED_LOCALES) {
+                return format;
+            }
+            formats.put(locale, format);
+        }
+        return (NumberFormat) format.clone();
+    }
+
+    // internal helpers
+
+    private NumberFormat createNumberFormat(Locale locale) {
         NumberFormat format = NumberFormat.getInstance(locale);
         if (pattern != null) {
             if (format instanceof DecimalFormat) {
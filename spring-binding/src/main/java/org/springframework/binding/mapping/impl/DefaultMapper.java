@@ -37,6 +37,8 @@ public class DefaultMapper implements Mapper {
 
     private List<DefaultMapping> mappings = new ArrayList<>();
 
+    private boolean recordSuccessResults = true;
+
     /**
      * Add a mapping to this mapper.
      *
@@ -57,12 +59,31 @@ public class DefaultMapper implements Mapper {
         return mappings.toArray(new Mapping[mappings.size()]);
     }
 
+    /**
+     * Returns whether successful mappings are recorded in the {@link MappingResults} returned by this mapper.
+     *
+     * @return true if successes are recorded, false if only errors are
+     */
+    public boolean getRecordSuccessResults() {
+        return recordSuccessResults;
+    }
+
+    /**
+     * Sets whether successful mappings are recorded in the {@link MappingResults} returned by this mapper. Default is
+     * true. Callers only interested in errors can turn this off so that a mapping with no errors allocates no results.
+     *
+     * @param recordSuccessResults whether to record successful mappings
+     */
+    public void setRecordSuccessResults(boolean recordSuccessResults) {
+        this.recordSuccessResults = recordSuccessResults;
+    }
+
     public MappingResults map(Object source, Object target) {
         if (logger.isDebugEnabled()) {
             logger.debug("Beginning mapping between source [" + source.getClass().getName() + "] and target ["
                          + target.getClass().getName() + "]");
         }
-        DefaultMappingContext context = new DefaultMappingContext(source, target);
+        DefaultMappingContext context = new DefaultMappingContext(source, target, recordSuccessResults);
         for (DefaultMapping mapping : mappings) {
             mapping.map(context);
         }
@@ -48,9 +48,29 @@ public class DefaultMappingContext {
 
     private List<MappingResult> mappingResults;
 
+    private boolean recordSuccessResults;
+
+    /**
+     * Create a new mapping context that records all mapping results.
+     *
+     * @param source the object being mapped from
+     * @param target the object being mapped to
+     */
     public DefaultMappingContext(Object source, Object target) {
+        this(source, target, true);
+    }
+
+    /**
+     * Create a new mapping context.
+     *
+     * @param source               the object being mapped from
+     * @param target               the object being mapped to
+     * @param recordSuccessResults whether successful mappings are recorded; if false, only errors are recorded
+     */
+    public DefaultMappingContext(Object source, Object target, boolean recordSuccessResults) {
         this.source = source;
         this.target = target;
+        this.recordSuccessResults = recordSuccessResults;
         this.mappingResults = new ArrayList<>();
     }
 
@@ -102,7 +122,11 @@ public class DefaultMappingContext {
      *                      was performed
      */
     public void setSuccessResult(Object originalValue, Object mappedValue) {
-        add(new Success(currentMapping, mappedValue, originalValue));
+        if (recordSuccessResults) {
+            add(new Success(currentMapping, mappedValue, originalValue));
+        } else {
+            currentMapping = null;
+        }
     }
 
     /**
@@ -24,18 +24,28 @@ import java.util.Collections;
 import java.util.List;
 
 /**
- * Default mapping results implementation.
+ * Default mapping results implementation. Error results are separated out and counted once when the results are
+ * created, so error queries do not rescan or copy the full result list.
  *
  * @author Keith Donald
  */
 public class DefaultMappingResults implements MappingResults {
 
+    /**
+     * The error code of results produced when a source or target property does not exist.
+     */
+    public static final String PROPERTY_NOT_FOUND_CODE = "propertyNotFound";
+
     private transient Object source;
 
     private transient Object target;
 
     private List<MappingResult> mappingResults;
 
+    private List<MappingResult> errorResults;
+
+    private int propertyNotFoundErrorCount;
+
     /**
      * Creates a new mapping results object.
      *
@@ -46,7 +56,24 @@ public class DefaultMappingResults implements MappingResults {
     public DefaultMappingResults(Object source, Object target, List<MappingResult> mappingResults) {
         this.source = source;
         this.target = target;
-        this.mappingResults = mappingResults;
+        this.mappingResults = Collections.unmodifiableList(mappingResults);
+        this.errorResults = Collections.emptyList();
+        List<MappingResult> errors = null;
+        for (MappingResult result : mappingResults) {
+            if (result.isError()) {
+                if (errors == null) {
+                    errors = new ArrayList<>(mappingResults.size());
+                }
+                errors.add(result);
+                if (PROPERTY_NOT_FOUND_CODE.equals(result.getCode())) {
+                    propertyNotFoundErrorCount++;
+                }
+            }
+        }
+        if (errors != null) {
+            this.errorResults = errors.size() == mappingResults.size() ? this.mappingResults : Collections
+                .unmodifiableList(errors);
+        }
     }
 
     public Object getSource() {
@@ -58,36 +85,47 @@ public class DefaultMappingResults implements MappingResults {
     }
 
     public List<MappingResult> getAllResults() {
-        return Collections.unmodifiableList(mappingResults);
+        return mappingResults;
     }
 
     public boolean hasErrorResults() {
-        for (MappingResult result : mappingResults) {
-            if (result.isError()) {
-                return true;
-            }
-        }
-        return false;
+        return !errorResults.isEmpty();
     }
 
     public List<MappingResult> getErrorResults() {
-        List<MappingResult> errorResults = new ArrayList<>();
-        for (MappingResult result : mappingResults) {
-            if (result.isError()) {
-                errorResults.add(result);
-            }
-        }
-        return Collections.unmodifiableList(errorResults);
+        return errorResults;
+    }
+
+    /**
+     * Returns the number of error results.
+     *
+     * @return the error count
+     */
+    public int getErrorCount() {
+        return errorResults.size();
+    }
+
+    /**
+     * Returns the number of error results caused by a source or target property that does not exist.
+     *
+     * @return the property not found error count
+     * @see #PROPERTY_NOT_FOUND_CODE
+     */
+    public int getPropertyNotFoundErrorCount() {
+        return propertyNotFoundErrorCount;
     }
 
     public List<MappingResult> getResults(MappingResultsCriteria criteria) {
-        List<MappingResult> results = new ArrayList<>();
+        List<MappingResult> results = null;
         for (MappingResult result : mappingResults) {
             if (criteria.test(result)) {
+                if (results == null) {
+                    results = new ArrayList<>();
+                }
                 results.add(result);
             }
         }
-        return Collections.unmodifiableList(results);
+        return results != null ? Collections.unmodifiableList(results) : Collections.emptyList();
     }
 
     public String toString() {
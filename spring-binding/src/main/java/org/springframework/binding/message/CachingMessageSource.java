@@ -0,0 +1,164 @@
+/*
+ * Copyright 2004-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.binding.message;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link MessageSource} decorator that caches the text resolved for {@link MessageSourceResolvable}s by codes,
+ * arguments, default text and locale. Only resolvables whose arguments are immutable values (strings, numbers,
+ * booleans, characters, enums and arguments added with {@link MessageBuilder#resolvableArg(Object)}) are cached; all
+ * other lookups go straight to the target message source.
+ * <p>
+ * The cache is bounded: once it holds the maximum number of entries, further lookups are no longer cached. Do not use
+ * this decorator in front of a message source that reloads its bundles at runtime.
+ */
+public class CachingMessageSource implements MessageSource {
+
+    /**
+     * The default maximum number of cached messages.
+     */
+    public static final int DEFAULT_CACHE_LIMIT = 1024;
+
+    private final MessageSource targetMessageSource;
+
+    private final int cacheLimit;
+
+    private final Map<CacheKey, String> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new caching message source with the {@link #DEFAULT_CACHE_LIMIT default cache limit}.
+     *
+     * @param targetMessageSource the message source to decorate
+     */
+    public CachingMessageSource(MessageSource targetMessageSource) {
+        this(targetMessageSource, DEFAULT_CACHE_LIMIT);
+    }
+
+    /**
+     * Creates a new caching message source.
+     *
+     * @param targetMessageSource the message source to decorate
+     * @param cacheLimit          the maximum number of messages to cache
+     */
+    public CachingMessageSource(MessageSource targetMessageSource, int cacheLimit) {
+        Assert.notNull(targetMessageSource, "The target message source is required");
+        this.targetMessageSource = targetMessageSource;
+        this.cacheLimit = cacheLimit;
+    }
+
+    /**
+     * Returns the message source this source delegates to.
+     */
+    public MessageSource getTargetMessageSource() {
+        return targetMessageSource;
+    }
+
+    /**
+     * Returns the number of messages currently cached.
+     */
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        return targetMessageSource.getMessage(code, args, defaultMessage, locale);
+    }
+
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        return targetMessageSource.getMessage(code, args, locale);
+    }
+
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        if (!isCacheable(resolvable.getArguments())) {
+            return targetMessageSource.getMessage(resolvable, locale);
+        }
+        CacheKey key = new CacheKey(resolvable, locale);
+        String text = cache.get(key);
+        if (text == null) {
+            text = targetMessageSource.getMessage(resolvable, locale);
+            if (text != null && cache.size() < cacheLimit) {
+                cache.put(key, text);
+            }
+        }
+        return text;
+    }
+
+    private static boolean isCacheable(Object[] args) {
+        if (args == null) {
+            return true;
+        }
+        for (Object arg : args) {
+            if (!isCacheable(arg)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCacheable(Object arg) {
+        if (arg instanceof MessageBuilder.ResolvableArgument) {
+            return isCacheable(((MessageBuilder.ResolvableArgument) arg).getArg());
+        }
+        return arg == null || arg instanceof String || arg instanceof Number || arg instanceof Boolean
+               || arg instanceof Character || arg instanceof Enum;
+    }
+
+    private static class CacheKey {
+
+        private final String[] codes;
+
+        private final Object[] args;
+
+        private final String defaultMessage;
+
+        private final Locale locale;
+
+        private final int hashCode;
+
+        public CacheKey(MessageSourceResolvable resolvable, Locale locale) {
+            this.codes = resolvable.getCodes();
+            this.args = resolvable.getArguments();
+            this.defaultMessage = resolvable.getDefaultMessage();
+            this.locale = locale;
+            this.hashCode = Arrays.hashCode(codes) * 31 + Arrays.hashCode(args) * 17
+                            + ObjectUtils.nullSafeHashCode(defaultMessage) * 7 + ObjectUtils.nullSafeHashCode(locale);
+        }
+
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return Arrays.equals(codes, other.codes) && Arrays.equals(args, other.args)
+                   && ObjectUtils.nullSafeEquals(defaultMessage, other.defaultMessage)
+                   && ObjectUtils.nullSafeEquals(locale, other.locale);
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
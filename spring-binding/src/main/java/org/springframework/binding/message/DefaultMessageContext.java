@@ -17,15 +17,16 @@ package org.springframework.binding.message;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.springframework.binding.collection.AbstractCachingMapDecorator;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.context.support.AbstractMessageSource;
 import org.springframework.core.style.ToStringCreator;
+import org.springframework.util.ObjectUtils;
 
 import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -34,6 +35,11 @@ import java.util.Map;
 /**
  * The default message context implementation. Uses a {@link MessageSource} to resolve messages that are added by
  * callers.
+ * <p>
+ * Messages are indexed by source and counted by severity, so source lookups and {@link #hasErrorMessages()} do not scan
+ * all messages. The source-ordered message array is cached until the messages change; {@link #getAllMessages()} hands
+ * out a copy of it. Most requests record no messages at all, so a context only allocates its message index when the
+ * first message is added.
  *
  * @author Keith Donald
  */
@@ -41,23 +47,41 @@ public class DefaultMessageContext implements StateManageableMessageContext {
 
     private static final Log logger = LogFactory.getLog(DefaultMessageContext.class);
 
+    private static final Message[] EMPTY_MESSAGES = new Message[0];
+
+    private static final MessageSource DEFAULT_TEXT_FALLBACK_MESSAGE_SOURCE = new DefaultTextFallbackMessageSource();
+
     private MessageSource messageSource;
 
-    @SuppressWarnings("serial")
-    private Map<Object, List<Message>> sourceMessages =
-        new AbstractCachingMapDecorator<Object, List<Message>>(new LinkedHashMap<>()) {
+    /**
+     * Messages indexed by source, in the order the sources were first seen. The 'null' source always comes first. Null
+     * until the first message is added.
+     */
+    private Map<Object, List<Message>> sourceMessages;
 
-            protected List<Message> create(Object source) {
-                return new ArrayList<>();
-            }
-        };
+    /**
+     * The number of messages of each {@link Severity}, indexed by ordinal.
+     */
+    private final int[] severityCounts = new int[Severity.values().length];
+
+    private int messageCount;
+
+    /**
+     * All messages in source order, computed on first request after a change.
+     */
+    private Message[] allMessages;
+
+    /**
+     * The memento last created or restored, shared as long as the messages do not change.
+     */
+    private MessagesMemento memento;
 
     /**
      * Creates a new default message context. Defaults to a message source that simply resolves default text and cannot
      * resolve localized message codes.
      */
     public DefaultMessageContext() {
-        init(null);
+        setMessageSource(null);
     }
 
     /**
@@ -66,7 +90,7 @@ public class DefaultMessageContext implements StateManageableMessageContext {
      * @param messageSource the message source to resolve messages added to this context
      */
     public DefaultMessageContext(MessageSource messageSource) {
-        init(messageSource);
+        setMessageSource(messageSource);
     }
 
     public MessageSource getMessageSource() {
@@ -77,73 +101,107 @@ public class DefaultMessageContext implements StateManageableMessageContext {
 
     public void setMessageSource(MessageSource messageSource) {
         if (messageSource == null) {
-            messageSource = new DefaultTextFallbackMessageSource();
+            messageSource = DEFAULT_TEXT_FALLBACK_MESSAGE_SOURCE;
         }
         this.messageSource = messageSource;
     }
 
     public Message[] getAllMessages() {
-        List<Message> messages = new ArrayList<>();
-        for (List<Message> list : sourceMessages.values()) {
-            messages.addAll(list);
-        }
-        return messages.toArray(new Message[messages.size()]);
+        Message[] messages = allMessages();
+        return messages.length > 0 ? messages.clone() : messages;
     }
 
     public Message[] getMessagesBySource(Object source) {
-        List<Message> messages = sourceMessages.get(source);
+        List<Message> messages = sourceMessages != null ? sourceMessages.get(source) : null;
+        if (messages == null || messages.isEmpty()) {
+            return EMPTY_MESSAGES;
+        }
         return messages.toArray(new Message[messages.size()]);
     }
 
     public Message[] getMessagesByCriteria(MessageCriteria criteria) {
+        if (messageCount == 0) {
+            return EMPTY_MESSAGES;
+        }
         List<Message> messages = new ArrayList<>();
-        for (List<Message> sourceMessages : this.sourceMessages.values()) {
-            for (Message message : sourceMessages) {
-                if (criteria.test(message)) {
-                    messages.add(message);
-                }
+        for (Message message : allMessages()) {
+            if (criteria.test(message)) {
+                messages.add(message);
             }
         }
         return messages.toArray(new Message[messages.size()]);
     }
 
     public boolean hasErrorMessages() {
-        for (List<Message> sourceMessages : this.sourceMessages.values()) {
-            for (Message message : sourceMessages) {
-                if (message.getSeverity() == Severity.ERROR) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return severityCounts[Severity.ERROR.ordinal()] > 0;
+    }
+
+    /**
+     * Returns the number of messages of the given severity in this context.
+     *
+     * @param severity the message severity
+     * @return the message count
+     */
+    public int getMessageCount(Severity severity) {
+        return severityCounts[severity.ordinal()];
     }
 
     public void addMessage(MessageResolver messageResolver) {
         Locale currentLocale = LocaleContextHolder.getLocale();
-        if (logger.isDebugEnabled()) {
-            logger.debug("Resolving message using " + messageResolver);
+        Message message;
+        if (messageResolver instanceof DefaultMessageResolver
+            && ((DefaultMessageResolver) messageResolver).getDefaultMessage() != null) {
+            // source and severity are known up front and the lookup cannot fail for want of a message: defer the
+            // message source lookup until the text is needed
+            message = new DeferredMessage((DefaultMessageResolver) messageResolver, messageSource, currentLocale);
+        } else {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Resolving message using " + messageResolver);
+            }
+            message = messageResolver.resolveMessage(messageSource, currentLocale);
         }
-        Message message = messageResolver.resolveMessage(messageSource, currentLocale);
-        List<Message> messages = sourceMessages.get(message.getSource());
         if (logger.isDebugEnabled()) {
-            logger.debug("Adding resolved message " + message);
+            logger.debug("Adding message " + message);
         }
-        messages.add(message);
+        add(message);
     }
 
     // implementing state manageable message context
 
     public void clearMessages() {
-        sourceMessages.clear();
+        if (messageCount == 0) {
+            return;
+        }
+        sourceMessages = null;
+        Arrays.fill(severityCounts, 0);
+        messageCount = 0;
+        messagesChanged();
     }
 
     public Serializable createMessagesMemento() {
-        return new LinkedHashMap<>(sourceMessages);
+        if (memento == null) {
+            memento = new MessagesMemento(collectAllMessages());
+        }
+        return memento;
     }
 
     @SuppressWarnings("unchecked")
     public void restoreMessages(Serializable messagesMemento) {
-        sourceMessages.putAll((Map<Object, List<Message>>) messagesMemento);
+        clearMessages();
+        if (messagesMemento instanceof MessagesMemento) {
+            MessagesMemento restored = (MessagesMemento) messagesMemento;
+            for (Message message : restored.messages) {
+                add(message);
+            }
+            memento = restored;
+        } else {
+            // memento created by a previous version of this class
+            for (List<Message> messages : ((Map<Object, List<Message>>) messagesMemento).values()) {
+                for (Message message : messages) {
+                    add(message);
+                }
+            }
+        }
     }
 
     // internal helpers
@@ -152,15 +210,136 @@ public class DefaultMessageContext implements StateManageableMessageContext {
         return new ToStringCreator(this).append("sourceMessages", sourceMessages).toString();
     }
 
+    /**
+     * Resolves default text only. A single instance is shared by all contexts, so default text is formatted without
+     * caching a message format per text, which would grow without bound and make all contexts contend for it.
+     */
     private static class DefaultTextFallbackMessageSource extends AbstractMessageSource {
         protected MessageFormat resolveCode(String code, Locale locale) {
             return null;
         }
+
+        protected String formatMessage(String msg, Object[] args, Locale locale) {
+            if (ObjectUtils.isEmpty(args)) {
+                return msg;
+            }
+            MessageFormat messageFormat;
+            try {
+                messageFormat = createMessageFormat(msg, locale);
+            } catch (IllegalArgumentException e) {
+                // not a valid message format: render the text as is, like the caching implementation
+                return msg;
+            }
+            return messageFormat.format(resolveArguments(args, locale));
+        }
     }
 
-    private void init(MessageSource messageSource) {
-        setMessageSource(messageSource);
-        // create the 'null' source message list eagerly to ensure global messages are indexed first
-        this.sourceMessages.get(null);
+    /**
+     * A message whose text is resolved against the message source on first access. Many messages are cleared before
+     * they are ever rendered, so they never pay for the lookup. Only messages with default text are deferred, so an
+     * unresolvable code is still reported by {@link #addMessage(MessageResolver)} rather than when the message is
+     * rendered or serialized. Serialized as a plain, resolved {@link Message}.
+     */
+    @SuppressWarnings("serial")
+    private static class DeferredMessage extends Message {
+
+        private transient DefaultMessageResolver resolver;
+
+        private transient MessageSource messageSource;
+
+        private transient Locale locale;
+
+        private transient String text;
+
+        public DeferredMessage(DefaultMessageResolver resolver, MessageSource messageSource, Locale locale) {
+            super(resolver.getSource(), null, resolver.getSeverity());
+            this.resolver = resolver;
+            this.messageSource = messageSource;
+            this.locale = locale;
+        }
+
+        public String getText() {
+            if (resolver != null) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Resolving message using " + resolver);
+                }
+                text = resolver.resolveMessage(messageSource, locale).getText();
+                resolver = null;
+                messageSource = null;
+                locale = null;
+            }
+            return text;
+        }
+
+        public String toString() {
+            if (resolver != null) {
+                return new ToStringCreator(this).append("source", getSource()).append("severity", getSeverity())
+                    .append("resolver", resolver).toString();
+            }
+            return new ToStringCreator(this).append("source", getSource()).append("severity", getSeverity())
+                .append("text", text).toString();
+        }
+
+        private Object writeReplace() {
+            return new Message(getSource(), getText(), getSeverity());
+        }
+    }
+
+    private void add(Message message) {
+        if (sourceMessages == null) {
+            sourceMessages = new LinkedHashMap<>();
+            // create the 'null' source message list first to ensure global messages are indexed first
+            sourceMessages.put(null, new ArrayList<>());
+        }
+        sourceMessages.computeIfAbsent(message.getSource(), source -> new ArrayList<>()).add(message);
+        if (message.getSeverity() != null) {
+            severityCounts[message.getSeverity().ordinal()]++;
+        }
+        messageCount++;
+        messagesChanged();
+    }
+
+    private void messagesChanged() {
+        allMessages = null;
+        memento = null;
+    }
+
+    private Message[] allMessages() {
+        if (allMessages == null) {
+            allMessages = collectAllMessages();
+        }
+        return allMessages;
+    }
+
+    private Message[] collectAllMessages() {
+        if (messageCount == 0) {
+            return EMPTY_MESSAGES;
+        }
+        Message[] messages = new Message[messageCount];
+        int i = 0;
+        for (List<Message> list : sourceMessages.values()) {
+            for (Message message : list) {
+                messages[i++] = message;
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Immutable memento holding the messages of a context in source order. A restored memento is handed out again by
+     * {@link #createMessagesMemento()} until the messages change, so an unchanged set of messages is carried from
+     * request to request without being copied.
+     */
+    private static class MessagesMemento implements Serializable {
+
+        private final Message[] messages;
+
+        public MessagesMemento(Message[] messages) {
+            this.messages = messages;
+        }
+
+        public String toString() {
+            return new ToStringCreator(this).append("messages", messages).toString();
+        }
     }
 }
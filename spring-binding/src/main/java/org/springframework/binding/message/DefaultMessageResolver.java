@@ -45,6 +45,20 @@ public class DefaultMessageResolver implements MessageResolver, MessageSourceRes
         return new Message(source, postProcessMessageText(messageSource.getMessage(this, locale)), severity);
     }
 
+    /**
+     * Returns the source of the messages this resolver creates.
+     */
+    public Object getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the severity of the messages this resolver creates.
+     */
+    public Severity getSeverity() {
+        return severity;
+    }
+
     public String[] getCodes() {
         return codes;
     }
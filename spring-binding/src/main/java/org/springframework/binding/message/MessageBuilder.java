@@ -18,6 +18,7 @@ package org.springframework.binding.message;
 import org.springframework.context.MessageSource;
 import org.springframework.context.MessageSourceResolvable;
 import org.springframework.core.style.ToStringCreator;
+import org.springframework.util.ObjectUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -221,7 +222,7 @@ public class MessageBuilder {
         return new DefaultMessageResolver(source, codesArray, severity, argsArray, defaultText);
     }
 
-    private static class ResolvableArgument implements MessageSourceResolvable {
+    static class ResolvableArgument implements MessageSourceResolvable {
 
         private Object arg;
 
@@ -229,6 +230,10 @@ public class MessageBuilder {
             this.arg = arg;
         }
 
+        public Object getArg() {
+            return arg;
+        }
+
         public Object[] getArguments() {
             return null;
         }
@@ -241,6 +246,17 @@ public class MessageBuilder {
             return arg.toString();
         }
 
+        public boolean equals(Object o) {
+            if (!(o instanceof ResolvableArgument)) {
+                return false;
+            }
+            return ObjectUtils.nullSafeEquals(arg, ((ResolvableArgument) o).arg);
+        }
+
+        public int hashCode() {
+            return ObjectUtils.nullSafeHashCode(arg);
+        }
+
         public String toString() {
             return new ToStringCreator(this).append("arg", arg).toString();
         }
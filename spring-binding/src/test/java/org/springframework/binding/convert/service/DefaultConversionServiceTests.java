@@ -22,15 +22,19 @@ import org.springframework.binding.convert.ConversionExecutor;
 import org.springframework.binding.convert.ConversionExecutorNotFoundException;
 import org.springframework.binding.convert.converters.Converter;
 import org.springframework.binding.convert.converters.FormattedStringToNumber;
+import org.springframework.binding.convert.converters.InvalidFormatException;
 import org.springframework.binding.convert.converters.StringToBoolean;
+import org.springframework.binding.convert.converters.StringToDate;
 import org.springframework.binding.convert.converters.StringToObject;
 import org.springframework.binding.convert.converters.TwoWayConverter;
 import org.springframework.binding.format.DefaultNumberFormatFactory;
 
 import java.security.Principal;
+import java.text.DecimalFormat;
 import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -110,6 +114,43 @@ public class DefaultConversionServiceTests {
         assertEquals("3,000", string);
     }
 
+    @Test
+    public void testCachedNumberFormats() {
+        DefaultNumberFormatFactory numberFormatFactory = new DefaultNumberFormatFactory();
+        numberFormatFactory.setLocale(Locale.US);
+        assertNotSame(numberFormatFactory.getNumberFormat(), numberFormatFactory.getNumberFormat());
+        assertEquals(numberFormatFactory.getNumberFormat(), numberFormatFactory.getNumberFormat());
+        numberFormatFactory.setPattern("#,##0.00");
+        assertEquals("#,##0.00", ((DecimalFormat) numberFormatFactory.getNumberFormat()).toPattern());
+    }
+
+    @Test
+    public void testCachedDateFormats() throws Exception {
+        StringToDate converter = new StringToDate();
+        converter.setLocale(Locale.US);
+        Object date = converter.convertSourceToTargetClass("2008-01-31", Date.class);
+        assertEquals("2008-01-31", converter.convertTargetToSourceClass(date, String.class));
+        assertThrows(InvalidFormatException.class, () -> converter.convertSourceToTargetClass("2008-02-31",
+            Date.class));
+        converter.setPattern("dd/MM/yyyy");
+        assertEquals("31/01/2008", converter.convertTargetToSourceClass(date, String.class));
+    }
+
+    @Test
+    public void testFormatsForUncachedLocales() throws Exception {
+        DefaultNumberFormatFactory numberFormatFactory = new DefaultNumberFormatFactory();
+        numberFormatFactory.setPattern("#,##0.00");
+        StringToDate converter = new StringToDate();
+        Object date = converter.convertSourceToTargetClass("2008-01-31", Date.class);
+        for (int i = 0; i < 100; i++) {
+            Locale locale = new Locale("en", "US", "V" + i);
+            numberFormatFactory.setLocale(locale);
+            assertEquals("3,000.00", numberFormatFactory.getNumberFormat().format(3000));
+            converter.setLocale(locale);
+            assertEquals("2008-01-31", converter.convertTargetToSourceClass(date, String.class));
+        }
+    }
+
     @Test
     public void testRegisterCustomConverter() {
         DefaultConversionService service = new DefaultConversionService();
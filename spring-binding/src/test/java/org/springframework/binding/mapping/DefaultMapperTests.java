@@ -5,6 +5,7 @@ import org.springframework.binding.expression.ExpressionParser;
 import org.springframework.binding.expression.spel.SpringELExpressionParser;
 import org.springframework.binding.mapping.impl.DefaultMapper;
 import org.springframework.binding.mapping.impl.DefaultMapping;
+import org.springframework.binding.mapping.impl.DefaultMappingResults;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 import java.util.HashMap;
@@ -71,6 +72,40 @@ public class DefaultMapperTests {
         assertEquals("typeMismatch", results.getErrorResults().get(0).getCode());
     }
 
+    @Test
+    public void testMappingWithoutSuccessResults() {
+        mapper.setRecordSuccessResults(false);
+        mapper.addMapping(new DefaultMapping(parser.parseExpression("beep", null), parser.parseExpression("beep", null)));
+        mapper.addMapping(new DefaultMapping(parser.parseExpression("boop", null), parser.parseExpression("boop", null)));
+        Map<String, String> bean1 = new HashMap<>();
+        bean1.put("beep", "en");
+        bean1.put("boop", "bogus");
+        TestBean2 bean2 = new TestBean2();
+        MappingResults results = mapper.map(bean1, bean2);
+        assertEquals(Locale.ENGLISH, bean2.beep);
+        assertEquals(1, results.getAllResults().size());
+        assertEquals(1, results.getErrorResults().size());
+        assertEquals("typeMismatch", results.getErrorResults().get(0).getCode());
+    }
+
+    @Test
+    public void testErrorCounts() {
+        mapper.addMapping(new DefaultMapping(parser.parseExpression("beep", null), parser.parseExpression("beep", null)));
+        mapper.addMapping(new DefaultMapping(parser.parseExpression("boop", null), parser.parseExpression("boop", null)));
+        mapper.addMapping(new DefaultMapping(parser.parseExpression("beep", null), parser.parseExpression("bogus",
+            null)));
+        Map<String, String> bean1 = new HashMap<>();
+        bean1.put("beep", "en");
+        bean1.put("boop", "bogus");
+        DefaultMappingResults results = (DefaultMappingResults) mapper.map(bean1, new TestBean2());
+        assertEquals(3, results.getAllResults().size());
+        assertTrue(results.hasErrorResults());
+        assertEquals(2, results.getErrorCount());
+        assertEquals(1, results.getPropertyNotFoundErrorCount());
+        assertSame(results.getErrorResults(), results.getErrorResults());
+        assertTrue(results.getResults(result -> false).isEmpty());
+    }
+
     public static class TestBean {
         private String foo;
 
@@ -0,0 +1,65 @@
+package org.springframework.binding.message;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingMessageSourceTests {
+
+    private CountingMessageSource targetMessageSource;
+
+    private CachingMessageSource messageSource;
+
+    @BeforeEach
+    public void setUp() {
+        targetMessageSource = new CountingMessageSource();
+        targetMessageSource.addMessage("message", Locale.ENGLISH, "Hello {0}!");
+        targetMessageSource.addMessage("message", Locale.FRENCH, "Bonjour {0}!");
+        targetMessageSource.addMessage("name", Locale.ENGLISH, "Name");
+        messageSource = new CachingMessageSource(targetMessageSource, 3);
+    }
+
+    @Test
+    public void testCachesByCodesArgsAndLocale() {
+        assertEquals("Hello Keith!", resolve(new MessageBuilder().code("message").arg("Keith"), Locale.ENGLISH));
+        assertEquals("Hello Keith!", resolve(new MessageBuilder().code("message").arg("Keith"), Locale.ENGLISH));
+        assertEquals(1, targetMessageSource.lookups);
+        assertEquals("Hello Erwin!", resolve(new MessageBuilder().code("message").arg("Erwin"), Locale.ENGLISH));
+        assertEquals("Bonjour Keith!", resolve(new MessageBuilder().code("message").arg("Keith"), Locale.FRENCH));
+        assertEquals(3, targetMessageSource.lookups);
+        assertEquals(3, messageSource.getCacheSize());
+    }
+
+    @Test
+    public void testCachesResolvableArguments() {
+        assertEquals("Hello Name!", resolve(new MessageBuilder().code("message").resolvableArg("name"), Locale.ENGLISH));
+        assertEquals("Hello Name!", resolve(new MessageBuilder().code("message").resolvableArg("name"), Locale.ENGLISH));
+        assertEquals(1, targetMessageSource.lookups);
+    }
+
+    @Test
+    public void testDoesNotCacheMutableArguments() {
+        StringBuilder arg = new StringBuilder("Keith");
+        assertEquals("Hello Keith!", resolve(new MessageBuilder().code("message").arg(arg), Locale.ENGLISH));
+        arg.replace(0, arg.length(), "Erwin");
+        assertEquals("Hello Erwin!", resolve(new MessageBuilder().code("message").arg(arg), Locale.ENGLISH));
+        assertEquals(0, messageSource.getCacheSize());
+    }
+
+    @Test
+    public void testCacheLimit() {
+        for (int i = 0; i < 5; i++) {
+            resolve(new MessageBuilder().code("message").arg(i), Locale.ENGLISH);
+        }
+        assertEquals(3, messageSource.getCacheSize());
+        resolve(new MessageBuilder().code("message").arg(4), Locale.ENGLISH);
+        assertEquals(6, targetMessageSource.lookups);
+    }
+
+    private String resolve(MessageBuilder builder, Locale locale) {
+        return builder.build().resolveMessage(messageSource, locale).getText();
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.binding.message;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Locale;
+
+/**
+ * A static message source that counts the messages resolved for a {@link MessageSourceResolvable}.
+ */
+class CountingMessageSource implements MessageSource {
+
+    private StaticMessageSource messageSource = new StaticMessageSource();
+
+    int lookups;
+
+    public void addMessage(String code, Locale locale, String text) {
+        messageSource.addMessage(code, locale, text);
+    }
+
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        return messageSource.getMessage(code, args, defaultMessage, locale);
+    }
+
+    public String getMessage(String code, Object[] args, Locale locale) {
+        return messageSource.getMessage(code, args, locale);
+    }
+
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) {
+        lookups++;
+        return messageSource.getMessage(resolvable, locale);
+    }
+}
@@ -2,10 +2,20 @@ package org.springframework.binding.message;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.NoSuchMessageException;
 import org.springframework.context.support.StaticMessageSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,6 +60,16 @@ public class DefaultMessageContextTests {
         assertEquals(null, messages[0].getSource());
     }
 
+    @Test
+    public void testFormatDefaultTextWithoutMessageSource() {
+        DefaultMessageContext context = new DefaultMessageContext();
+        context.addMessage(new MessageBuilder().defaultText("Hello {0}!").arg("Keith").build());
+        context.addMessage(new MessageBuilder().defaultText("Hello {world").arg("Keith").build());
+        Message[] messages = context.getAllMessages();
+        assertEquals("Hello Keith!", messages[0].getText());
+        assertEquals("Hello {world", messages[1].getText());
+    }
+
     @Test
     public void testResolveMessageWithArgs() {
         context.addMessage(new MessageBuilder().error().source(this).code("argmessage").arg("Keith")
@@ -99,4 +119,120 @@ public class DefaultMessageContextTests {
         assertEquals("Error", messages[1].getText());
         assertEquals("Hello world resolved!", messages[2].getText());
     }
+
+    @Test
+    public void testResolveMessageDeferred() {
+        CountingMessageSource messageSource = new CountingMessageSource();
+        messageSource.addMessage("message", Locale.getDefault(), "Hello world resolved!");
+        context = new DefaultMessageContext(messageSource);
+        context.addMessage(new MessageBuilder().error().source(this).code("message").defaultText("Default").build());
+        assertTrue(context.hasErrorMessages());
+        assertEquals(0, messageSource.lookups);
+        Message message = context.getMessagesBySource(this)[0];
+        assertEquals("Hello world resolved!", message.getText());
+        assertEquals("Hello world resolved!", message.getText());
+        assertEquals(1, messageSource.lookups);
+    }
+
+    @Test
+    public void testUnresolvableMessageReportedWhenAdded() {
+        assertThrows(NoSuchMessageException.class,
+            () -> context.addMessage(new MessageBuilder().source("field").code("bogus").build()));
+        assertEquals(0, context.getAllMessages().length);
+    }
+
+    @Test
+    public void testSerializeUnresolvableMessage() throws Exception {
+        context.addMessage(new MessageBuilder().source("field").code("bogus").defaultText("Default").build());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(context.createMessagesMemento());
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            context = new DefaultMessageContext();
+            context.restoreMessages((Serializable) in.readObject());
+        }
+        assertEquals("Default", context.getMessagesBySource("field")[0].getText());
+    }
+
+    @Test
+    public void testSerializeDeferredMessage() throws Exception {
+        context.addMessage(new MessageBuilder().warning().source("field").code("message").defaultText("Default")
+            .build());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(context.createMessagesMemento());
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            context = new DefaultMessageContext();
+            context.restoreMessages((Serializable) in.readObject());
+        }
+        Message message = context.getMessagesBySource("field")[0];
+        assertEquals(Message.class, message.getClass());
+        assertEquals("Hello world resolved!", message.getText());
+        assertEquals(Severity.WARNING, message.getSeverity());
+    }
+
+    @Test
+    public void testSeverityCounts() {
+        assertFalse(context.hasErrorMessages());
+        context.addMessage(new MessageBuilder().info().defaultText("Info").build());
+        context.addMessage(new MessageBuilder().error().source("field").defaultText("Error").build());
+        context.addMessage(new MessageBuilder().error().source("field").defaultText("Error").build());
+        assertTrue(context.hasErrorMessages());
+        assertEquals(1, context.getMessageCount(Severity.INFO));
+        assertEquals(2, context.getMessageCount(Severity.ERROR));
+        assertEquals(0, context.getMessageCount(Severity.FATAL));
+        context.clearMessages();
+        assertFalse(context.hasErrorMessages());
+        assertEquals(0, context.getMessageCount(Severity.ERROR));
+        assertEquals(0, context.getAllMessages().length);
+    }
+
+    @Test
+    public void testGetMessagesByUnknownSource() {
+        assertEquals(0, context.getMessagesBySource("bogus").length);
+        context.addMessage(new MessageBuilder().source("field").defaultText("Info").build());
+        Message[] messages = context.getAllMessages();
+        assertEquals(1, messages.length);
+        assertEquals("field", messages[0].getSource());
+    }
+
+    @Test
+    public void testModifyReturnedMessages() {
+        context.addMessage(new MessageBuilder().error().defaultText("Error").build());
+        Serializable memento = context.createMessagesMemento();
+        context.getAllMessages()[0] = new Message(null, "Modified", Severity.INFO);
+        assertEquals("Error", context.getAllMessages()[0].getText());
+        DefaultMessageContext restored = new DefaultMessageContext();
+        restored.restoreMessages(memento);
+        assertEquals("Error", restored.getAllMessages()[0].getText());
+    }
+
+    @Test
+    public void testMementoSharedUntilChanged() {
+        context.addMessage(new MessageBuilder().error().defaultText("Error").build());
+        Serializable memento = context.createMessagesMemento();
+        assertSame(memento, context.createMessagesMemento());
+        DefaultMessageContext restored = new DefaultMessageContext();
+        restored.restoreMessages(memento);
+        assertTrue(restored.hasErrorMessages());
+        assertSame(memento, restored.createMessagesMemento());
+        restored.addMessage(new MessageBuilder().info().defaultText("Info").build());
+        assertNotSame(memento, restored.createMessagesMemento());
+        assertEquals(1, context.getAllMessages().length);
+    }
+
+    @Test
+    public void testRestoreLegacyMemento() {
+        Map<Object, List<Message>> memento = new LinkedHashMap<>();
+        memento.put(null, new ArrayList<>(Collections.singletonList(new Message(null, "Global", Severity.INFO))));
+        memento.put("field", new ArrayList<>(Collections.singletonList(new Message("field", "Error", Severity.ERROR))));
+        context.addMessage(new MessageBuilder().defaultText("Replaced").build());
+        context.restoreMessages((Serializable) memento);
+        assertEquals(2, context.getAllMessages().length);
+        assertEquals("Global", context.getAllMessages()[0].getText());
+        assertEquals("Error", context.getMessagesBySource("field")[0].getText());
+        assertTrue(context.hasErrorMessages());
+    }
 }
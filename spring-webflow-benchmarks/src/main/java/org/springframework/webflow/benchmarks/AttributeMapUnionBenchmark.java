@@ -0,0 +1,85 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.webflow.core.collection.AttributeMap;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link AttributeMap#union(AttributeMap) unions} of flow scopes as layered views with the copying unions
+ * created before, for scopes of configurable size. Each union is created and then read a few times, as when an
+ * expression is evaluated against the union of the request and flow scopes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttributeMapUnionBenchmark {
+
+    @Param({"10", "1000"})
+    private int scopeSize;
+
+    private LocalAttributeMap<Object> requestScope;
+
+    private LocalAttributeMap<Object> flowScope;
+
+    @Setup
+    public void setUp() {
+        requestScope = new LocalAttributeMap<>();
+        flowScope = new LocalAttributeMap<>();
+        for (int i = 0; i < scopeSize; i++) {
+            flowScope.put("attribute" + i, "value" + i);
+        }
+        requestScope.put("attribute0", "override");
+        requestScope.put("currentUser", "keith");
+    }
+
+    @Benchmark
+    public Object layered() {
+        return read(flowScope.union(requestScope));
+    }
+
+    @Benchmark
+    public Object copied() {
+        Map<String, Object> map = new HashMap<>();
+        map.putAll(flowScope.asMap());
+        map.putAll(requestScope.asMap());
+        return read(new LocalAttributeMap<>(map));
+    }
+
+    private Object read(AttributeMap<Object> union) {
+        union.get("attribute0");
+        union.get("currentUser");
+        return union.get("missing");
+    }
+}
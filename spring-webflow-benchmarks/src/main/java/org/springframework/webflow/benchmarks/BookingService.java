@@ -0,0 +1,32 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import java.math.BigDecimal;
+
+/**
+ * The service the benchmark flows call into.
+ */
+public class BookingService {
+
+    public Booking createBooking(Long hotelId) {
+        Booking booking = new Booking();
+        booking.setHotelId(hotelId);
+        booking.setHotelName("Hotel " + hotelId);
+        booking.setPrice(new BigDecimal("149.00"));
+        return booking;
+    }
+}
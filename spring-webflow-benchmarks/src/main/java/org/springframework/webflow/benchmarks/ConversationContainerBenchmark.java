@@ -0,0 +1,87 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.webflow.conversation.Conversation;
+import org.springframework.webflow.conversation.ConversationId;
+import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.impl.ConversationContainer;
+import org.springframework.webflow.conversation.impl.NoOpConversationLock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating, looking up and ending conversations in a {@link ConversationContainer} holding a configurable number of
+ * conversations, one less than the maximum so creating a conversation does not evict another.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversationContainerBenchmark {
+
+    @Param({"5", "100"})
+    private int maxConversations;
+
+    private ConversationContainer container;
+
+    private ConversationParameters parameters;
+
+    private ConversationId oldest;
+
+    private ConversationId newest;
+
+    @Setup
+    public void setUp() {
+        container = new ConversationContainer(maxConversations, "webflowConversationContainer");
+        parameters = new ConversationParameters("booking", "Booking", "Book a hotel");
+        oldest = container.createConversation(parameters, NoOpConversationLock.INSTANCE).getId();
+        for (int i = 2; i < maxConversations - 1; i++) {
+            container.createConversation(parameters, NoOpConversationLock.INSTANCE);
+        }
+        newest = container.createConversation(parameters, NoOpConversationLock.INSTANCE).getId();
+    }
+
+    @Benchmark
+    public Conversation getOldest() {
+        return container.getConversation(oldest);
+    }
+
+    @Benchmark
+    public Conversation getNewest() {
+        return container.getConversation(newest);
+    }
+
+    @Benchmark
+    public Conversation createAndEnd() {
+        Conversation conversation = container.createConversation(parameters, NoOpConversationLock.INSTANCE);
+        conversation.end();
+        return conversation;
+    }
+}
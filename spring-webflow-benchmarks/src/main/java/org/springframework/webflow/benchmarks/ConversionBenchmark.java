@@ -0,0 +1,112 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.binding.convert.ConversionExecutor;
+import org.springframework.binding.convert.ConversionService;
+import org.springframework.binding.convert.converters.FormattedStringToNumber;
+import org.springframework.binding.convert.converters.StringToDate;
+import org.springframework.binding.convert.service.DefaultConversionService;
+import org.springframework.binding.convert.service.GenericConversionService;
+import org.springframework.binding.format.DefaultNumberFormatFactory;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type conversion through a {@link GenericConversionService}, as done when binding request parameters and mapping flow
+ * input and output.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionBenchmark {
+
+    private ConversionService conversionService;
+
+    private ConversionExecutor stringToInteger;
+
+    private String[] numbers;
+
+    private FormattedStringToNumber formattedStringToNumber;
+
+    private StringToDate stringToDate;
+
+    @Setup
+    public void setUp() {
+        conversionService = new DefaultConversionService();
+        stringToInteger = conversionService.getConversionExecutor(String.class, Integer.class);
+        numbers = new String[]{"1", "2", "3", "4", "5", "6", "7", "8"};
+        DefaultNumberFormatFactory numberFormatFactory = new DefaultNumberFormatFactory();
+        numberFormatFactory.setLocale(Locale.US);
+        numberFormatFactory.setPattern("#,##0.00");
+        formattedStringToNumber = new FormattedStringToNumber();
+        formattedStringToNumber.setNumberFormatFactory(numberFormatFactory);
+        stringToDate = new StringToDate();
+        stringToDate.setLocale(Locale.US);
+    }
+
+    @Benchmark
+    public ConversionExecutor lookupExecutor() {
+        return conversionService.getConversionExecutor(String.class, Integer.class);
+    }
+
+    @Benchmark
+    public Object convertWithExecutor() {
+        return stringToInteger.execute("12345");
+    }
+
+    @Benchmark
+    public Object convertToInteger() {
+        return conversionService.executeConversion("12345", Integer.class);
+    }
+
+    @Benchmark
+    public Object convertToBigDecimal() {
+        return conversionService.executeConversion("149.00", BigDecimal.class);
+    }
+
+    @Benchmark
+    public Object convertFormattedNumber() throws Exception {
+        return formattedStringToNumber.convertSourceToTargetClass("1,234.50", BigDecimal.class);
+    }
+
+    @Benchmark
+    public Object convertDate() throws Exception {
+        return stringToDate.convertSourceToTargetClass("2008-01-31", Date.class);
+    }
+
+    @Benchmark
+    public Object convertArrayToList() {
+        return conversionService.executeConversion(numbers, List.class);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.apache.el.ExpressionFactoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.binding.expression.Expression;
+import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.support.FluentParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.webflow.execution.RequestContext;
+import org.springframework.webflow.expression.el.WebFlowELExpressionParser;
+import org.springframework.webflow.expression.spel.WebFlowSpringELExpressionParser;
+import org.springframework.webflow.test.MockRequestContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and evaluation of {@link org.springframework.binding.expression.spel.SpringELExpression}s, or of Unified EL
+ * expressions, against a request context, as done for flow definition expressions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpressionBenchmark {
+
+    @Param({"spel", "el"})
+    private String language;
+
+    private ExpressionParser parser;
+
+    private MockRequestContext context;
+
+    private Expression scopeAttribute;
+
+    private Expression implicitAttribute;
+
+    private Expression propertyPath;
+
+    private Expression methodCall;
+
+    @Setup
+    public void setUp() {
+        if ("el".equals(language)) {
+            parser = new WebFlowELExpressionParser(new ExpressionFactoryImpl());
+        } else {
+            parser = new WebFlowSpringELExpressionParser(new SpelExpressionParser());
+        }
+        context = new MockRequestContext();
+        context.getFlowScope().put("booking", new BookingService().createBooking(1L));
+        scopeAttribute = parse("flowScope.booking");
+        implicitAttribute = parse("booking");
+        propertyPath = parse("booking.hotelName");
+        methodCall = parse("booking.getTotal()");
+    }
+
+    @Benchmark
+    public Expression parsePropertyPath() {
+        return parse("booking.hotelName");
+    }
+
+    @Benchmark
+    public Object getScopeAttribute() {
+        return scopeAttribute.getValue(context);
+    }
+
+    @Benchmark
+    public Object getImplicitAttribute() {
+        return implicitAttribute.getValue(context);
+    }
+
+    @Benchmark
+    public Object getPropertyPath() {
+        return propertyPath.getValue(context);
+    }
+
+    @Benchmark
+    public Object invokeMethod() {
+        return methodCall.getValue(context);
+    }
+
+    @Benchmark
+    public void setPropertyPath() {
+        propertyPath.setValue(context, "Hotel");
+    }
+
+    private Expression parse(String expressionString) {
+        return parser.parseExpression(expressionString, new FluentParserContext().evaluate(RequestContext.class));
+    }
+}
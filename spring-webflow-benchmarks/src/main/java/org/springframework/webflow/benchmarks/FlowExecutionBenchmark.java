@@ -0,0 +1,84 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.execution.FlowExecution;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launch, resume and end cycles of a booking flow with a form view, a subflow and a flow scope of configurable size.
+ * Form binding itself is measured by {@link FormBindingBenchmark}, as the mock views used here do not bind.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlowExecutionBenchmark {
+
+    @Param({"10", "1000"})
+    private int scopeSize;
+
+    private FlowExecutionDriver driver;
+
+    private LocalAttributeMap<Object> input;
+
+    @Setup
+    public void setUp() {
+        driver = new FlowExecutionDriver("booking-flow.xml", "review-flow.xml");
+        input = new LocalAttributeMap<>();
+        input.put("hotelId", "1");
+        driver.start(input);
+        driver.populateFlowScope(scopeSize);
+    }
+
+    @Benchmark
+    public FlowExecution launch() {
+        driver.start(input);
+        return driver.getExecution();
+    }
+
+    @Benchmark
+    public FlowExecution resumeSameView() {
+        driver.resume("refresh");
+        return driver.getExecution();
+    }
+
+    @Benchmark
+    public FlowExecution launchThroughSubflowToEnd() {
+        driver.start(input);
+        driver.populateFlowScope(scopeSize);
+        driver.resume("proceed");
+        driver.resume("revise");
+        driver.resume("proceed");
+        driver.resume("confirm");
+        return driver.getExecution();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.springframework.webflow.config.FlowDefinitionResource;
+import org.springframework.webflow.config.FlowDefinitionResourceFactory;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.execution.FlowExecution;
+import org.springframework.webflow.test.MockExternalContext;
+import org.springframework.webflow.test.MockFlowBuilderContext;
+import org.springframework.webflow.test.execution.AbstractXmlFlowExecutionTests;
+
+/**
+ * Drives executions of an XML flow definition and its subflows through the flow execution test support, so benchmarks
+ * exercise the same code paths as flow integration tests.
+ */
+class FlowExecutionDriver extends AbstractXmlFlowExecutionTests {
+
+    private final String flowResource;
+
+    private final String[] subflowResources;
+
+    /**
+     * Creates a new driver.
+     *
+     * @param flowResource     the flow definition, relative to this class
+     * @param subflowResources the definitions of the subflows the flow calls, relative to this class
+     */
+    public FlowExecutionDriver(String flowResource, String... subflowResources) {
+        this.flowResource = flowResource;
+        this.subflowResources = subflowResources;
+        setCacheFlowDefinition(true);
+    }
+
+    public void start(MutableAttributeMap<?> input) {
+        startFlow(input, new MockExternalContext());
+    }
+
+    public void resume(String eventId) {
+        MockExternalContext context = new MockExternalContext();
+        context.setEventId(eventId);
+        resumeFlow(context);
+    }
+
+    public FlowExecution getExecution() {
+        return getFlowExecution();
+    }
+
+    /**
+     * Fills the flow scope of the active flow session with the given number of attributes, half strings and half model
+     * objects.
+     */
+    public void populateFlowScope(int size) {
+        MutableAttributeMap<Object> flowScope = getFlowScope();
+        for (int i = 0; i < size; i++) {
+            if (i % 2 == 0) {
+                flowScope.put("attribute" + i, "value" + i);
+            } else {
+                Booking booking = new Booking();
+                booking.setHotelId((long) i);
+                booking.setHotelName("Hotel " + i);
+                flowScope.put("attribute" + i, booking);
+            }
+        }
+    }
+
+    protected FlowDefinitionResource getResource(FlowDefinitionResourceFactory resourceFactory) {
+        return resourceFactory.createClassPathResource(flowResource, FlowExecutionDriver.class);
+    }
+
+    protected void configureFlowBuilderContext(MockFlowBuilderContext builderContext) {
+        builderContext.registerBean("bookingService", new BookingService());
+        for (String subflowResource : subflowResources) {
+            builderContext.registerSubflow(new FlowExecutionDriver(subflowResource).buildFlow());
+        }
+    }
+}
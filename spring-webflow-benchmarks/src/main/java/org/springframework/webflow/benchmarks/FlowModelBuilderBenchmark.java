@@ -0,0 +1,106 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.webflow.engine.model.FlowModel;
+import org.springframework.webflow.engine.model.builder.xml.StaxXmlFlowModelBuilder;
+import org.springframework.webflow.engine.model.builder.xml.XmlFlowModelBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the flow model of a flow from its XML definition with validation, as done for each flow registered
+ * at startup, using either the DOM-based or the StAX-based builder. Both the booking flow and a generated flow with
+ * {@value #LARGE_FLOW_STATES} view states are measured. The definition is read into memory once, so the file system is
+ * not measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlowModelBuilderBenchmark {
+
+    private static final int LARGE_FLOW_STATES = 500;
+
+    @Param({"dom", "stax"})
+    private String builder;
+
+    @Param({"booking", "large"})
+    private String flow;
+
+    private ByteArrayResource resource;
+
+    @Setup
+    public void setUp() throws IOException {
+        if ("large".equals(flow)) {
+            resource = new ByteArrayResource(createLargeFlow().getBytes(StandardCharsets.UTF_8));
+        } else {
+            resource = new ByteArrayResource(FileCopyUtils.copyToByteArray(
+                new ClassPathResource("booking-flow.xml", FlowModelBuilderBenchmark.class).getInputStream()));
+        }
+    }
+
+    @Benchmark
+    public FlowModel build() {
+        XmlFlowModelBuilder builder = "stax".equals(this.builder) ? new StaxXmlFlowModelBuilder(resource)
+            : new XmlFlowModelBuilder(resource);
+        builder.init();
+        builder.build();
+        FlowModel model = builder.getFlowModel();
+        builder.dispose();
+        return model;
+    }
+
+    private static String createLargeFlow() {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<flow xmlns=\"http://www.springframework.org/schema/webflow\"\n"
+            + "      xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"\n"
+            + "      xsi:schemaLocation=\"http://www.springframework.org/schema/webflow\n"
+            + "          https://www.springframework.org/schema/webflow/spring-webflow.xsd\">\n");
+        for (int i = 0; i < LARGE_FLOW_STATES; i++) {
+            xml.append("    <view-state id=\"state").append(i).append("\" model=\"form\">\n");
+            xml.append("        <on-render><evaluate expression=\"service.load(").append(i)
+                .append(")\" result=\"viewScope.items\"/></on-render>\n");
+            xml.append("        <transition on=\"next\" to=\"state").append(i + 1).append("\">\n");
+            xml.append("            <evaluate expression=\"service.save(form)\"/>\n");
+            xml.append("        </transition>\n");
+            xml.append("        <transition on=\"cancel\" to=\"end\" bind=\"false\"/>\n");
+            xml.append("    </view-state>\n");
+        }
+        xml.append("    <end-state id=\"state").append(LARGE_FLOW_STATES).append("\"/>\n");
+        xml.append("    <end-state id=\"end\"/>\n");
+        xml.append("</flow>\n");
+        return xml.toString();
+    }
+}
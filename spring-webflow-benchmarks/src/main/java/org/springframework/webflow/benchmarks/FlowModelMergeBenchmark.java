@@ -0,0 +1,88 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.webflow.engine.model.AbstractStateModel;
+import org.springframework.webflow.engine.model.FlowModel;
+import org.springframework.webflow.engine.model.TransitionModel;
+import org.springframework.webflow.engine.model.ViewStateModel;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures merging a child flow model into a copy of a parent flow model with a configurable number of view states,
+ * each with ten transitions. The child overrides every other state and transition, so half of the parent's states are
+ * merged and half are added, as in a flow that extends a large abstract parent flow.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FlowModelMergeBenchmark {
+
+    @Param({"10", "500"})
+    private int stateCount;
+
+    private FlowModel parent;
+
+    private FlowModel child;
+
+    @Setup
+    public void setUp() {
+        parent = createFlowModel(1, "parent");
+        child = createFlowModel(2, null);
+    }
+
+    @Benchmark
+    public FlowModel merge() {
+        FlowModel flow = (FlowModel) child.createCopy();
+        flow.merge(parent);
+        return flow;
+    }
+
+    private FlowModel createFlowModel(int step, String to) {
+        FlowModel flow = new FlowModel();
+        LinkedList<AbstractStateModel> states = new LinkedList<>();
+        for (int i = 0; i < stateCount; i += step) {
+            ViewStateModel state = new ViewStateModel("state" + i);
+            LinkedList<TransitionModel> transitions = new LinkedList<>();
+            for (int j = 0; j < 10; j += step) {
+                TransitionModel transition = new TransitionModel();
+                transition.setOn("event" + j);
+                transition.setTo(to);
+                transitions.add(transition);
+            }
+            state.setTransitions(transitions);
+            states.add(state);
+        }
+        flow.setStates(states);
+        return flow;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.binding.expression.EvaluationException;
+import org.springframework.binding.expression.Expression;
+import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.support.FluentParserContext;
+import org.springframework.binding.mapping.MappingResults;
+import org.springframework.binding.mapping.impl.DefaultMapper;
+import org.springframework.binding.mapping.impl.DefaultMapping;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.webflow.core.collection.ParameterMap;
+import org.springframework.webflow.expression.spel.WebFlowSpringELExpressionParser;
+import org.springframework.webflow.test.MockParameterMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding a form submission to a model object the way views bind request parameters: a mapper is assembled for the
+ * submitted parameters and the parameter values are converted and set on the model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormBindingBenchmark {
+
+    private static final String[] FIELDS = {"nights", "beds", "smoking", "creditCardName", "creditCard"};
+
+    private ExpressionParser parser;
+
+    private MockParameterMap parameters;
+
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        parser = new WebFlowSpringELExpressionParser(new SpelExpressionParser());
+        parameters = new MockParameterMap();
+        parameters.put("nights", "3");
+        parameters.put("beds", "2");
+        parameters.put("smoking", "false");
+        parameters.put("creditCardName", "Keith Donald");
+        parameters.put("creditCard", "1234567890123456");
+        booking = new Booking();
+    }
+
+    @Benchmark
+    public MappingResults bind() {
+        DefaultMapper mapper = new DefaultMapper();
+        for (String field : FIELDS) {
+            Expression target = parser.parseExpression(field, new FluentParserContext().evaluate(Booking.class));
+            DefaultMapping mapping = new DefaultMapping(new ParameterExpression(field), target);
+            mapping.setRequired(true);
+            mapper.addMapping(mapping);
+        }
+        return mapper.map(parameters, booking);
+    }
+
+    /**
+     * Reads a request parameter, like the parameter expressions views bind with.
+     */
+    private static class ParameterExpression implements Expression {
+
+        private final String parameterName;
+
+        public ParameterExpression(String parameterName) {
+            this.parameterName = parameterName;
+        }
+
+        public String getExpressionString() {
+            return parameterName;
+        }
+
+        public Object getValue(Object context) throws EvaluationException {
+            return ((ParameterMap) context).asMap().get(parameterName);
+        }
+
+        public Class<?> getValueType(Object context) {
+            return String.class;
+        }
+
+        public void setValue(Object context, Object value) throws EvaluationException {
+            throw new UnsupportedOperationException("Setting request parameters is not allowed");
+        }
+    }
+}
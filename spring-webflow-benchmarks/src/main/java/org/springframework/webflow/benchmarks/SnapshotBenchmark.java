@@ -0,0 +1,77 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.execution.FlowExecution;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and deserialization of {@link SerializedFlowExecutionSnapshot}s of a paused flow execution holding a
+ * flow scope of configurable size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+    @Param({"10", "1000"})
+    private int scopeSize;
+
+    @Param({"true", "false"})
+    private boolean compress;
+
+    private FlowExecution execution;
+
+    private SerializedFlowExecutionSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        FlowExecutionDriver driver = new FlowExecutionDriver("booking-flow.xml", "review-flow.xml");
+        LocalAttributeMap<Object> input = new LocalAttributeMap<>();
+        input.put("hotelId", "1");
+        driver.start(input);
+        driver.populateFlowScope(scopeSize);
+        execution = driver.getExecution();
+        snapshot = new SerializedFlowExecutionSnapshot(execution, compress);
+    }
+
+    @Benchmark
+    public SerializedFlowExecutionSnapshot serialize() {
+        return new SerializedFlowExecutionSnapshot(execution, compress);
+    }
+
+    @Benchmark
+    public FlowExecution deserialize() {
+        return snapshot.unmarshal(SnapshotBenchmark.class.getClassLoader());
+    }
+}
@@ -15,8 +15,10 @@
  */
 package org.springframework.webflow.config;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistryImpl;
+import org.springframework.webflow.engine.builder.FlowResourceWatcher;
 import org.springframework.webflow.engine.model.registry.FlowModelRegistry;
 import org.springframework.webflow.engine.model.registry.FlowModelRegistryImpl;
 
@@ -25,14 +27,39 @@ import org.springframework.webflow.engine.model.registry.FlowModelRegistryImpl;
  *
  * @author Keith Donald
  */
-class DefaultFlowRegistry extends FlowDefinitionRegistryImpl {
+class DefaultFlowRegistry extends FlowDefinitionRegistryImpl implements DisposableBean {
 
     private FlowModelRegistry flowModelRegistry = new FlowModelRegistryImpl();
 
+    private FlowResourceWatcher resourceWatcher;
+
+    private boolean ownsResourceWatcher;
+
     public FlowModelRegistry getFlowModelRegistry() {
         return flowModelRegistry;
     }
 
+    /**
+     * Returns the watcher detecting changes to the resources of flows under development, or null if there is none.
+     */
+    public FlowResourceWatcher getResourceWatcher() {
+        return resourceWatcher;
+    }
+
+    /**
+     * Creates the watcher detecting changes to the resources of flows under development. The watcher of the parent
+     * registry is shared if it has one, so changes to parent flows defined there are also detected.
+     */
+    public void initResourceWatcher() {
+        if (getParent() instanceof DefaultFlowRegistry
+            && ((DefaultFlowRegistry) getParent()).getResourceWatcher() != null) {
+            resourceWatcher = ((DefaultFlowRegistry) getParent()).getResourceWatcher();
+        } else {
+            resourceWatcher = new FlowResourceWatcher();
+            ownsResourceWatcher = true;
+        }
+    }
+
     public void setParent(FlowDefinitionRegistry parent) {
         super.setParent(parent);
         if (parent instanceof DefaultFlowRegistry) {
@@ -41,4 +68,11 @@ class DefaultFlowRegistry extends FlowDefinitionRegistryImpl {
             flowModelRegistry.setParent(parentFlowRegistry.getFlowModelRegistry());
         }
     }
+
+    public void destroy() {
+        super.destroy();
+        if (ownsResourceWatcher) {
+            resourceWatcher.destroy();
+        }
+    }
 }
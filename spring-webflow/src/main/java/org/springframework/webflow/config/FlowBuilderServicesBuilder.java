@@ -51,6 +51,8 @@ public class FlowBuilderServicesBuilder {
 
     private boolean enableDevelopmentMode;
 
+    private boolean enableMessageCaching;
+
 
     public FlowBuilderServicesBuilder() {
         this.viewFactoryCreator = new MvcViewFactoryCreator();
@@ -131,6 +133,19 @@ public class FlowBuilderServicesBuilder {
         return this;
     }
 
+    /**
+     * Cache the resolved text of messages added while a flow is active, per flow. Only enable it when the message
+     * bundles of the application are not reloaded at runtime. Flows in development mode never cache messages.
+     * By default this is set to {@code false}
+     *
+     * @param enableMessageCaching whether to enable message caching
+     * @return
+     */
+    public FlowBuilderServicesBuilder setMessageCaching(boolean enableMessageCaching) {
+        this.enableMessageCaching = enableMessageCaching;
+        return this;
+    }
+
     /**
      * Create and return a {@link FlowBuilderServices} instance.
      *
@@ -144,6 +159,7 @@ public class FlowBuilderServicesBuilder {
         flowBuilderServices.setValidator(this.validator);
         flowBuilderServices.setValidationHintResolver(this.validationHintResolver);
         flowBuilderServices.setDevelopment(this.enableDevelopmentMode);
+        flowBuilderServices.setCacheMessages(this.enableMessageCaching);
         return flowBuilderServices;
     }
 
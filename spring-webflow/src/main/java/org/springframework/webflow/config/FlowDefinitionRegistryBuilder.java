@@ -244,6 +244,9 @@ public class FlowDefinitionRegistryBuilder {
 
         DefaultFlowRegistry flowRegistry = new DefaultFlowRegistry();
         flowRegistry.setParent(this.parent);
+        if (this.flowBuilderServices.getDevelopment()) {
+            flowRegistry.initResourceWatcher();
+        }
 
         registerFlowLocations(flowRegistry);
         registerFlowLocationPatterns(flowRegistry);
@@ -355,6 +358,9 @@ public class FlowDefinitionRegistryBuilder {
             resource.getId(), resource.getAttributes(), flowRegistry, this.flowBuilderServices);
         FlowAssembler assembler = new FlowAssembler(flowBuilder, builderContext);
         DefaultFlowHolder flowHolder = new DefaultFlowHolder(assembler);
+        if (flowRegistry.getResourceWatcher() != null) {
+            flowHolder.watch(flowRegistry.getResourceWatcher(), resource.getPath());
+        }
 
         flowRegistry.getFlowModelRegistry().registerFlowModel(resource.getId(), flowModelHolder);
         flowRegistry.registerFlowDefinition(flowHolder);
@@ -375,6 +381,9 @@ public class FlowDefinitionRegistryBuilder {
         if (this.flowBuilderServices.getDevelopment()) {
             attributes.asMap().put("development", true);
         }
+        if (this.flowBuilderServices.getCacheMessages()) {
+            attributes.asMap().put("cacheMessages", true);
+        }
     }
 
 
@@ -27,11 +27,14 @@ import org.springframework.webflow.execution.FlowExecutionListener;
 import org.springframework.webflow.execution.factory.ConditionalFlowExecutionListenerLoader;
 import org.springframework.webflow.execution.factory.FlowExecutionListenerCriteriaFactory;
 import org.springframework.webflow.execution.repository.impl.DefaultFlowExecutionRepository;
+import org.springframework.webflow.execution.repository.impl.SnapshotMemoryBudget;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
 import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshotFactory;
 import org.springframework.webflow.execution.repository.snapshot.SimpleFlowExecutionSnapshotFactory;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotSizeProfiler;
 import org.springframework.webflow.executor.FlowExecutor;
 import org.springframework.webflow.executor.FlowExecutorImpl;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
 
 /**
  * A builder for {@link FlowExecutor} instances designed for programmatic use in
@@ -57,6 +60,12 @@ public class FlowExecutorBuilder {
 
     private ConversationManager conversationManager;
 
+    private FlowExecutionMetrics flowExecutionMetrics;
+
+    private SnapshotSizeProfiler snapshotSizeProfiler;
+
+    private SnapshotMemoryBudget snapshotMemoryBudget;
+
 
     public FlowExecutorBuilder(FlowDefinitionLocator flowRegistry) {
         Assert.notNull(flowRegistry, "FlowDefinitionLocator is required");
@@ -163,6 +172,43 @@ public class FlowExecutorBuilder {
         return this;
     }
 
+    /**
+     * Set the metrics the flow executor reports request, state, action, render, snapshot and lock timings to. A
+     * conversation manager provided with {@link #setConversationManager(ConversationManager)} does not report
+     * conversation evictions unless configured with the same metrics.
+     *
+     * @param flowExecutionMetrics the metrics to report to
+     * @return
+     */
+    public FlowExecutorBuilder setFlowExecutionMetrics(FlowExecutionMetrics flowExecutionMetrics) {
+        this.flowExecutionMetrics = flowExecutionMetrics;
+        return this;
+    }
+
+    /**
+     * Set the profiler the size of each flow execution snapshot is reported to, to profile snapshot sizes and enforce a
+     * snapshot size budget. Has no effect if snapshots are disabled with {@link #setMaxFlowExecutionSnapshots(int)}.
+     *
+     * @param snapshotSizeProfiler the snapshot size profiler
+     * @return
+     */
+    public FlowExecutorBuilder setSnapshotSizeProfiler(SnapshotSizeProfiler snapshotSizeProfiler) {
+        this.snapshotSizeProfiler = snapshotSizeProfiler;
+        return this;
+    }
+
+    /**
+     * Set the process-wide memory budget flow execution snapshots are accounted for in. When the snapshots of all users
+     * exceed the budget, the oldest snapshots that are not the current snapshot of their execution are evicted.
+     *
+     * @param snapshotMemoryBudget the snapshot memory budget
+     * @return
+     */
+    public FlowExecutorBuilder setSnapshotMemoryBudget(SnapshotMemoryBudget snapshotMemoryBudget) {
+        this.snapshotMemoryBudget = snapshotMemoryBudget;
+        return this;
+    }
+
     /**
      * Create and return a {@link FlowExecutor} instance.
      *
@@ -172,7 +218,11 @@ public class FlowExecutorBuilder {
         FlowExecutionImplFactory executionFactory = getExecutionFactory();
         DefaultFlowExecutionRepository executionRepository = getFlowExecutionRepository(executionFactory);
         executionFactory.setExecutionKeyFactory(executionRepository);
-        return new FlowExecutorImpl(this.flowRegistry, executionFactory, executionRepository);
+        FlowExecutorImpl flowExecutor = new FlowExecutorImpl(this.flowRegistry, executionFactory, executionRepository);
+        if (this.flowExecutionMetrics != null) {
+            flowExecutor.setMetrics(this.flowExecutionMetrics);
+        }
+        return flowExecutor;
     }
 
     private FlowExecutionImplFactory getExecutionFactory() {
@@ -181,6 +231,9 @@ public class FlowExecutorBuilder {
         if (this.listenerLoader != null) {
             executionFactory.setExecutionListenerLoader(this.listenerLoader);
         }
+        if (this.flowExecutionMetrics != null) {
+            executionFactory.setMetrics(this.flowExecutionMetrics);
+        }
         return executionFactory;
     }
 
@@ -191,13 +244,21 @@ public class FlowExecutorBuilder {
         if (this.maxFlowExecutionSnapshots != null) {
             repository.setMaxSnapshots((this.maxFlowExecutionSnapshots == 0) ? 1 : this.maxFlowExecutionSnapshots);
         }
+        if (this.flowExecutionMetrics != null) {
+            repository.setMetrics(this.flowExecutionMetrics);
+        }
+        repository.setMemoryBudget(this.snapshotMemoryBudget);
         return repository;
     }
 
     private ConversationManager getConversationManager() {
         ConversationManager manager = this.conversationManager;
         if (manager == null) {
-            manager = new SessionBindingConversationManager();
+            SessionBindingConversationManager sessionManager = new SessionBindingConversationManager();
+            if (this.flowExecutionMetrics != null) {
+                sessionManager.setMetrics(this.flowExecutionMetrics);
+            }
+            manager = sessionManager;
         }
         if (this.maxFlowExecutions != null && manager instanceof SessionBindingConversationManager) {
             ((SessionBindingConversationManager) manager).setMaxConversations(this.maxFlowExecutions);
@@ -224,7 +285,13 @@ public class FlowExecutorBuilder {
         if (this.maxFlowExecutionSnapshots != null && this.maxFlowExecutionSnapshots == 0) {
             factory = new SimpleFlowExecutionSnapshotFactory(executionFactory, this.flowRegistry);
         } else {
-            factory = new SerializedFlowExecutionSnapshotFactory(executionFactory, this.flowRegistry);
+            SerializedFlowExecutionSnapshotFactory serializedFactory = new SerializedFlowExecutionSnapshotFactory(
+                executionFactory, this.flowRegistry);
+            if (this.flowExecutionMetrics != null) {
+                serializedFactory.setMetrics(this.flowExecutionMetrics);
+            }
+            serializedFactory.setSizeProfiler(this.snapshotSizeProfiler);
+            factory = serializedFactory;
         }
         return factory;
     }
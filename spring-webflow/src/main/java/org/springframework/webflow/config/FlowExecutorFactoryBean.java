@@ -35,11 +35,14 @@ import org.springframework.webflow.execution.FlowExecutionFactory;
 import org.springframework.webflow.execution.factory.FlowExecutionListenerLoader;
 import org.springframework.webflow.execution.repository.FlowExecutionRepository;
 import org.springframework.webflow.execution.repository.impl.DefaultFlowExecutionRepository;
+import org.springframework.webflow.execution.repository.impl.SnapshotMemoryBudget;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
 import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshotFactory;
 import org.springframework.webflow.execution.repository.snapshot.SimpleFlowExecutionSnapshotFactory;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotSizeProfiler;
 import org.springframework.webflow.executor.FlowExecutor;
 import org.springframework.webflow.executor.FlowExecutorImpl;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
 
 import java.util.Set;
 
@@ -71,6 +74,12 @@ class FlowExecutorFactoryBean implements FactoryBean<FlowExecutor>, BeanClassLoa
 
     private ConversationManager conversationManager;
 
+    private FlowExecutionMetrics flowExecutionMetrics;
+
+    private SnapshotSizeProfiler snapshotSizeProfiler;
+
+    private SnapshotMemoryBudget snapshotMemoryBudget;
+
     private ConversionService conversionService;
 
     private FlowExecutor flowExecutor;
@@ -128,6 +137,32 @@ class FlowExecutorFactoryBean implements FactoryBean<FlowExecutor>, BeanClassLoa
         this.conversationManager = conversationManager;
     }
 
+    /**
+     * Sets the metrics the flow executor created by this factory reports request, state, action, render, snapshot and
+     * lock timings to. A custom {@link #setConversationManager(ConversationManager) conversation manager} does not
+     * report conversation evictions unless configured with the same metrics. Optional.
+     */
+    public void setFlowExecutionMetrics(FlowExecutionMetrics flowExecutionMetrics) {
+        this.flowExecutionMetrics = flowExecutionMetrics;
+    }
+
+    /**
+     * Sets the profiler the size of each flow execution snapshot is reported to, to profile snapshot sizes and enforce
+     * a snapshot size budget. Has no effect if the maximum number of snapshots is 0. Optional.
+     */
+    public void setSnapshotSizeProfiler(SnapshotSizeProfiler snapshotSizeProfiler) {
+        this.snapshotSizeProfiler = snapshotSizeProfiler;
+    }
+
+    /**
+     * Sets the process-wide memory budget flow execution snapshots are accounted for in. When the snapshots of all
+     * users exceed the budget, the oldest snapshots that are not the current snapshot of their execution are evicted.
+     * Optional.
+     */
+    public void setSnapshotMemoryBudget(SnapshotMemoryBudget snapshotMemoryBudget) {
+        this.snapshotMemoryBudget = snapshotMemoryBudget;
+    }
+
     // implement BeanClassLoaderAware
 
     public void setBeanClassLoader(ClassLoader classLoader) {
@@ -145,7 +180,12 @@ class FlowExecutorFactoryBean implements FactoryBean<FlowExecutor>, BeanClassLoa
         FlowExecutionImplFactory executionFactory = createFlowExecutionFactory(executionAttributes);
         DefaultFlowExecutionRepository executionRepository = createFlowExecutionRepository(executionFactory);
         executionFactory.setExecutionKeyFactory(executionRepository);
-        flowExecutor = new FlowExecutorImpl(flowDefinitionLocator, executionFactory, executionRepository);
+        FlowExecutorImpl flowExecutor = new FlowExecutorImpl(flowDefinitionLocator, executionFactory,
+            executionRepository);
+        if (flowExecutionMetrics != null) {
+            flowExecutor.setMetrics(flowExecutionMetrics);
+        }
+        this.flowExecutor = flowExecutor;
     }
 
     // implementing FactoryBean
@@ -189,15 +229,23 @@ class FlowExecutorFactoryBean implements FactoryBean<FlowExecutor>, BeanClassLoa
         if (maxFlowExecutionSnapshots != null) {
             rep.setMaxSnapshots(maxFlowExecutionSnapshots);
         }
+        if (flowExecutionMetrics != null) {
+            rep.setMetrics(flowExecutionMetrics);
+        }
+        rep.setMemoryBudget(snapshotMemoryBudget);
         return rep;
     }
 
     private ConversationManager createConversationManager() {
         if (conversationManager == null) {
-            conversationManager = new SessionBindingConversationManager();
+            SessionBindingConversationManager conversationManager = new SessionBindingConversationManager();
             if (maxFlowExecutions != null) {
-                ((SessionBindingConversationManager) conversationManager).setMaxConversations(maxFlowExecutions);
+                conversationManager.setMaxConversations(maxFlowExecutions);
+            }
+            if (flowExecutionMetrics != null) {
+                conversationManager.setMetrics(flowExecutionMetrics);
             }
+            this.conversationManager = conversationManager;
         }
         return this.conversationManager;
     }
@@ -207,7 +255,13 @@ class FlowExecutorFactoryBean implements FactoryBean<FlowExecutor>, BeanClassLoa
             maxFlowExecutionSnapshots = 1;
             return new SimpleFlowExecutionSnapshotFactory(executionFactory, flowDefinitionLocator);
         } else {
-            return new SerializedFlowExecutionSnapshotFactory(executionFactory, flowDefinitionLocator);
+            SerializedFlowExecutionSnapshotFactory snapshotFactory = new SerializedFlowExecutionSnapshotFactory(
+                executionFactory, flowDefinitionLocator);
+            if (flowExecutionMetrics != null) {
+                snapshotFactory.setMetrics(flowExecutionMetrics);
+            }
+            snapshotFactory.setSizeProfiler(snapshotSizeProfiler);
+            return snapshotFactory;
         }
     }
 
@@ -217,6 +271,9 @@ class FlowExecutorFactoryBean implements FactoryBean<FlowExecutor>, BeanClassLoa
         if (flowExecutionListenerLoader != null) {
             executionFactory.setExecutionListenerLoader(flowExecutionListenerLoader);
         }
+        if (flowExecutionMetrics != null) {
+            executionFactory.setMetrics(flowExecutionMetrics);
+        }
         return executionFactory;
     }
 
@@ -138,6 +138,9 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
         }
         flowRegistry = new DefaultFlowRegistry();
         flowRegistry.setParent(parent);
+        if (flowBuilderServices.getDevelopment()) {
+            flowRegistry.initResourceWatcher();
+        }
         registerFlowLocations();
         registerFlowLocationPatterns();
         registerFlowBuilders();
@@ -202,7 +205,11 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
         FlowBuilderContext builderContext = new FlowBuilderContextImpl(flowResource.getId(),
             flowResource.getAttributes(), flowRegistry, flowBuilderServices);
         FlowAssembler assembler = new FlowAssembler(builder, builderContext);
-        return new DefaultFlowHolder(assembler);
+        DefaultFlowHolder holder = new DefaultFlowHolder(assembler);
+        if (flowRegistry.getResourceWatcher() != null) {
+            holder.watch(flowRegistry.getResourceWatcher(), flowResource.getPath());
+        }
+        return holder;
     }
 
     private FlowDefinitionResource createResource(FlowLocation location) {
@@ -212,9 +219,14 @@ class FlowRegistryFactoryBean implements FactoryBean<FlowDefinitionRegistry>, Be
 
     private AttributeMap<Object> getFlowAttributes(Set<FlowElementAttribute> attributes) {
         MutableAttributeMap<Object> flowAttributes = null;
-        if (flowBuilderServices.getDevelopment()) {
-            flowAttributes = new LocalAttributeMap<>(1 + attributes.size(), 1);
-            flowAttributes.put("development", true);
+        if (flowBuilderServices.getDevelopment() || flowBuilderServices.getCacheMessages()) {
+            flowAttributes = new LocalAttributeMap<>(2 + attributes.size(), 1);
+            if (flowBuilderServices.getDevelopment()) {
+                flowAttributes.put("development", true);
+            }
+            if (flowBuilderServices.getCacheMessages()) {
+                flowAttributes.put("cacheMessages", true);
+            }
         }
         if (!attributes.isEmpty()) {
             if (flowAttributes == null) {
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.context;
+
+import org.springframework.webflow.core.collection.ParameterMap;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A utility class for identifying requests by their parameters, so that identical requests, such as a form submitted
+ * twice, can be recognized.
+ */
+public class RequestSignatureUtils {
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private RequestSignatureUtils() {
+    }
+
+    /**
+     * Returns the signature of a request with the given parameters. Requests have the same signature only if they
+     * have the same prefix and the same parameters with the same values, in any order; a single-valued parameter never
+     * matches a multi-valued one. The signature is a digest, so parameter values such as passwords can not be read from
+     * it.
+     *
+     * @param prefix     a string identifying the request target, such as a flow execution key, may be null
+     * @param parameters the request parameters
+     * @return the request signature
+     */
+    public static String getSignature(String prefix, ParameterMap parameters) {
+        StringBuilder signature = new StringBuilder();
+        appendString(signature, prefix);
+        for (Map.Entry<String, Object> parameter : new TreeMap<>(parameters.asMap()).entrySet()) {
+            appendString(signature, parameter.getKey());
+            Object value = parameter.getValue();
+            if (value instanceof Object[]) {
+                Object[] values = (Object[]) value;
+                signature.append('[').append(values.length).append(':');
+                for (Object element : values) {
+                    appendString(signature, element != null ? element.toString() : null);
+                }
+            } else {
+                appendString(signature, value != null ? value.toString() : null);
+            }
+        }
+        return digest(signature.toString());
+    }
+
+    // internal helpers
+
+    /**
+     * Appends a string prefixed with its length, so the encoded strings can not run into each other.
+     */
+    private static void appendString(StringBuilder signature, String string) {
+        if (string == null) {
+            signature.append('-');
+        } else {
+            signature.append(string.length()).append(':').append(string);
+        }
+    }
+
+    private static String digest(String signature) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(signature.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -18,17 +18,21 @@ package org.springframework.webflow.context.servlet;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.binding.collection.StringKeyedMapAdapter;
 import org.springframework.util.Assert;
-import org.springframework.util.CompositeIterator;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
-import org.springframework.webflow.core.collection.CollectionUtils;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Map backed by the Servlet HTTP request parameter map for accessing request parameters. Also provides support for
  * multi-part requests, providing transparent access to the request "fileMap" as a request parameter entry.
+ * <p>
+ * Request parameters do not change during a request, so the parameters are indexed on first access and all further
+ * lookups, including {@link #size()} and {@link #containsKey(Object)}, are served from that index.
  *
  * @author Keith Donald
  */
@@ -39,6 +43,11 @@ public class HttpServletRequestParameterMap extends StringKeyedMapAdapter<Object
      */
     private HttpServletRequest request;
 
+    /**
+     * The parameter values by name, created on first access.
+     */
+    private Map<String, Object> parameters;
+
     /**
      * Create a new map wrapping the parameters of given request.
      *
@@ -50,26 +59,24 @@ public class HttpServletRequestParameterMap extends StringKeyedMapAdapter<Object
         this.request = request;
     }
 
+    public boolean containsKey(Object key) {
+        return getParameters().containsKey(key);
+    }
+
+    public boolean containsValue(Object value) {
+        return value != null && getParameters().containsValue(value);
+    }
+
+    public boolean isEmpty() {
+        return getParameters().isEmpty();
+    }
+
+    public int size() {
+        return getParameters().size();
+    }
+
     protected Object getAttribute(String key) {
-        if (request instanceof MultipartHttpServletRequest) {
-            MultipartHttpServletRequest multipartRequest = (MultipartHttpServletRequest) request;
-            List<MultipartFile> data = multipartRequest.getMultiFileMap().get(key);
-            if (data != null && data.size() > 0) {
-                if (data.size() == 1) {
-                    return data.get(0);
-                } else {
-                    return data;
-                }
-            }
-        }
-        String[] parameters = request.getParameterValues(key);
-        if (parameters == null) {
-            return null;
-        } else if (parameters.length == 1) {
-            return parameters[0];
-        } else {
-            return parameters;
-        }
+        return getParameters().get(key);
     }
 
     protected void setAttribute(String key, Object value) {
@@ -81,18 +88,38 @@ public class HttpServletRequestParameterMap extends StringKeyedMapAdapter<Object
     }
 
     protected Iterator<String> getAttributeNames() {
-        if (request instanceof MultipartHttpServletRequest) {
-            MultipartHttpServletRequest multipartRequest = (MultipartHttpServletRequest) request;
-            CompositeIterator<String> iterator = new CompositeIterator<>();
-            iterator.add(multipartRequest.getFileMap().keySet().iterator());
-            iterator.add(getRequestParameterNames());
-            return iterator;
-        } else {
-            return getRequestParameterNames();
+        return Collections.unmodifiableSet(getParameters().keySet()).iterator();
+    }
+
+    private Map<String, Object> getParameters() {
+        if (parameters == null) {
+            parameters = indexParameters();
         }
+        return parameters;
     }
 
-    private Iterator<String> getRequestParameterNames() {
-        return CollectionUtils.toIterator(request.getParameterNames());
+    /**
+     * Index the parameters of the request: uploaded files first, followed by the request parameters. A file and a
+     * request parameter with the same name are indexed once, as the file.
+     */
+    private Map<String, Object> indexParameters() {
+        Map<String, String[]> parameterMap = request.getParameterMap();
+        Map<String, Object> index = new LinkedHashMap<>(parameterMap.size() * 4 / 3 + 1);
+        if (request instanceof MultipartHttpServletRequest) {
+            MultipartHttpServletRequest multipartRequest = (MultipartHttpServletRequest) request;
+            for (Map.Entry<String, List<MultipartFile>> entry : multipartRequest.getMultiFileMap().entrySet()) {
+                List<MultipartFile> data = entry.getValue();
+                if (data != null && data.size() > 0) {
+                    index.put(entry.getKey(), data.size() == 1 ? data.get(0) : data);
+                }
+            }
+        }
+        for (Map.Entry<String, String[]> entry : parameterMap.entrySet()) {
+            String[] values = entry.getValue();
+            if (values != null && !index.containsKey(entry.getKey())) {
+                index.put(entry.getKey(), values.length == 1 ? values[0] : values);
+            }
+        }
+        return index;
     }
 }
@@ -56,7 +56,7 @@ public class ServletExternalContext implements ExternalContext {
     private HttpServletResponse response;
 
     /**
-     * An accessor for the HTTP request parameter map.
+     * An accessor for the HTTP request parameter map. Created on first access, as are the other attribute maps.
      */
     private ParameterMap requestParameterMap;
 
@@ -150,14 +150,27 @@ public class ServletExternalContext implements ExternalContext {
     // implementing external context
 
     public ParameterMap getRequestParameterMap() {
+        if (requestParameterMap == null) {
+            requestParameterMap = new LocalParameterMap(new HttpServletRequestParameterMap(request));
+        }
         return requestParameterMap;
     }
 
     public MutableAttributeMap<Object> getRequestMap() {
+        if (requestMap == null) {
+            requestMap = new LocalAttributeMap<>(new HttpServletRequestMap(request));
+        }
         return requestMap;
     }
 
+    /**
+     * Returns the session map. The HTTP session is not created by this method, or by reading the returned map: only
+     * storing an attribute in the map, or synchronizing on its {@link SharedAttributeMap#getMutex() mutex}, does.
+     */
     public SharedAttributeMap<Object> getSessionMap() {
+        if (sessionMap == null) {
+            sessionMap = new LocalSharedAttributeMap<>(new HttpSessionMap(request));
+        }
         return sessionMap;
     }
 
@@ -166,6 +179,9 @@ public class ServletExternalContext implements ExternalContext {
     }
 
     public SharedAttributeMap<Object> getApplicationMap() {
+        if (applicationMap == null) {
+            applicationMap = new LocalSharedAttributeMap<>(new HttpServletContextMap(context));
+        }
         return applicationMap;
     }
 
@@ -369,10 +385,6 @@ public class ServletExternalContext implements ExternalContext {
         this.context = context;
         this.request = request;
         this.response = response;
-        this.requestParameterMap = new LocalParameterMap(new HttpServletRequestParameterMap(request));
-        this.requestMap = new LocalAttributeMap<>(new HttpServletRequestMap(request));
-        this.sessionMap = new LocalSharedAttributeMap<>(new HttpSessionMap(request));
-        this.applicationMap = new LocalSharedAttributeMap<>(new HttpServletContextMap(context));
         this.flowUrlHandler = flowUrlHandler;
     }
 
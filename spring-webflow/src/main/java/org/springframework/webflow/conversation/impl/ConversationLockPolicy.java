@@ -0,0 +1,94 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import org.springframework.core.style.ToStringCreator;
+
+import java.io.Serializable;
+
+/**
+ * Configures how requests wait for an {@link InstrumentedConversationLock}. By default requests wait in no particular
+ * order until the lock timeout, like they do for a {@link JdkConcurrentConversationLock}.
+ *
+ * @see SessionBindingConversationManager#setLockPolicy(ConversationLockPolicy)
+ */
+public class ConversationLockPolicy implements Serializable {
+
+    private boolean fair;
+
+    private int maxWaiters = -1;
+
+    private boolean coalesceResubmits;
+
+    /**
+     * Returns whether waiting requests acquire the lock in arrival order.
+     */
+    public boolean isFair() {
+        return fair;
+    }
+
+    /**
+     * Sets whether waiting requests acquire the lock in arrival order. Fair ordering prevents a request from waiting
+     * indefinitely behind newer ones, at the cost of lower throughput. The default is false.
+     *
+     * @param fair whether the lock is fair
+     */
+    public void setFair(boolean fair) {
+        this.fair = fair;
+    }
+
+    /**
+     * Returns the maximum number of requests that may wait for the lock, -1 for no limit.
+     */
+    public int getMaxWaiters() {
+        return maxWaiters;
+    }
+
+    /**
+     * Sets the maximum number of requests that may wait for the lock. Requests arriving when that many requests are
+     * already waiting fail immediately with a {@link LockQueueFullException} instead of queuing up until the lock
+     * timeout. Use 0 to never wait and -1 for no limit. The default is -1.
+     *
+     * @param maxWaiters the maximum number of waiting requests
+     */
+    public void setMaxWaiters(int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * Returns whether a waiting request gives up when an identical request is submitted after it.
+     */
+    public boolean isCoalesceResubmits() {
+        return coalesceResubmits;
+    }
+
+    /**
+     * Sets whether a waiting request gives up when an identical request, with the same request parameters, is
+     * submitted after it. The earlier request then fails with a {@link LockSupersededException}, so repeated submits
+     * of the same form wait for the lock only once; only the response to the latest submit is displayed by the
+     * browser. The default is false.
+     *
+     * @param coalesceResubmits whether to coalesce identical waiting requests
+     */
+    public void setCoalesceResubmits(boolean coalesceResubmits) {
+        this.coalesceResubmits = coalesceResubmits;
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("fair", fair).append("maxWaiters", maxWaiters)
+            .append("coalesceResubmits", coalesceResubmits).toString();
+    }
+}
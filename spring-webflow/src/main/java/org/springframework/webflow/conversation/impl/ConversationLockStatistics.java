@@ -0,0 +1,96 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.webflow.metrics.Histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about the acquisition of {@link InstrumentedConversationLock}s, typically shared by all conversations of
+ * a {@link SessionBindingConversationManager}.
+ */
+public class ConversationLockStatistics {
+
+    private final Histogram waitTimes = new Histogram();
+
+    private final Histogram queueLengths = new Histogram();
+
+    private final AtomicLong timeouts = new AtomicLong();
+
+    private final AtomicLong rejections = new AtomicLong();
+
+    private final AtomicLong supersessions = new AtomicLong();
+
+    /**
+     * Returns the time in nanoseconds requests waited before acquiring a lock.
+     */
+    public Histogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    /**
+     * Returns the number of requests already waiting for a lock when a request started waiting for it.
+     */
+    public Histogram getQueueLengths() {
+        return queueLengths;
+    }
+
+    /**
+     * Returns the number of requests that gave up waiting for a lock after the lock timeout.
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Returns the number of requests that failed because too many requests were waiting for a lock.
+     */
+    public long getRejections() {
+        return rejections.get();
+    }
+
+    /**
+     * Returns the number of requests that gave up waiting for a lock because an identical request was submitted.
+     */
+    public long getSupersessions() {
+        return supersessions.get();
+    }
+
+    void recordAcquired(long waitTime, int queueLength) {
+        waitTimes.record(waitTime);
+        queueLengths.record(queueLength);
+    }
+
+    void recordTimeout() {
+        timeouts.incrementAndGet();
+    }
+
+    void recordRejection() {
+        rejections.incrementAndGet();
+    }
+
+    void recordSupersession() {
+        supersessions.incrementAndGet();
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("waitTimes", waitTimes).append("queueLengths", queueLengths)
+            .append("timeouts", getTimeouts()).append("rejections", getRejections())
+            .append("supersessions", getSupersessions()).toString();
+    }
+}
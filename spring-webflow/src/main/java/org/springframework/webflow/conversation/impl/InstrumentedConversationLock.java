@@ -0,0 +1,205 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import org.springframework.util.Assert;
+import org.springframework.webflow.context.ExternalContext;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.context.RequestSignatureUtils;
+import org.springframework.webflow.conversation.ConversationLockException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A conversation lock that records how long requests wait for it and how many requests are waiting, and that waits
+ * according to a {@link ConversationLockPolicy}: in arrival order, failing fast when too many requests are waiting, or
+ * letting identical resubmitted requests supersede the ones waiting before them.
+ * <p>
+ * Statistics are not recorded by locks restored from a serialized session.
+ *
+ * @see SessionBindingConversationManager#setLockPolicy(ConversationLockPolicy)
+ */
+public class InstrumentedConversationLock implements ConversationLock {
+
+    private final ReentrantLock lock;
+
+    private final int timeoutSeconds;
+
+    private final ConversationLockPolicy policy;
+
+    private final transient ConversationLockStatistics statistics;
+
+    private transient Map<String, Waiter> waitingResubmits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instrumented conversation lock.
+     *
+     * @param timeoutSeconds the time to wait for the lock before failing with a {@link LockTimeoutException}
+     * @param policy         the policy to apply when waiting for the lock
+     * @param statistics     the statistics to record lock acquisition in, may be null
+     */
+    public InstrumentedConversationLock(int timeoutSeconds, ConversationLockPolicy policy,
+                                        ConversationLockStatistics statistics) {
+        Assert.notNull(policy, "The conversation lock policy is required");
+        this.lock = new ReentrantLock(policy.isFair());
+        this.timeoutSeconds = timeoutSeconds;
+        this.policy = policy;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the estimated number of requests waiting for this lock.
+     */
+    public int getQueueLength() {
+        return lock.getQueueLength();
+    }
+
+    public void lock() throws ConversationLockException {
+        long start = System.nanoTime();
+        try {
+            // a timed tryLock honors the fairness setting, unlike tryLock()
+            if (lock.tryLock(0, TimeUnit.NANOSECONDS)) {
+                recordAcquired(start, 0);
+                return;
+            }
+            int queueLength = lock.getQueueLength();
+            if (policy.getMaxWaiters() >= 0 && queueLength >= policy.getMaxWaiters()) {
+                if (statistics != null) {
+                    statistics.recordRejection();
+                }
+                throw new LockQueueFullException(policy.getMaxWaiters());
+            }
+            boolean acquired;
+            String signature = policy.isCoalesceResubmits() ? getRequestSignature() : null;
+            if (signature != null) {
+                acquired = lockUnlessSuperseded(signature, start + TimeUnit.SECONDS.toNanos(timeoutSeconds));
+            } else {
+                acquired = lock.tryLock(timeoutSeconds, TimeUnit.SECONDS);
+            }
+            if (!acquired) {
+                if (statistics != null) {
+                    statistics.recordTimeout();
+                }
+                throw new LockTimeoutException(timeoutSeconds);
+            }
+            recordAcquired(start, queueLength + 1);
+        } catch (InterruptedException e) {
+            throw new LockInterruptedException(e);
+        }
+    }
+
+    public void unlock() {
+        lock.unlock();
+    }
+
+    /**
+     * Waits for the lock once, until the deadline, unless a request with the same signature arrives in the meantime:
+     * that request interrupts this one, which then fails with a {@link LockSupersededException}.
+     */
+    private boolean lockUnlessSuperseded(String signature, long deadline) throws InterruptedException {
+        Waiter waiter = new Waiter();
+        Waiter previous = waitingResubmits.put(signature, waiter);
+        if (previous != null) {
+            previous.supersede();
+        }
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            if (!waiter.finish()) {
+                throw e;
+            }
+            throw superseded();
+        } finally {
+            waitingResubmits.remove(signature, waiter);
+        }
+        if (waiter.finish()) {
+            // superseded right after the wait ended: let the newer request have the lock
+            if (acquired) {
+                lock.unlock();
+            }
+            throw superseded();
+        }
+        return acquired;
+    }
+
+    private LockSupersededException superseded() {
+        if (statistics != null) {
+            statistics.recordSupersession();
+        }
+        return new LockSupersededException();
+    }
+
+    private void recordAcquired(long start, int queueLength) {
+        if (statistics != null) {
+            statistics.recordAcquired(System.nanoTime() - start, queueLength);
+        }
+    }
+
+    /**
+     * Identifies the current request by its parameters, which include the flow execution key and event id of a
+     * resubmitted form.
+     */
+    private static String getRequestSignature() {
+        ExternalContext externalContext = ExternalContextHolder.getExternalContext();
+        if (externalContext == null) {
+            return null;
+        }
+        return RequestSignatureUtils.getSignature(null, externalContext.getRequestParameterMap());
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        waitingResubmits = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * A request waiting for the lock that may be superseded. Superseding and finishing the wait are mutually
+     * exclusive, so a waiter is never interrupted once it has stopped waiting.
+     */
+    private static class Waiter {
+
+        private final Thread thread = Thread.currentThread();
+
+        private boolean waiting = true;
+
+        private boolean superseded;
+
+        public synchronized void supersede() {
+            if (waiting) {
+                waiting = false;
+                superseded = true;
+                thread.interrupt();
+            }
+        }
+
+        /**
+         * Ends the wait and returns whether the waiter was superseded, clearing the interrupt it received if so.
+         */
+        public synchronized boolean finish() {
+            waiting = false;
+            if (superseded) {
+                Thread.interrupted();
+            }
+            return superseded;
+        }
+    }
+}
@@ -15,13 +15,17 @@
  */
 package org.springframework.webflow.conversation.impl;
 
+import org.springframework.util.Assert;
 import org.springframework.webflow.context.ExternalContextHolder;
 import org.springframework.webflow.conversation.Conversation;
 import org.springframework.webflow.conversation.ConversationException;
 import org.springframework.webflow.conversation.ConversationId;
 import org.springframework.webflow.conversation.ConversationManager;
 import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
 import org.springframework.webflow.core.collection.SharedAttributeMap;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
+import org.springframework.webflow.metrics.NoOpFlowExecutionMetrics;
 
 /**
  * Simple implementation of a conversation manager that stores conversations in the session attribute map.
@@ -58,6 +62,21 @@ public class SessionBindingConversationManager implements ConversationManager {
      */
     private int lockTimeoutSeconds = 30;
 
+    /**
+     * The metrics conversation evictions are reported to.
+     */
+    private FlowExecutionMetrics metrics = NoOpFlowExecutionMetrics.INSTANCE;
+
+    /**
+     * The policy applied when waiting for conversation locks, or null to use plain JDK locks.
+     */
+    private ConversationLockPolicy lockPolicy;
+
+    /**
+     * The statistics conversation locks record their acquisition in when a lock policy is set.
+     */
+    private final ConversationLockStatistics lockStatistics = new ConversationLockStatistics();
+
     /**
      * Returns the key this conversation manager uses to store conversation data in the session.
      *
@@ -117,15 +136,80 @@ public class SessionBindingConversationManager implements ConversationManager {
         this.lockTimeoutSeconds = lockTimeoutSeconds;
     }
 
+    /**
+     * Returns the metrics conversations evicted to stay within the {@link #getMaxConversations() maximum} are reported
+     * to.
+     *
+     * @return the flow execution metrics
+     */
+    public FlowExecutionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics conversations evicted to stay within the {@link #getMaxConversations() maximum} are reported to.
+     * Defaults to metrics that record nothing.
+     *
+     * @param metrics the flow execution metrics
+     */
+    public void setMetrics(FlowExecutionMetrics metrics) {
+        Assert.notNull(metrics, "The flow execution metrics are required");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the policy applied when waiting for conversation locks, or null if plain JDK locks are used.
+     *
+     * @return the conversation lock policy
+     */
+    public ConversationLockPolicy getLockPolicy() {
+        return lockPolicy;
+    }
+
+    /**
+     * Sets the policy applied when waiting for conversation locks. When set, conversations are locked with
+     * {@link InstrumentedConversationLock}s, which record their acquisition in the {@link #getLockStatistics() lock
+     * statistics}. When not set, the default, conversations are locked with {@link JdkConcurrentConversationLock}s.
+     *
+     * @param lockPolicy the conversation lock policy
+     */
+    public void setLockPolicy(ConversationLockPolicy lockPolicy) {
+        this.lockPolicy = lockPolicy;
+    }
+
+    /**
+     * Returns the statistics about the acquisition of conversation locks. Only recorded when a
+     * {@link #setLockPolicy(ConversationLockPolicy) lock policy} is set.
+     *
+     * @return the conversation lock statistics
+     */
+    public ConversationLockStatistics getLockStatistics() {
+        return lockStatistics;
+    }
+
     // implementing conversation manager
 
     public Conversation beginConversation(ConversationParameters conversationParameters) throws ConversationException {
-        ConversationLock lock = new JdkConcurrentConversationLock(lockTimeoutSeconds);
-        return getConversationContainer().createConversation(conversationParameters, lock);
+        ConversationLock lock = createConversationLock();
+        ConversationContainer container = getConversationContainer();
+        int conversationCount = container.size();
+        Conversation conversation = container.createConversation(conversationParameters, lock);
+        if (maxConversations > 0 && container.size() == conversationCount) {
+            // the container did not grow, so the oldest conversation was evicted to make room
+            metrics.recordConversationEviction();
+        }
+        return conversation;
     }
 
     public Conversation getConversation(ConversationId id) throws ConversationException {
-        return getConversationContainer().getConversation(id);
+        // look up an existing container without creating one, so that resuming an unknown conversation does not
+        // create an HTTP session
+        ConversationContainer container = (ConversationContainer) ExternalContextHolder.getExternalContext()
+            .getSessionMap().get(sessionKey);
+        if (container == null) {
+            throw new NoSuchConversationException(id);
+        }
+        return container.getConversation(id);
     }
 
     public ConversationId parseConversationId(String encodedId) throws ConversationException {
@@ -138,6 +222,16 @@ public class SessionBindingConversationManager implements ConversationManager {
 
     // hooks for subclassing
 
+    /**
+     * Create the lock of a new conversation.
+     */
+    protected ConversationLock createConversationLock() {
+        if (lockPolicy != null) {
+            return new InstrumentedConversationLock(lockTimeoutSeconds, lockPolicy, lockStatistics);
+        }
+        return new JdkConcurrentConversationLock(lockTimeoutSeconds);
+    }
+
     protected ConversationContainer createConversationContainer() {
         return new ConversationContainer(maxConversations, sessionKey);
     }
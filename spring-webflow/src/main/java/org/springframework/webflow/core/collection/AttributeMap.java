@@ -363,10 +363,13 @@ public interface AttributeMap<V> extends MapAdaptable<String, V> {
     Boolean getRequiredBoolean(String attributeName) throws IllegalArgumentException;
 
     /**
-     * Returns a new attribute map containing the union of this map with the provided map.
+     * Returns a new attribute map containing the union of this map with the provided map. Attributes of the provided
+     * map take precedence over attributes of this map with the same name. The returned map is a read-only view that
+     * reflects later changes to both maps; copy it into a {@link MutableAttributeMap} if a snapshot is needed.
      *
      * @param attributes the map to combine with this map
      * @return a new, combined map
+     * @see LayeredAttributeMap
      */
     AttributeMap<V> union(AttributeMap<? extends V> attributes);
 
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.core.collection;
+
+import org.springframework.binding.collection.MapAccessor;
+import org.springframework.core.style.StylerUtils;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An immutable attribute map that presents a union of other attribute maps without copying them. Each attribute is
+ * looked up in the layers from the most recently added one to the first one, so later layers take precedence over
+ * earlier ones, just like the union of maps built with {@link Map#putAll(Map)}.
+ * <p>
+ * A layered map is a live view: changes made to the underlying maps are immediately visible through it. This is what
+ * {@link AttributeMap#union(AttributeMap)} returns for the attribute maps in this package.
+ */
+public class LayeredAttributeMap<V> implements AttributeMap<V>, Serializable {
+
+    /**
+     * The layers of this map, in order of increasing precedence.
+     */
+    private final AttributeMap<? extends V>[] layers;
+
+    /**
+     * The read-only {@link Map} view of the layers. Marked transient and restored on deserialization.
+     */
+    private transient Map<String, V> map;
+
+    /**
+     * A helper for accessing attributes. Marked transient and restored on deserialization.
+     */
+    private transient MapAccessor<String, V> attributeAccessor;
+
+    /**
+     * Creates a new layered map placing the overlay on top of the base map. Layered maps passed in are flattened, so
+     * creating the union of two maps costs time proportional to the number of layers, never the number of attributes.
+     *
+     * @param base    the base map
+     * @param overlay the map whose attributes take precedence over those of the base map, may be null
+     */
+    public LayeredAttributeMap(AttributeMap<? extends V> base, AttributeMap<? extends V> overlay) {
+        Assert.notNull(base, "The base attribute map is required");
+        AttributeMap<? extends V>[] baseLayers = layersOf(base);
+        AttributeMap<? extends V>[] overlayLayers = overlay != null ? layersOf(overlay) : newLayers(0);
+        this.layers = newLayers(baseLayers.length + overlayLayers.length);
+        System.arraycopy(baseLayers, 0, this.layers, 0, baseLayers.length);
+        System.arraycopy(overlayLayers, 0, this.layers, baseLayers.length, overlayLayers.length);
+        initViews();
+    }
+
+    // implementing attribute map
+
+    public Map<String, V> asMap() {
+        return map;
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public V get(String attributeName) {
+        return map.get(attributeName);
+    }
+
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    public boolean contains(String attributeName) {
+        return map.containsKey(attributeName);
+    }
+
+    public boolean contains(String attributeName, Class<? extends V> requiredType) throws IllegalArgumentException {
+        return attributeAccessor.containsKey(attributeName, requiredType);
+    }
+
+    public V get(String attributeName, V defaultValue) {
+        return attributeAccessor.get(attributeName, defaultValue);
+    }
+
+    public <T extends V> T get(String attributeName, Class<T> requiredType) throws IllegalArgumentException {
+        return attributeAccessor.get(attributeName, requiredType);
+    }
+
+    public <T extends V> T get(String attributeName, Class<T> requiredType, T defaultValue)
+        throws IllegalStateException {
+        return attributeAccessor.get(attributeName, requiredType, defaultValue);
+    }
+
+    public V getRequired(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getRequired(attributeName);
+    }
+
+    public <T extends V> T getRequired(String attributeName, Class<T> requiredType) throws IllegalArgumentException {
+        return attributeAccessor.getRequired(attributeName, requiredType);
+    }
+
+    public String getString(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getString(attributeName);
+    }
+
+    public String getString(String attributeName, String defaultValue) throws IllegalArgumentException {
+        return attributeAccessor.getString(attributeName, defaultValue);
+    }
+
+    public String getRequiredString(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getRequiredString(attributeName);
+    }
+
+    public Collection<V> getCollection(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getCollection(attributeName);
+    }
+
+    public <T extends Collection<V>> T getCollection(String attributeName, Class<T> requiredType)
+        throws IllegalArgumentException {
+        return attributeAccessor.getCollection(attributeName, requiredType);
+    }
+
+    public Collection<V> getRequiredCollection(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getRequiredCollection(attributeName);
+    }
+
+    public <T extends Collection<V>> T getRequiredCollection(String attributeName, Class<T> requiredType)
+        throws IllegalArgumentException {
+        return attributeAccessor.getRequiredCollection(attributeName, requiredType);
+    }
+
+    public <T extends V> T[] getArray(String attributeName, Class<? extends T[]> requiredType)
+        throws IllegalArgumentException {
+        return attributeAccessor.getArray(attributeName, requiredType);
+    }
+
+    public <T extends V> T[] getRequiredArray(String attributeName, Class<? extends T[]> requiredType)
+        throws IllegalArgumentException {
+        return attributeAccessor.getRequiredArray(attributeName, requiredType);
+    }
+
+    public <T extends Number> T getNumber(String attributeName, Class<T> requiredType) throws IllegalArgumentException {
+        return attributeAccessor.getNumber(attributeName, requiredType);
+    }
+
+    public <T extends Number> T getNumber(String attributeName, Class<T> requiredType, T defaultValue)
+        throws IllegalArgumentException {
+        return attributeAccessor.getNumber(attributeName, requiredType, defaultValue);
+    }
+
+    public <T extends Number> T getRequiredNumber(String attributeName, Class<T> requiredType)
+        throws IllegalArgumentException {
+        return attributeAccessor.getRequiredNumber(attributeName, requiredType);
+    }
+
+    public Integer getInteger(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getInteger(attributeName);
+    }
+
+    public Integer getInteger(String attributeName, Integer defaultValue) throws IllegalArgumentException {
+        return attributeAccessor.getInteger(attributeName, defaultValue);
+    }
+
+    public Integer getRequiredInteger(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getRequiredInteger(attributeName);
+    }
+
+    public Long getLong(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getLong(attributeName);
+    }
+
+    public Long getLong(String attributeName, Long defaultValue) throws IllegalArgumentException {
+        return attributeAccessor.getLong(attributeName, defaultValue);
+    }
+
+    public Long getRequiredLong(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getRequiredLong(attributeName);
+    }
+
+    public Boolean getBoolean(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getBoolean(attributeName);
+    }
+
+    public Boolean getBoolean(String attributeName, Boolean defaultValue) throws IllegalArgumentException {
+        return attributeAccessor.getBoolean(attributeName, defaultValue);
+    }
+
+    public Boolean getRequiredBoolean(String attributeName) throws IllegalArgumentException {
+        return attributeAccessor.getRequiredBoolean(attributeName);
+    }
+
+    public AttributeMap<V> union(AttributeMap<? extends V> attributes) {
+        if (attributes == null) {
+            return this;
+        }
+        return new LayeredAttributeMap<>(this, attributes);
+    }
+
+    public boolean equals(Object o) {
+        if (!(o instanceof AttributeMap)) {
+            return false;
+        }
+        AttributeMap<?> other = (AttributeMap<?>) o;
+        return map.equals(other.asMap());
+    }
+
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    public String toString() {
+        return StylerUtils.style(map);
+    }
+
+    // internal helpers
+
+    @SuppressWarnings("unchecked")
+    private AttributeMap<? extends V>[] layersOf(AttributeMap<? extends V> attributes) {
+        if (attributes instanceof LayeredAttributeMap) {
+            return ((LayeredAttributeMap<? extends V>) attributes).layers;
+        } else {
+            AttributeMap<? extends V>[] layers = newLayers(1);
+            layers[0] = attributes;
+            return layers;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> AttributeMap<? extends V>[] newLayers(int length) {
+        return (AttributeMap<? extends V>[]) new AttributeMap<?>[length];
+    }
+
+    private void initViews() {
+        map = new LayeredMap();
+        attributeAccessor = new MapAccessor<>(map);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initViews();
+    }
+
+    /**
+     * Returns whether the given key is present in any of the layers above the layer with the given index.
+     */
+    private boolean isShadowed(int layerIndex, Object key) {
+        for (int i = layerIndex + 1; i < layers.length; i++) {
+            if (layers[i].asMap().containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the keys of the layer with the given index that are shadowed by a layer above, iterating either that
+     * layer or the layers above, whichever holds fewer keys.
+     */
+    private int countShadowed(int layerIndex, Map<String, ? extends V> layer, int sizeAbove) {
+        int count = 0;
+        if (layer.size() <= sizeAbove) {
+            for (String key : layer.keySet()) {
+                if (isShadowed(layerIndex, key)) {
+                    count++;
+                }
+            }
+        } else {
+            for (int i = layerIndex + 1; i < layers.length; i++) {
+                for (String key : layers[i].asMap().keySet()) {
+                    // count each key once, in the top-most layer holding it
+                    if (layer.containsKey(key) && !isShadowed(i, key)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Read-only {@link Map} view that resolves keys against the layers, top-most layer first.
+     */
+    private class LayeredMap extends AbstractMap<String, V> {
+
+        private final Set<Entry<String, V>> entrySet = new EntrySet();
+
+        public V get(Object key) {
+            for (int i = layers.length - 1; i >= 0; i--) {
+                Map<String, ? extends V> layer = layers[i].asMap();
+                V value = layer.get(key);
+                if (value != null || layer.containsKey(key)) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        public boolean containsKey(Object key) {
+            for (int i = layers.length - 1; i >= 0; i--) {
+                if (layers[i].asMap().containsKey(key)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public int size() {
+            int size = 0;
+            int sizeAbove = 0;
+            for (int i = layers.length - 1; i >= 0; i--) {
+                Map<String, ? extends V> layer = layers[i].asMap();
+                int layerSize = layer.size();
+                if (layerSize > 0 && sizeAbove > 0) {
+                    size += layerSize - countShadowed(i, layer, sizeAbove);
+                } else {
+                    size += layerSize;
+                }
+                sizeAbove += layerSize;
+            }
+            return size;
+        }
+
+        public boolean isEmpty() {
+            for (AttributeMap<? extends V> layer : layers) {
+                if (!layer.isEmpty()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public Set<Entry<String, V>> entrySet() {
+            return entrySet;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<String, V>> {
+
+        public Iterator<Map.Entry<String, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        public int size() {
+            return map.size();
+        }
+    }
+
+    /**
+     * Iterates over the layers from the top-most one down, skipping entries shadowed by a layer above.
+     */
+    private class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+        private int layerIndex = layers.length;
+
+        private Iterator<? extends Map.Entry<String, ? extends V>> current;
+
+        private Map.Entry<String, ? extends V> next;
+
+        public boolean hasNext() {
+            while (next == null) {
+                if (current != null && current.hasNext()) {
+                    Map.Entry<String, ? extends V> candidate = current.next();
+                    if (!isShadowed(layerIndex, candidate.getKey())) {
+                        next = candidate;
+                    }
+                } else if (layerIndex > 0) {
+                    layerIndex--;
+                    current = layers[layerIndex].asMap().entrySet().iterator();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public Map.Entry<String, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, V> entry = new AbstractMap.SimpleImmutableEntry<>(next.getKey(), next.getValue());
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -223,14 +223,7 @@ public class LocalAttributeMap<V> implements MutableAttributeMap<V>, Serializabl
     }
 
     public AttributeMap<V> union(AttributeMap<? extends V> attributes) {
-        if (attributes == null) {
-            return new LocalAttributeMap<>(getMapInternal());
-        } else {
-            Map<String, V> map = createTargetMap();
-            map.putAll(getMapInternal());
-            map.putAll(attributes.asMap());
-            return new LocalAttributeMap<>(map);
-        }
+        return new LayeredAttributeMap<>(this, attributes);
     }
 
     // implementing MutableAttributeMap
@@ -289,6 +282,9 @@ public class LocalAttributeMap<V> implements MutableAttributeMap<V>, Serializabl
 
     @SuppressWarnings("unchecked")
     public boolean equals(Object o) {
+        if (o instanceof LayeredAttributeMap) {
+            return o.equals(this);
+        }
         if (!(o instanceof LocalAttributeMap)) {
             return false;
         }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine;
+
+import org.springframework.util.Assert;
+import org.springframework.webflow.execution.Event;
+import org.springframework.webflow.execution.RequestContext;
+
+import java.io.Serializable;
+
+/**
+ * Transition criteria that matches a single, literal event id. Transitions using these criteria are indexed by event id
+ * in a {@link TransitionSet}, so matching them does not require testing each transition in turn.
+ *
+ * @see TransitionSet#getTransition(RequestContext)
+ */
+public class EventIdTransitionCriteria implements TransitionCriteria, Serializable {
+
+    /*
+     * Implementation note: not located in webflow.engine.support package to avoid a cyclic dependency between
+     * webflow.engine and webflow.engine.support.
+     */
+
+    /**
+     * The id of the event to match.
+     */
+    private final String eventId;
+
+    /**
+     * Create new transition criteria matching the event with the given id.
+     *
+     * @param eventId the event id
+     */
+    public EventIdTransitionCriteria(String eventId) {
+        Assert.hasText(eventId, "The event id is required");
+        this.eventId = eventId;
+    }
+
+    /**
+     * Returns the id of the event matched by these criteria.
+     */
+    public String getEventId() {
+        return eventId;
+    }
+
+    public boolean test(RequestContext context) {
+        Event event = context.getCurrentEvent();
+        return event != null && eventId.equals(event.getId());
+    }
+
+    public boolean equals(Object o) {
+        if (!(o instanceof EventIdTransitionCriteria)) {
+            return false;
+        }
+        return eventId.equals(((EventIdTransitionCriteria) o).eventId);
+    }
+
+    public int hashCode() {
+        return eventId.hashCode();
+    }
+
+    public String toString() {
+        return eventId;
+    }
+}
@@ -19,8 +19,10 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.binding.mapping.Mapper;
 import org.springframework.binding.mapping.MappingResults;
+import org.springframework.binding.message.CachingMessageSource;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.MessageSource;
 import org.springframework.core.style.StylerUtils;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.Assert;
@@ -36,11 +38,11 @@ import org.springframework.webflow.execution.FlowExecutionException;
 import org.springframework.webflow.execution.RequestContext;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * A single flow definition. A Flow definition is a reusable, self-contained controller module that provides the blue
@@ -120,9 +122,14 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
     private String id;
 
     /**
-     * The set of state definitions for this flow.
+     * The state definitions for this flow, in the order they were added.
      */
-    private Set<State> states = new LinkedHashSet<>(9);
+    private State[] states = new State[0];
+
+    /**
+     * The state definitions for this flow, indexed by id.
+     */
+    private Map<String, State> statesById = new HashMap<>();
 
     /**
      * The default start state for this flow.
@@ -172,6 +179,11 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
      */
     private ApplicationContext applicationContext;
 
+    /**
+     * The message source resolving messages added while this flow is active, created on first use.
+     */
+    private MessageSource messageSource;
+
     /**
      * Construct a new flow definition with the given id. The id should be unique among all flows.
      *
@@ -229,7 +241,7 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
      * @throws IllegalArgumentException given state has not been added to this flow
      */
     public void setStartState(State state) throws IllegalArgumentException {
-        if (!states.contains(state)) {
+        if (state == null || statesById.get(state.getId()) != state) {
             throw new IllegalArgumentException("State '" + state + "' is not a state of flow '" + getId() + "'");
         }
         startState = state;
@@ -268,6 +280,26 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
      */
     public void setApplicationContext(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
+        this.messageSource = null;
+    }
+
+    /**
+     * Returns the message source used to resolve messages added while this flow is active. If the flow has the
+     * <code>cacheMessages</code> attribute set to true and is not {@link #inDevelopment() in development}, resolved
+     * message text is cached for the lifetime of this flow definition. Only enable message caching when no message
+     * source of the flow's application context reloads its bundles at runtime, like a
+     * <code>ReloadableResourceBundleMessageSource</code> with a non-negative <code>cacheSeconds</code> does.
+     *
+     * @return the message source, or null if this flow has no application context
+     */
+    public MessageSource getMessageSource() {
+        if (applicationContext == null || inDevelopment() || !getAttributes().getBoolean("cacheMessages", false)) {
+            return applicationContext;
+        }
+        if (messageSource == null) {
+            messageSource = new CachingMessageSource(applicationContext);
+        }
+        return messageSource;
     }
 
     public boolean inDevelopment() {
@@ -280,7 +312,7 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
      * @return the state count
      */
     public int getStateCount() {
-        return states.size();
+        return states.length;
     }
 
     /**
@@ -290,12 +322,7 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
      * @return true if yes, false otherwise
      */
     public boolean containsState(String stateId) {
-        for (State state : states) {
-            if (state.getId().equals(stateId)) {
-                return true;
-            }
-        }
-        return false;
+        return statesById.containsKey(stateId);
     }
 
     /**
@@ -326,10 +353,9 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
         if (!StringUtils.hasText(stateId)) {
             throw new IllegalArgumentException("The specified stateId is invalid: state identifiers must be non-blank");
         }
-        for (State state : states) {
-            if (state.getId().equals(stateId)) {
-                return state;
-            }
+        State state = statesById.get(stateId);
+        if (state != null) {
+            return state;
         }
         throw new IllegalArgumentException("Cannot find state with id '" + stateId + "' in flow '" + getId() + "' -- "
                                            + "Known state ids are '" + StylerUtils.style(getStateIds()) + "'");
@@ -342,10 +368,9 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
      * @return the state ids
      */
     public String[] getStateIds() {
-        String[] stateIds = new String[getStateCount()];
-        int i = 0;
-        for (State state : states) {
-            stateIds[i++] = state.getId();
+        String[] stateIds = new String[states.length];
+        for (int i = 0; i < states.length; i++) {
+            stateIds[i] = states[i].getId();
         }
         return stateIds;
     }
@@ -477,12 +502,7 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
      * @return the transition that matches, or null if no match is found.
      */
     public TransitionDefinition getGlobalTransition(String eventId) {
-        for (Transition transition : globalTransitionSet) {
-            if (transition.getId().equals(eventId)) {
-                return transition;
-            }
-        }
-        return null;
+        return globalTransitionSet.getTransition(eventId);
     }
 
     public boolean equals(Object o) {
@@ -621,8 +641,8 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
     // internal helpers
 
     public String toString() {
-        return new ToStringCreator(this).append("id", id).append("states", states).append("startState", startState)
-            .append("variables", variables).append("inputMapper", inputMapper)
+        return new ToStringCreator(this).append("id", id).append("states", Arrays.asList(states))
+            .append("startState", startState).append("variables", variables).append("inputMapper", inputMapper)
             .append("startActionList", startActionList).append("exceptionHandlerSet", exceptionHandlerSet)
             .append("globalTransitionSet", globalTransitionSet).append("endActionList", endActionList)
             .append("outputMapper", outputMapper).toString();
@@ -641,13 +661,16 @@ public class Flow extends AnnotatedObject implements FlowDefinition {
             throw new IllegalArgumentException("State " + state + " cannot be added to this flow '" + getId()
                                                + "' -- it already belongs to a different flow: '" + state.getFlow().getId() + "'");
         }
-        if (this.states.contains(state) || this.containsState(state.getId())) {
+        if (this.containsState(state.getId())) {
             throw new IllegalArgumentException("This flow '" + getId() + "' already contains a state with id '"
                                                + state.getId() + "' -- state ids must be locally unique to the flow definition; "
                                                + "existing state-ids of this flow include: " + StylerUtils.style(getStateIds()));
         }
-        boolean firstAdd = states.isEmpty();
-        states.add(state);
+        boolean firstAdd = states.length == 0;
+        State[] newStates = Arrays.copyOf(states, states.length + 1);
+        newStates[states.length] = state;
+        statesById.put(state.getId(), state);
+        states = newStates;
         if (firstAdd) {
             setStartState(state);
         }
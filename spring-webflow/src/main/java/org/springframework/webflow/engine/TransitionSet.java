@@ -17,14 +17,22 @@ package org.springframework.webflow.engine;
 
 import org.springframework.core.style.StylerUtils;
 import org.springframework.webflow.core.collection.CollectionUtils;
+import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.execution.RequestContext;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A typed set of transitions for use internally by artifacts that can apply transition execution logic.
+ * <p>
+ * Transitions matching a literal event id ({@link EventIdTransitionCriteria}) are indexed by that id, so finding the
+ * transition for an event only tests the transitions with other criteria that come before the indexed one. The result
+ * is the same as testing all transitions in order.
  *
  * @author Keith Donald
  * @see TransitionableState#getTransitionSet()
@@ -37,6 +45,11 @@ public class TransitionSet implements Iterable<Transition> {
      */
     private List<Transition> transitions = new LinkedList<>();
 
+    /**
+     * The event id dispatch index, built on first use and discarded when this set changes.
+     */
+    private volatile DispatchIndex dispatchIndex;
+
     /**
      * Add a transition to this set.
      *
@@ -47,6 +60,7 @@ public class TransitionSet implements Iterable<Transition> {
         if (contains(transition)) {
             return false;
         }
+        dispatchIndex = null;
         return transitions.add(transition);
     }
 
@@ -57,6 +71,7 @@ public class TransitionSet implements Iterable<Transition> {
      * @return true if this set's contents changed as a result of the add operation
      */
     public boolean addAll(Transition... transitions) {
+        dispatchIndex = null;
         return CollectionUtils.addAllNoDuplicates(this.transitions, transitions);
     }
 
@@ -77,6 +92,7 @@ public class TransitionSet implements Iterable<Transition> {
      * @return true if this list's contents changed as a result of the remove operation
      */
     public boolean remove(Transition transition) {
+        dispatchIndex = null;
         return transitions.remove(transition);
     }
 
@@ -95,7 +111,21 @@ public class TransitionSet implements Iterable<Transition> {
      * @return an iterator
      */
     public Iterator<Transition> iterator() {
-        return transitions.iterator();
+        final Iterator<Transition> it = transitions.iterator();
+        return new Iterator<Transition>() {
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            public Transition next() {
+                return it.next();
+            }
+
+            public void remove() {
+                it.remove();
+                dispatchIndex = null;
+            }
+        };
     }
 
     /**
@@ -128,12 +158,50 @@ public class TransitionSet implements Iterable<Transition> {
      * @return the transition, or null if no transition matches
      */
     public Transition getTransition(RequestContext context) {
-        for (Transition transition : transitions) {
+        Event event = context.getCurrentEvent();
+        if (event == null) {
+            for (Transition transition : transitions) {
+                if (transition.matches(context)) {
+                    return transition;
+                }
+            }
+            return null;
+        }
+        DispatchIndex index = getDispatchIndex();
+        Integer position = index.eventIdPositions.get(event.getId());
+        int limit = position != null ? position : index.transitions.length;
+        for (int otherPosition : index.otherPositions) {
+            if (otherPosition >= limit) {
+                break;
+            }
+            Transition transition = index.transitions[otherPosition];
             if (transition.matches(context)) {
                 return transition;
             }
         }
-        return null;
+        return position != null ? index.transitions[position] : null;
+    }
+
+    /**
+     * Gets the first transition in this set with the given {@link Transition#getId() id}.
+     *
+     * @param transitionId the transition id, typically an event id
+     * @return the transition, or null if no transition has the given id
+     */
+    public Transition getTransition(String transitionId) {
+        DispatchIndex index = getDispatchIndex();
+        Integer position = index.eventIdPositions.get(transitionId);
+        int limit = position != null ? position : index.transitions.length;
+        for (int otherPosition : index.otherPositions) {
+            if (otherPosition >= limit) {
+                break;
+            }
+            Transition transition = index.transitions[otherPosition];
+            if (transition.getId().equals(transitionId)) {
+                return transition;
+            }
+        }
+        return position != null ? index.transitions[position] : null;
     }
 
     /**
@@ -149,4 +217,43 @@ public class TransitionSet implements Iterable<Transition> {
     public String toString() {
         return StylerUtils.style(transitions);
     }
+
+    private DispatchIndex getDispatchIndex() {
+        DispatchIndex index = dispatchIndex;
+        if (index == null) {
+            index = new DispatchIndex(toArray());
+            dispatchIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * An immutable index of the transitions of a set: the position of the first transition matching each literal event
+     * id, and the positions of all transitions with other criteria, in order.
+     */
+    private static class DispatchIndex {
+
+        private final Transition[] transitions;
+
+        private final Map<String, Integer> eventIdPositions = new HashMap<>();
+
+        private final int[] otherPositions;
+
+        public DispatchIndex(Transition[] transitions) {
+            this.transitions = transitions;
+            List<Integer> others = new ArrayList<>();
+            for (int i = 0; i < transitions.length; i++) {
+                TransitionCriteria criteria = transitions[i].getMatchingCriteria();
+                if (criteria instanceof EventIdTransitionCriteria) {
+                    eventIdPositions.putIfAbsent(((EventIdTransitionCriteria) criteria).getEventId(), i);
+                } else {
+                    others.add(i);
+                }
+            }
+            this.otherPositions = new int[others.size()];
+            for (int i = 0; i < otherPositions.length; i++) {
+                otherPositions[i] = others.get(i);
+            }
+        }
+    }
 }
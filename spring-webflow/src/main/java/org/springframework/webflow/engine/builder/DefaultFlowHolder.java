@@ -17,6 +17,7 @@ package org.springframework.webflow.engine.builder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.Resource;
 import org.springframework.core.style.ToStringCreator;
 import org.springframework.util.Assert;
 import org.springframework.webflow.definition.FlowDefinition;
@@ -29,6 +30,10 @@ import org.springframework.webflow.definition.registry.FlowDefinitionHolder;
  * <p>
  * This class is thread-safe.
  * <p>
+ * By default, a flow under development is checked for changes each time it is accessed. When the flow definition
+ * resource is {@link #watch(FlowResourceWatcher, Resource) watched}, changes are detected by the watcher instead, and
+ * the flow is reassembled on the watcher's thread while requests continue to use the previous flow definition.
+ * <p>
  * Note that this {@link FlowDefinition} holder uses a {@link FlowAssembler}. This class bridges the <i>abstract</i>
  * world of {@link FlowDefinition flow definitions} with the <i>concrete</i> world of flow implementations.
  *
@@ -43,7 +48,7 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
     /**
      * The flow definition assembled by this assembler, initially null.
      */
-    private FlowDefinition flowDefinition;
+    private volatile FlowDefinition flowDefinition;
 
     /**
      * The flow assembler.
@@ -55,6 +60,19 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
      */
     private boolean assembling;
 
+    /**
+     * The watcher detecting changes to the flow definition resource, or null if changes are checked for on access.
+     */
+    private volatile FlowResourceWatcher watcher;
+
+    /**
+     * Whether the watcher also watches the resources of the flows the flow inherits from. If not, changes are still
+     * checked for on access.
+     */
+    private volatile boolean parentFlowResourcesWatched;
+
+    private final Runnable watchListener = this::flowResourceChanged;
+
     /**
      * Creates a new refreshable flow definition holder that uses the configured assembler (GOF director) to drive flow
      * assembly, on initial use and on any resource change or refresh.
@@ -74,7 +92,37 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
         return assembler.getFlowBuilder().getFlowResourceString();
     }
 
-    public synchronized FlowDefinition getFlowDefinition() throws FlowDefinitionConstructionException {
+    /**
+     * Detects changes to the given flow definition resource with the given watcher, instead of checking for changes
+     * each time the flow definition is accessed. The resources of the flows the flow inherits from are watched as well,
+     * each time the flow is assembled. Has no effect if the resource cannot be watched, and changes are still checked
+     * for on access as long as any parent flow resource cannot be watched.
+     *
+     * @param watcher      the watcher to use
+     * @param flowResource the resource the flow definition is built from
+     */
+    public void watch(FlowResourceWatcher watcher, Resource flowResource) {
+        Assert.notNull(watcher, "The FlowResourceWatcher is required");
+        if (watcher.watch(flowResource, watchListener)) {
+            synchronized (this) {
+                this.watcher = watcher;
+                if (flowDefinition != null) {
+                    watchParentFlowResources();
+                }
+            }
+        }
+    }
+
+    public FlowDefinition getFlowDefinition() throws FlowDefinitionConstructionException {
+        FlowDefinition flowDefinition = this.flowDefinition;
+        if (watcher != null && parentFlowResourcesWatched && flowDefinition != null && !Thread.holdsLock(this)) {
+            // changes are detected by the watcher, which reassembles the flow on its own thread
+            return flowDefinition;
+        }
+        return getOrAssembleFlowDefinition();
+    }
+
+    private synchronized FlowDefinition getOrAssembleFlowDefinition() throws FlowDefinitionConstructionException {
         if (assembling) {
             // must return early assembly result for when a flow calls itself recursively
             return getFlowBuilder().getFlow();
@@ -83,7 +131,8 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
             logger.debug("Assembling the flow for the first time");
             assembleFlow();
         } else {
-            if (flowDefinition.inDevelopment() && getFlowBuilder().hasFlowChanged()) {
+            if ((watcher == null || !parentFlowResourcesWatched) && flowDefinition.inDevelopment()
+                && getFlowBuilder().hasFlowChanged()) {
                 logger.debug("The flow under development has changed; reassembling...");
                 assembleFlow();
             }
@@ -96,6 +145,9 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
     }
 
     public void destroy() {
+        if (watcher != null) {
+            watcher.unwatch(watchListener);
+        }
         if (flowDefinition != null) {
             flowDefinition.destroy();
         }
@@ -107,10 +159,25 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
         return new ToStringCreator(this).append("flowBuilder", assembler.getFlowBuilder()).toString();
     }
 
+    private synchronized void flowResourceChanged() {
+        if (flowDefinition != null && flowDefinition.inDevelopment() && getFlowBuilder().hasFlowChanged()) {
+            logger.debug("The flow under development has changed; reassembling...");
+            try {
+                assembleFlow();
+            } catch (FlowDefinitionConstructionException e) {
+                logger.warn("Could not reassemble the changed flow '" + getFlowDefinitionId()
+                            + "'; the previous flow definition remains in use", e);
+            }
+        }
+    }
+
     private void assembleFlow() throws FlowDefinitionConstructionException {
         try {
             assembling = true;
             flowDefinition = assembler.assembleFlow();
+            if (watcher != null) {
+                watchParentFlowResources();
+            }
         } catch (FlowBuilderException e) {
             throw new FlowDefinitionConstructionException(assembler.getFlowBuilderContext().getFlowId(), e);
         } finally {
@@ -118,6 +185,22 @@ public class DefaultFlowHolder implements FlowDefinitionHolder {
         }
     }
 
+    /**
+     * Watches the resources of the flows the assembled flow inherits from, so that changes to them are detected even if
+     * they are not registered with the same watcher.
+     */
+    private void watchParentFlowResources() {
+        boolean watched = true;
+        if (flowDefinition.inDevelopment()) {
+            for (Resource parentFlowResource : getFlowBuilder().getParentFlowResources()) {
+                if (!watcher.watch(parentFlowResource, watchListener)) {
+                    watched = false;
+                }
+            }
+        }
+        parentFlowResourcesWatched = watched;
+    }
+
     private FlowBuilder getFlowBuilder() {
         return assembler.getFlowBuilder();
     }
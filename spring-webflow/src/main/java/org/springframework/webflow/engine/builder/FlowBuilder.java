@@ -15,8 +15,12 @@
  */
 package org.springframework.webflow.engine.builder;
 
+import org.springframework.core.io.Resource;
 import org.springframework.webflow.engine.Flow;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Builder interface used to build a flow definition. The process of building a flow consists of the following steps:
  * <ol>
@@ -151,4 +155,14 @@ public interface FlowBuilder {
      */
     String getFlowResourceString();
 
+    /**
+     * Returns the resources of the flows the last built flow inherits from, directly or indirectly. Changes to these
+     * resources are reported by {@link #hasFlowChanged()}. Returns an empty list by default.
+     *
+     * @return the parent flow resources
+     */
+    default List<Resource> getParentFlowResources() {
+        return Collections.emptyList();
+    }
+
 }
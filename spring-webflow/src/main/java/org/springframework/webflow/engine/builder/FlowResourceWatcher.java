@@ -0,0 +1,184 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.builder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Watches file-based flow definition resources for changes using a {@link WatchService}, so that flows under
+ * development can be refreshed without checking the last modified time of their resources on each access.
+ * <p>
+ * The directories of watched resources are registered with a watch service that is polled by a single daemon thread.
+ * When any watched resource is created, modified or deleted, every registered listener is notified on that thread.
+ * Listeners are not told which resource changed, since a change to a parent flow also affects the flows that extend
+ * it; each listener is expected to check whether its own flow needs to be reassembled.
+ * <p>
+ * This class is thread-safe. Call {@link #destroy()} to stop watching.
+ *
+ * @see DefaultFlowHolder#watch(FlowResourceWatcher, Resource)
+ */
+public class FlowResourceWatcher {
+
+    private static final Log logger = LogFactory.getLog(FlowResourceWatcher.class);
+
+    private final Set<Path> watchedFiles = ConcurrentHashMap.newKeySet();
+
+    private final Set<Path> watchedDirectories = new HashSet<>();
+
+    private final CopyOnWriteArrayList<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private WatchService watchService;
+
+    /**
+     * Starts watching the given resource, notifying the given listener whenever it or any other watched resource
+     * changes. A listener watching several resources is notified once per change. Returns false if the resource cannot
+     * be watched, for example because it is not a file in the file system, in which case the caller should fall back to
+     * checking for changes itself.
+     *
+     * @param resource the flow definition resource to watch
+     * @param listener the listener to notify of changes
+     * @return true if the resource is being watched, false otherwise
+     */
+    public synchronized boolean watch(Resource resource, Runnable listener) {
+        Assert.notNull(resource, "The resource to watch is required");
+        Assert.notNull(listener, "The listener to notify of changes is required");
+        Path file;
+        try {
+            if (!resource.isFile()) {
+                return false;
+            }
+            file = resource.getFile().toPath().toAbsolutePath().normalize();
+        } catch (IOException e) {
+            return false;
+        }
+        Path directory = file.getParent();
+        if (directory == null) {
+            return false;
+        }
+        try {
+            if (watchService == null) {
+                watchService = FileSystems.getDefault().newWatchService();
+                startWatching(watchService);
+            }
+            if (!watchedDirectories.contains(directory)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.add(directory);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not watch " + resource + " for changes; changes will be checked for on each access", e);
+            return false;
+        }
+        watchedFiles.add(file);
+        listeners.addIfAbsent(listener);
+        return true;
+    }
+
+    /**
+     * Stops notifying the given listener of changes.
+     *
+     * @param listener the listener previously passed to {@link #watch(Resource, Runnable)}
+     */
+    public void unwatch(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops watching all resources and ends the watching thread.
+     */
+    public synchronized void destroy() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.debug("Could not close the watch service", e);
+            }
+            watchService = null;
+            watchedDirectories.clear();
+            watchedFiles.clear();
+        }
+        listeners.clear();
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("watchedFiles", watchedFiles).toString();
+    }
+
+    // internal helpers
+
+    private void startWatching(WatchService watchService) {
+        Thread thread = new Thread(() -> processEvents(watchService), "webflow-flow-resource-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void processEvents(WatchService watchService) {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path directory = (Path) key.watchable();
+            List<WatchEvent<?>> events = key.pollEvents();
+            key.reset();
+            processEvents(directory, events);
+        }
+    }
+
+    /**
+     * Notifies the listeners if any of the given events, polled for the given watched directory, may concern a watched
+     * file.
+     */
+    void processEvents(Path directory, List<WatchEvent<?>> events) {
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                || watchedFiles.contains(directory.resolve((Path) event.context()))) {
+                notifyListeners();
+                return;
+            }
+        }
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                logger.warn("Flow resource change listener " + listener + " failed", e);
+            }
+        }
+    }
+}
@@ -22,7 +22,6 @@ import org.springframework.binding.convert.ConversionExecutionException;
 import org.springframework.binding.convert.ConversionExecutor;
 import org.springframework.binding.convert.service.RuntimeBindingConversionExecutor;
 import org.springframework.binding.expression.Expression;
-import org.springframework.binding.expression.ExpressionParser;
 import org.springframework.binding.expression.ParserContext;
 import org.springframework.binding.expression.support.FluentParserContext;
 import org.springframework.binding.mapping.Mapper;
@@ -92,6 +91,7 @@ import org.springframework.webflow.engine.model.ViewStateModel;
 import org.springframework.webflow.engine.model.builder.FlowModelBuilderException;
 import org.springframework.webflow.engine.model.registry.FlowModelHolder;
 import org.springframework.webflow.engine.support.ActionExecutingViewFactory;
+import org.springframework.webflow.engine.support.AttributeExpression;
 import org.springframework.webflow.engine.support.BeanFactoryVariableValueFactory;
 import org.springframework.webflow.engine.support.DefaultTransitionCriteria;
 import org.springframework.webflow.engine.support.GenericSubflowAttributeMapper;
@@ -110,7 +110,9 @@ import org.springframework.webflow.security.SecurityRule;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Builds a runtime {@link Flow} definition object from a {@link FlowModel}.
@@ -247,6 +249,19 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
         return flowModelHolder.getFlowModelResource().getDescription();
     }
 
+    public List<Resource> getParentFlowResources() {
+        Set<FlowModelHolder> parentHolders = new LinkedHashSet<>();
+        collectParentFlowModelHolders(flowModelHolder, parentHolders);
+        List<Resource> resources = new ArrayList<>(parentHolders.size());
+        for (FlowModelHolder parentHolder : parentHolders) {
+            Resource resource = parentHolder.getFlowModelResource();
+            if (resource != null) {
+                resources.add(resource);
+            }
+        }
+        return resources;
+    }
+
     public String toString() {
         return new ToStringCreator(this).append("flowModelResource", flowModelHolder.getFlowModelResource()).toString();
     }
@@ -271,11 +286,12 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
 
     protected Flow createFlow() {
         String flowId = getContext().getFlowId();
-        AttributeMap<Object> flowAttributes = parseFlowMetaAttributes(flowModel);
-        flowAttributes = getContext().getFlowAttributes().union(flowAttributes);
+        MutableAttributeMap<Object> flowAttributes = new LocalAttributeMap<>();
+        flowAttributes.putAll(getContext().getFlowAttributes());
+        flowAttributes.putAll(parseFlowMetaAttributes(flowModel));
         if (IS_SPRING_FACES_PRESENT) {
-            flowAttributes.asMap().put(VALIDATOR_FLOW_ATTR, getLocalContext().getValidator());
-            flowAttributes.asMap().put(VALIDATION_HINT_RESOLVER_FLOW_ATTR, getLocalContext().getValidationHintResolver());
+            flowAttributes.put(VALIDATOR_FLOW_ATTR, getLocalContext().getValidator());
+            flowAttributes.put(VALIDATION_HINT_RESOLVER_FLOW_ATTR, getLocalContext().getValidationHintResolver());
         }
         Flow flow = getLocalContext().getFlowArtifactFactory().createFlow(flowId, flowAttributes);
         flow.setApplicationContext(getLocalContext().getApplicationContext());
@@ -321,6 +337,14 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     protected void registerFlowBeans(ConfigurableBeanFactory beanFactory) {
     }
 
+    private void collectParentFlowModelHolders(FlowModelHolder holder, Set<FlowModelHolder> parentHolders) {
+        for (FlowModelHolder parentHolder : holder.getParentFlowModelHolders()) {
+            if (parentHolders.add(parentHolder)) {
+                collectParentFlowModelHolders(parentHolder, parentHolders);
+            }
+        }
+    }
+
     private void initLocalFlowContext() {
         Resource[] contextResources = parseContextResources(getFlowModel().getBeanImports());
         GenericApplicationContext flowContext = createFlowApplicationContext(contextResources);
@@ -424,6 +448,7 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     private Mapper parseFlowInputMapper(List<InputModel> inputs) {
         if (inputs != null && !inputs.isEmpty()) {
             DefaultMapper inputMapper = new DefaultMapper();
+            inputMapper.setRecordSuccessResults(false);
             for (InputModel inputModel : inputs) {
                 inputMapper.addMapping(parseFlowInputMapping(inputModel));
             }
@@ -434,7 +459,6 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     }
 
     private DefaultMapping parseFlowInputMapping(InputModel input) {
-        ExpressionParser parser = getLocalContext().getExpressionParser();
         String name = input.getName();
         String value = null;
         if (StringUtils.hasText(input.getValue())) {
@@ -442,8 +466,8 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
         } else {
             value = "flowScope." + name;
         }
-        Expression source = parser.parseExpression(name, new FluentParserContext().evaluate(MutableAttributeMap.class));
-        Expression target = parser.parseExpression(value, new FluentParserContext().evaluate(RequestContext.class));
+        Expression source = parseMappingExpression(name, MutableAttributeMap.class);
+        Expression target = parseMappingExpression(value, RequestContext.class);
         DefaultMapping mapping = new DefaultMapping(source, target);
         parseAndSetMappingConversionExecutor(input, mapping);
         parseAndSetMappingRequired(input, mapping);
@@ -453,6 +477,7 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     private Mapper parseSubflowInputMapper(List<InputModel> inputs) {
         if (inputs != null && !inputs.isEmpty()) {
             DefaultMapper inputMapper = new DefaultMapper();
+            inputMapper.setRecordSuccessResults(false);
             for (InputModel inputModel : inputs) {
                 inputMapper.addMapping(parseSubflowInputMapping(inputModel));
             }
@@ -463,7 +488,6 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     }
 
     private DefaultMapping parseSubflowInputMapping(InputModel input) {
-        ExpressionParser parser = getLocalContext().getExpressionParser();
         String name = input.getName();
         String value = null;
         if (StringUtils.hasText(input.getValue())) {
@@ -471,8 +495,8 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
         } else {
             value = name;
         }
-        Expression source = parser.parseExpression(value, new FluentParserContext().evaluate(RequestContext.class));
-        Expression target = parser.parseExpression(name, new FluentParserContext().evaluate(MutableAttributeMap.class));
+        Expression source = parseMappingExpression(value, RequestContext.class);
+        Expression target = parseMappingExpression(name, MutableAttributeMap.class);
         DefaultMapping mapping = new DefaultMapping(source, target);
         parseAndSetMappingConversionExecutor(input, mapping);
         parseAndSetMappingRequired(input, mapping);
@@ -482,6 +506,7 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     private Mapper parseFlowOutputMapper(List<OutputModel> outputs) {
         if (outputs != null && !outputs.isEmpty()) {
             DefaultMapper outputMapper = new DefaultMapper();
+            outputMapper.setRecordSuccessResults(false);
             for (OutputModel outputModel : outputs) {
                 outputMapper.addMapping(parseFlowOutputMapping(outputModel));
             }
@@ -492,7 +517,6 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     }
 
     private DefaultMapping parseFlowOutputMapping(OutputModel output) {
-        ExpressionParser parser = getLocalContext().getExpressionParser();
         String name = output.getName();
         String value = null;
         if (StringUtils.hasText(output.getValue())) {
@@ -500,8 +524,8 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
         } else {
             value = name;
         }
-        Expression source = parser.parseExpression(value, new FluentParserContext().evaluate(RequestContext.class));
-        Expression target = parser.parseExpression(name, new FluentParserContext().evaluate(MutableAttributeMap.class));
+        Expression source = parseMappingExpression(value, RequestContext.class);
+        Expression target = parseMappingExpression(name, MutableAttributeMap.class);
         DefaultMapping mapping = new DefaultMapping(source, target);
         parseAndSetMappingConversionExecutor(output, mapping);
         parseAndSetMappingRequired(output, mapping);
@@ -511,6 +535,7 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     private Mapper parseSubflowOutputMapper(List<OutputModel> outputs) {
         if (outputs != null && !outputs.isEmpty()) {
             DefaultMapper outputMapper = new DefaultMapper();
+            outputMapper.setRecordSuccessResults(false);
             for (OutputModel outputModel : outputs) {
                 outputMapper.addMapping(parseSubflowOutputMapping(outputModel));
             }
@@ -521,7 +546,6 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
     }
 
     private DefaultMapping parseSubflowOutputMapping(OutputModel output) {
-        ExpressionParser parser = getLocalContext().getExpressionParser();
         String name = output.getName();
         String value = null;
         if (StringUtils.hasText(output.getValue())) {
@@ -529,14 +553,25 @@ public class FlowModelFlowBuilder extends AbstractFlowBuilder {
         } else {
             value = "flowScope." + name;
         }
-        Expression source = parser.parseExpression(name, new FluentParserContext().evaluate(MutableAttributeMap.class));
-        Expression target = parser.parseExpression(value, new FluentParserContext().evaluate(RequestContext.class));
+        Expression source = parseMappingExpression(name, MutableAttributeMap.class);
+        Expression target = parseMappingExpression(value, RequestContext.class);
         DefaultMapping mapping = new DefaultMapping(source, target);
         parseAndSetMappingConversionExecutor(output, mapping);
         parseAndSetMappingRequired(output, mapping);
         return mapping;
     }
 
+    /**
+     * Parses an expression of a flow or subflow input/output mapping. Expressions that simply access an attribute, such
+     * as <code>name</code> in an attribute map or <code>flowScope.name</code> in a request context, are compiled into
+     * direct attribute accesses that bypass the expression language at runtime.
+     */
+    private Expression parseMappingExpression(String expressionString, Class<?> contextType) {
+        Expression expression = getLocalContext().getExpressionParser().parseExpression(expressionString,
+            new FluentParserContext().evaluate(contextType));
+        return AttributeExpression.compile(expression, contextType);
+    }
+
     private void parseAndSetMappingConversionExecutor(AbstractMappingModel mappingModel, DefaultMapping mapping) {
         if (StringUtils.hasText(mappingModel.getType())) {
             Class<?> type = toClass(mappingModel.getType());
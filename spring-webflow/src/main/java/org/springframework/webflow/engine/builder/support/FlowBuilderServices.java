@@ -87,6 +87,11 @@ public class FlowBuilderServices implements ApplicationContextAware, Initializin
      */
     private boolean development;
 
+    /**
+     * Whether or not the text of messages added while flows are active is cached by each flow.
+     */
+    private boolean cacheMessages;
+
     public FlowArtifactFactory getFlowArtifactFactory() {
         return flowArtifactFactory;
     }
@@ -143,6 +148,21 @@ public class FlowBuilderServices implements ApplicationContextAware, Initializin
         this.development = development;
     }
 
+    public boolean getCacheMessages() {
+        return cacheMessages;
+    }
+
+    /**
+     * Sets whether each flow caches the resolved text of messages added while it is active. Defaults to false. Only
+     * enable it when the message bundles of the application are not reloaded at runtime.
+     *
+     * @param cacheMessages whether to cache resolved message text
+     * @see org.springframework.webflow.engine.Flow#getMessageSource()
+     */
+    public void setCacheMessages(boolean cacheMessages) {
+        this.cacheMessages = cacheMessages;
+    }
+
     public ApplicationContext getApplicationContext() {
         return applicationContext;
     }
@@ -21,6 +21,7 @@ import org.springframework.binding.expression.Expression;
 import org.springframework.binding.expression.ExpressionParser;
 import org.springframework.binding.expression.support.FluentParserContext;
 import org.springframework.util.StringUtils;
+import org.springframework.webflow.engine.EventIdTransitionCriteria;
 import org.springframework.webflow.engine.TransitionCriteria;
 import org.springframework.webflow.engine.WildcardTransitionCriteria;
 import org.springframework.webflow.engine.builder.FlowBuilderContext;
@@ -34,7 +35,7 @@ import org.springframework.webflow.execution.RequestContext;
  * This converter supports the following encoded forms:
  * <ul>
  * <li>"*" - will result in a TransitionCriteria object that matches on everything.</li>
- * <li>"eventId" - will result in a TransitionCriteria object that matches given event id.</li>
+ * <li>"eventId" - will result in an {@link EventIdTransitionCriteria} object that matches given event id.</li>
  * <li>"${...}" - will result in a TransitionCriteria object that evaluates given condition, expressed as an expression.
  * </li>
  * </ul>
@@ -72,6 +73,8 @@ class TextToTransitionCriteria implements Converter {
         if (!StringUtils.hasText(encodedCriteria)
             || WildcardTransitionCriteria.WILDCARD_EVENT_ID.equals(encodedCriteria)) {
             return WildcardTransitionCriteria.INSTANCE;
+        } else if (isEventId(encodedCriteria)) {
+            return new EventIdTransitionCriteria(encodedCriteria);
         } else {
             return createBooleanExpressionTransitionCriteria(encodedCriteria, parser);
         }
@@ -92,4 +95,11 @@ class TextToTransitionCriteria implements Converter {
             new FluentParserContext().template().evaluate(RequestContext.class));
         return new DefaultTransitionCriteria(expression);
     }
+
+    /**
+     * Returns whether the encoded criteria is a literal event id rather than a template with embedded expressions.
+     */
+    private boolean isEventId(String encodedCriteria) {
+        return !encodedCriteria.contains("#{") && !encodedCriteria.contains("${");
+    }
 }
@@ -46,6 +46,8 @@ import org.springframework.webflow.execution.FlowSession;
 import org.springframework.webflow.execution.RequestContext;
 import org.springframework.webflow.execution.RequestContextHolder;
 import org.springframework.webflow.execution.View;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
+import org.springframework.webflow.metrics.NoOpFlowExecutionMetrics;
 
 import java.io.Externalizable;
 import java.io.IOException;
@@ -129,6 +131,26 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
      */
     private transient FlowExecutionOutcome outcome;
 
+    /**
+     * The metrics this flow execution reports to.
+     */
+    private transient FlowExecutionMetrics metrics = NoOpFlowExecutionMetrics.INSTANCE;
+
+    /**
+     * The state whose duration is being measured while processing a request, when metrics are recorded.
+     */
+    private transient State timedState;
+
+    /**
+     * The time the measurement of the timed state started.
+     */
+    private transient long timedStateStart;
+
+    /**
+     * The time the current view started rendering.
+     */
+    private transient long renderStart;
+
     /**
      * Default constructor required for externalizable serialization. Should NOT be called programmatically.
      */
@@ -235,10 +257,11 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
         if (logger.isDebugEnabled()) {
             logger.debug("Starting in " + externalContext + " with input " + input);
         }
-        MessageContext messageContext = createMessageContext(null);
+        MessageContext messageContext = createMessageContext(flow.getMessageSource());
         RequestControlContext requestContext = createRequestContext(externalContext, messageContext);
         RequestContextHolder.setRequestContext(requestContext);
         listeners.fireRequestSubmitted(requestContext);
+        startStateTimer(null);
         try {
             start(flow, input, requestContext);
         } catch (FlowExecutionException e) {
@@ -246,6 +269,7 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
         } catch (Exception e) {
             handleException(wrap(e), requestContext);
         } finally {
+            stopStateTimer();
             saveFlashMessages(requestContext);
             if (isActive()) {
                 try {
@@ -270,10 +294,11 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
             logger.debug("Resuming in " + externalContext);
         }
         Flow activeFlow = getActiveSessionInternal().getFlow();
-        MessageContext messageContext = createMessageContext(activeFlow.getApplicationContext());
+        MessageContext messageContext = createMessageContext(activeFlow.getMessageSource());
         RequestControlContext requestContext = createRequestContext(externalContext, messageContext);
         RequestContextHolder.setRequestContext(requestContext);
         listeners.fireRequestSubmitted(requestContext);
+        startStateTimer((State) getActiveSessionInternal().getState());
         try {
             listeners.fireResuming(requestContext);
             activeFlow.resume(requestContext);
@@ -282,6 +307,7 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
         } catch (Exception e) {
             handleException(wrap(e), requestContext);
         } finally {
+            stopStateTimer();
             saveFlashMessages(requestContext);
             if (isActive()) {
                 try {
@@ -353,12 +379,23 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
 
     public void viewRendering(View view, RequestContext context) {
         listeners.fireViewRendering(context, view);
+        if (metrics != NoOpFlowExecutionMetrics.INSTANCE) {
+            renderStart = System.nanoTime();
+        }
     }
 
     public void viewRendered(View view, RequestContext context) {
+        if (metrics != NoOpFlowExecutionMetrics.INSTANCE) {
+            State state = (State) getActiveSessionInternal().getState();
+            metrics.recordRender(state.getFlow().getId(), state.getId(), System.nanoTime() - renderStart);
+        }
         listeners.fireViewRendered(context, view);
     }
 
+    public FlowExecutionMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Create a flow execution control context.
      *
@@ -392,7 +429,7 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
             session.setEmbeddedMode();
         }
         StateManageableMessageContext messageContext = (StateManageableMessageContext) context.getMessageContext();
-        messageContext.setMessageSource(flow.getApplicationContext());
+        messageContext.setMessageSource(flow.getMessageSource());
         listeners.fireSessionStarting(context, session, input);
         flow.start(context, input);
         listeners.fireSessionStarted(context, session);
@@ -403,6 +440,10 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
         FlowSessionImpl session = getActiveSessionInternal();
         State previousState = (State) session.getState();
         session.setCurrentState(newState);
+        if (metrics != NoOpFlowExecutionMetrics.INSTANCE) {
+            stopStateTimer();
+            startStateTimer(newState);
+        }
         listeners.fireStateEntered(context, previousState);
     }
 
@@ -479,6 +520,10 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
         this.listeners = new FlowExecutionListeners(listeners);
     }
 
+    void setMetrics(FlowExecutionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     // Used by {@link FlowExecutionImplFactory}
 
     FlowExecutionKeyFactory getKeyFactory() {
@@ -533,6 +578,20 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
 
     // internal helpers
 
+    private void startStateTimer(State state) {
+        if (metrics != NoOpFlowExecutionMetrics.INSTANCE) {
+            timedState = state;
+            timedStateStart = System.nanoTime();
+        }
+    }
+
+    private void stopStateTimer() {
+        if (timedState != null) {
+            metrics.recordState(timedState.getFlow().getId(), timedState.getId(), System.nanoTime() - timedStateStart);
+            timedState = null;
+        }
+    }
+
     private MessageContext createMessageContext(MessageSource messageSource) {
         StateManageableMessageContext messageContext = new DefaultMessageContext(messageSource);
         Serializable messagesMemento = (Serializable) getFlashScope().extract("messagesMemento");
@@ -565,6 +624,10 @@ public class FlowExecutionImpl implements FlowExecution, Externalizable {
 
     private void saveFlashMessages(RequestContext context) {
         StateManageableMessageContext messageContext = (StateManageableMessageContext) context.getMessageContext();
+        if (messageContext.getAllMessages().length == 0) {
+            // restoring an empty memento is the same as restoring none: don't store one
+            return;
+        }
         Serializable messagesMemento = messageContext.createMessagesMemento();
         getFlashScope().put("messagesMemento", messagesMemento);
     }
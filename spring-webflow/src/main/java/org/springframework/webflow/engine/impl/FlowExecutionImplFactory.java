@@ -31,6 +31,8 @@ import org.springframework.webflow.execution.FlowExecutionKey;
 import org.springframework.webflow.execution.FlowExecutionKeyFactory;
 import org.springframework.webflow.execution.factory.FlowExecutionListenerLoader;
 import org.springframework.webflow.execution.factory.StaticFlowExecutionListenerLoader;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
+import org.springframework.webflow.metrics.NoOpFlowExecutionMetrics;
 
 import java.util.Iterator;
 
@@ -49,6 +51,8 @@ public class FlowExecutionImplFactory implements FlowExecutionFactory {
 
     private FlowExecutionKeyFactory executionKeyFactory = new SimpleFlowExecutionKeyFactory();
 
+    private FlowExecutionMetrics metrics = NoOpFlowExecutionMetrics.INSTANCE;
+
     /**
      * Sets the attributes to apply to flow executions created by this factory. Execution attributes may affect flow
      * execution behavior.
@@ -80,6 +84,16 @@ public class FlowExecutionImplFactory implements FlowExecutionFactory {
         this.executionKeyFactory = executionKeyFactory;
     }
 
+    /**
+     * Sets the metrics flow executions created by this factory report to. Defaults to metrics that record nothing.
+     *
+     * @param metrics the flow execution metrics
+     */
+    public void setMetrics(FlowExecutionMetrics metrics) {
+        Assert.notNull(metrics, "The flow execution metrics are required");
+        this.metrics = metrics;
+    }
+
     public FlowExecution createFlowExecution(FlowDefinition flowDefinition) {
         Assert.isInstanceOf(Flow.class, flowDefinition, "FlowDefinition is of the wrong type: ");
         if (logger.isDebugEnabled()) {
@@ -89,6 +103,7 @@ public class FlowExecutionImplFactory implements FlowExecutionFactory {
         execution.setAttributes(executionAttributes);
         execution.setListeners(executionListenerLoader.getListeners(execution.getDefinition()));
         execution.setKeyFactory(executionKeyFactory);
+        execution.setMetrics(metrics);
         return execution;
     }
 
@@ -121,6 +136,7 @@ public class FlowExecutionImplFactory implements FlowExecutionFactory {
         execution.setAttributes(executionAttributes);
         execution.setListeners(executionListenerLoader.getListeners(execution.getDefinition()));
         execution.setKeyFactory(executionKeyFactory);
+        execution.setMetrics(metrics);
         return execution;
     }
 
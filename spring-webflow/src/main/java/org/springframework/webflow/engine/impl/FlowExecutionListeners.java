@@ -15,6 +15,7 @@
  */
 package org.springframework.webflow.engine.impl;
 
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.webflow.core.collection.AttributeMap;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
 import org.springframework.webflow.definition.FlowDefinition;
@@ -27,8 +28,17 @@ import org.springframework.webflow.execution.FlowSession;
 import org.springframework.webflow.execution.RequestContext;
 import org.springframework.webflow.execution.View;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+
 /**
  * A helper that aids in publishing events to an array of <code>FlowExecutionListener</code> objects.
+ * <p>
+ * For each callback, events are only published to the listeners that implement it: listeners inheriting the no-op
+ * default of a callback from {@link FlowExecutionListener} are skipped. The resulting dispatch table is computed once
+ * per sequence of listener classes and shared, so executions with the same kinds of listeners do not repeat that work,
+ * whether or not the listener loader hands out the same listener array each time.
  *
  * @author Keith Donald
  * @author Erwin Vervaet
@@ -37,13 +47,79 @@ import org.springframework.webflow.execution.View;
  */
 class FlowExecutionListeners {
 
-    private FlowExecutionListener[] EMPTY_LISTENER_ARRAY = new FlowExecutionListener[0];
+    private static final int REQUEST_SUBMITTED = 0;
+    private static final int REQUEST_PROCESSED = 1;
+    private static final int SESSION_CREATING = 2;
+    private static final int SESSION_STARTING = 3;
+    private static final int SESSION_STARTED = 4;
+    private static final int EVENT_SIGNALED = 5;
+    private static final int STATE_ENTERING = 6;
+    private static final int STATE_ENTERED = 7;
+    private static final int VIEW_RENDERING = 8;
+    private static final int VIEW_RENDERED = 9;
+    private static final int TRANSITION_EXECUTING = 10;
+    private static final int PAUSED = 11;
+    private static final int RESUMING = 12;
+    private static final int SESSION_ENDING = 13;
+    private static final int SESSION_ENDED = 14;
+    private static final int EXCEPTION_THROWN = 15;
+
+    /**
+     * The listener callback methods, indexed by the callback constants above.
+     */
+    private static final Method[] CALLBACKS = new Method[16];
+
+    static {
+        try {
+            Class<FlowExecutionListener> type = FlowExecutionListener.class;
+            CALLBACKS[REQUEST_SUBMITTED] = type.getMethod("requestSubmitted", RequestContext.class);
+            CALLBACKS[REQUEST_PROCESSED] = type.getMethod("requestProcessed", RequestContext.class);
+            CALLBACKS[SESSION_CREATING] = type.getMethod("sessionCreating", RequestContext.class, FlowDefinition.class);
+            CALLBACKS[SESSION_STARTING] = type.getMethod("sessionStarting", RequestContext.class, FlowSession.class,
+                MutableAttributeMap.class);
+            CALLBACKS[SESSION_STARTED] = type.getMethod("sessionStarted", RequestContext.class, FlowSession.class);
+            CALLBACKS[EVENT_SIGNALED] = type.getMethod("eventSignaled", RequestContext.class, Event.class);
+            CALLBACKS[STATE_ENTERING] = type.getMethod("stateEntering", RequestContext.class, StateDefinition.class);
+            CALLBACKS[STATE_ENTERED] = type.getMethod("stateEntered", RequestContext.class, StateDefinition.class,
+                StateDefinition.class);
+            CALLBACKS[VIEW_RENDERING] = type.getMethod("viewRendering", RequestContext.class, View.class,
+                StateDefinition.class);
+            CALLBACKS[VIEW_RENDERED] = type.getMethod("viewRendered", RequestContext.class, View.class,
+                StateDefinition.class);
+            CALLBACKS[TRANSITION_EXECUTING] = type.getMethod("transitionExecuting", RequestContext.class,
+                TransitionDefinition.class);
+            CALLBACKS[PAUSED] = type.getMethod("paused", RequestContext.class);
+            CALLBACKS[RESUMING] = type.getMethod("resuming", RequestContext.class);
+            CALLBACKS[SESSION_ENDING] = type.getMethod("sessionEnding", RequestContext.class, FlowSession.class,
+                String.class, MutableAttributeMap.class);
+            CALLBACKS[SESSION_ENDED] = type.getMethod("sessionEnded", RequestContext.class, FlowSession.class,
+                String.class, AttributeMap.class);
+            CALLBACKS[EXCEPTION_THROWN] = type.getMethod("exceptionThrown", RequestContext.class,
+                FlowExecutionException.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("FlowExecutionListener callback not found", e);
+        }
+    }
+
+    private static final FlowExecutionListener[] EMPTY_LISTENER_ARRAY = new FlowExecutionListener[0];
+
+    private static final DispatchTable EMPTY_DISPATCH_TABLE = new DispatchTable(new Class<?>[0]);
+
+    /**
+     * Dispatch tables by the classes of the listeners, in order. Softly referenced.
+     */
+    private static final Map<ListenerClasses, DispatchTable> dispatchTables = new ConcurrentReferenceHashMap<>();
 
     /**
      * The list of listeners that should receive event callbacks during managed flow executions.
      */
     private FlowExecutionListener[] listeners;
 
+    /**
+     * The listeners implementing each callback.
+     */
+    private DispatchTable dispatchTable;
+
     /**
      * Create a flow execution listener helper that wraps an empty listener array.
      */
@@ -57,10 +133,13 @@ class FlowExecutionListeners {
      * @param listeners the listener array
      */
     public FlowExecutionListeners(FlowExecutionListener... listeners) {
-        if (listeners != null) {
+        if (listeners != null && listeners.length > 0) {
             this.listeners = listeners;
+            this.dispatchTable = dispatchTables.computeIfAbsent(new ListenerClasses(listeners),
+                key -> new DispatchTable(key.classes));
         } else {
-            this.listeners = EMPTY_LISTENER_ARRAY;
+            this.listeners = listeners != null ? listeners : EMPTY_LISTENER_ARRAY;
+            this.dispatchTable = EMPTY_DISPATCH_TABLE;
         }
     }
 
@@ -86,8 +165,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a request was submitted to the flow execution.
      */
     public void fireRequestSubmitted(RequestContext context) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.requestSubmitted(context);
+        for (int i : dispatchTable.indexes[REQUEST_SUBMITTED]) {
+            listeners[i].requestSubmitted(context);
         }
     }
 
@@ -95,8 +174,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that the flow execution finished processing a request.
      */
     public void fireRequestProcessed(RequestContext context) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.requestProcessed(context);
+        for (int i : dispatchTable.indexes[REQUEST_PROCESSED]) {
+            listeners[i].requestProcessed(context);
         }
     }
 
@@ -104,8 +183,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a flow execution session is starting (about to be created).
      */
     public void fireSessionCreating(RequestContext context, FlowDefinition flow) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.sessionCreating(context, flow);
+        for (int i : dispatchTable.indexes[SESSION_CREATING]) {
+            listeners[i].sessionCreating(context, flow);
         }
     }
 
@@ -114,8 +193,8 @@ class FlowExecutionListeners {
      * to start).
      */
     public void fireSessionStarting(RequestContext context, FlowSession session, MutableAttributeMap<?> input) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.sessionStarting(context, session, input);
+        for (int i : dispatchTable.indexes[SESSION_STARTING]) {
+            listeners[i].sessionStarting(context, session, input);
         }
     }
 
@@ -123,8 +202,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a flow execution session has started (has entered its start state).
      */
     public void fireSessionStarted(RequestContext context, FlowSession session) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.sessionStarted(context, session);
+        for (int i : dispatchTable.indexes[SESSION_STARTED]) {
+            listeners[i].sessionStarted(context, session);
         }
     }
 
@@ -132,8 +211,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that an event was signaled in the flow execution.
      */
     public void fireEventSignaled(RequestContext context, Event event) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.eventSignaled(context, event);
+        for (int i : dispatchTable.indexes[EVENT_SIGNALED]) {
+            listeners[i].eventSignaled(context, event);
         }
     }
 
@@ -141,8 +220,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a state is being entered in the flow execution.
      */
     public void fireStateEntering(RequestContext context, StateDefinition nextState) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.stateEntering(context, nextState);
+        for (int i : dispatchTable.indexes[STATE_ENTERING]) {
+            listeners[i].stateEntering(context, nextState);
         }
     }
 
@@ -150,8 +229,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a state was entered in the flow execution.
      */
     public void fireStateEntered(RequestContext context, StateDefinition previousState) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.stateEntered(context, previousState, context.getCurrentState());
+        for (int i : dispatchTable.indexes[STATE_ENTERED]) {
+            listeners[i].stateEntered(context, previousState, context.getCurrentState());
         }
     }
 
@@ -159,8 +238,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a flow execution view is rendering.
      */
     public void fireViewRendering(RequestContext context, View view) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.viewRendering(context, view, context.getCurrentState());
+        for (int i : dispatchTable.indexes[VIEW_RENDERING]) {
+            listeners[i].viewRendering(context, view, context.getCurrentState());
         }
     }
 
@@ -168,8 +247,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a flow execution has rendered.
      */
     public void fireViewRendered(RequestContext context, View view) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.viewRendered(context, view, context.getCurrentState());
+        for (int i : dispatchTable.indexes[VIEW_RENDERED]) {
+            listeners[i].viewRendered(context, view, context.getCurrentState());
         }
     }
 
@@ -177,8 +256,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a transition is being entered in the flow execution.
      */
     public void fireTransitionExecuting(RequestContext context, TransitionDefinition transition) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.transitionExecuting(context, transition);
+        for (int i : dispatchTable.indexes[TRANSITION_EXECUTING]) {
+            listeners[i].transitionExecuting(context, transition);
         }
     }
 
@@ -186,8 +265,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a flow session was paused in the flow execution.
      */
     public void firePaused(RequestContext context) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.paused(context);
+        for (int i : dispatchTable.indexes[PAUSED]) {
+            listeners[i].paused(context);
         }
     }
 
@@ -195,8 +274,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that the flow execution was resumed.
      */
     public void fireResuming(RequestContext context) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.resuming(context);
+        for (int i : dispatchTable.indexes[RESUMING]) {
+            listeners[i].resuming(context);
         }
     }
 
@@ -205,8 +284,8 @@ class FlowExecutionListeners {
      */
     public void fireSessionEnding(RequestContext context, FlowSession session, String outcomeId,
                                   MutableAttributeMap<?> output) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.sessionEnding(context, session, outcomeId, output);
+        for (int i : dispatchTable.indexes[SESSION_ENDING]) {
+            listeners[i].sessionEnding(context, session, outcomeId, output);
         }
     }
 
@@ -214,8 +293,8 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a flow execution session has ended.
      */
     public void fireSessionEnded(RequestContext context, FlowSession session, String outcomeId, AttributeMap<?> output) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.sessionEnded(context, session, outcomeId, output);
+        for (int i : dispatchTable.indexes[SESSION_ENDED]) {
+            listeners[i].sessionEnded(context, session, outcomeId, output);
         }
     }
 
@@ -223,8 +302,64 @@ class FlowExecutionListeners {
      * Notify all interested listeners that a flow execution threw an exception.
      */
     public void fireExceptionThrown(RequestContext context, FlowExecutionException exception) {
-        for (FlowExecutionListener listener : listeners) {
-            listener.exceptionThrown(context, exception);
+        for (int i : dispatchTable.indexes[EXCEPTION_THROWN]) {
+            listeners[i].exceptionThrown(context, exception);
+        }
+    }
+
+    /**
+     * The classes of a listener array, compared element by element.
+     */
+    private static class ListenerClasses {
+
+        private final Class<?>[] classes;
+
+        private final int hashCode;
+
+        public ListenerClasses(FlowExecutionListener[] listeners) {
+            classes = new Class<?>[listeners.length];
+            for (int i = 0; i < listeners.length; i++) {
+                classes[i] = listeners[i].getClass();
+            }
+            hashCode = Arrays.hashCode(classes);
+        }
+
+        public boolean equals(Object o) {
+            return o instanceof ListenerClasses && Arrays.equals(classes, ((ListenerClasses) o).classes);
+        }
+
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * The indexes of the listeners implementing each callback, indexed by callback.
+     */
+    private static class DispatchTable {
+
+        private final int[][] indexes = new int[CALLBACKS.length][];
+
+        public DispatchTable(Class<?>[] listenerClasses) {
+            for (int i = 0; i < CALLBACKS.length; i++) {
+                int[] implementing = new int[listenerClasses.length];
+                int count = 0;
+                for (int j = 0; j < listenerClasses.length; j++) {
+                    if (implementsCallback(listenerClasses[j], CALLBACKS[i])) {
+                        implementing[count++] = j;
+                    }
+                }
+                indexes[i] = Arrays.copyOf(implementing, count);
+            }
+        }
+
+        private static boolean implementsCallback(Class<?> listenerClass, Method callback) {
+            try {
+                return listenerClass.getMethod(callback.getName(), callback.getParameterTypes())
+                    .getDeclaringClass() != FlowExecutionListener.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
         }
     }
 }
@@ -61,14 +61,14 @@ class RequestControlContextImpl implements RequestControlContext {
     private MessageContext messageContext;
 
     /**
-     * The request scope data map. Never null, initially empty.
+     * The request scope data map. Created on first access, since many requests never use request scope.
      */
-    private LocalAttributeMap<Object> requestScope = new LocalAttributeMap<>();
+    private LocalAttributeMap<Object> requestScope;
 
     /**
-     * Holder for contextual properties describing the currently executing request; never null, initially empty.
+     * Holder for contextual properties describing the currently executing request; created on first access.
      */
-    private LocalAttributeMap<Object> attributes = new LocalAttributeMap<>();
+    private LocalAttributeMap<Object> attributes;
 
     /**
      * The current event being processed by this flow; initially null.
@@ -119,6 +119,9 @@ class RequestControlContextImpl implements RequestControlContext {
     }
 
     public MutableAttributeMap<Object> getRequestScope() {
+        if (requestScope == null) {
+            requestScope = new LocalAttributeMap<>();
+        }
         return requestScope;
     }
 
@@ -181,6 +184,9 @@ class RequestControlContextImpl implements RequestControlContext {
     }
 
     public MutableAttributeMap<Object> getAttributes() {
+        if (attributes == null) {
+            attributes = new LocalAttributeMap<>();
+        }
         return attributes;
     }
 
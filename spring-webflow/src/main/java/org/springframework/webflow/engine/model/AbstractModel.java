@@ -16,7 +16,9 @@
 package org.springframework.webflow.engine.model;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 
 /**
  * Contains basic merge functions that can be utilized by other models.
@@ -25,6 +27,11 @@ import java.util.LinkedList;
  */
 public abstract class AbstractModel implements Model {
 
+    /**
+     * Lists merged with fewer combinations of child and parent elements than this are scanned rather than indexed.
+     */
+    private static final int MERGE_INDEX_THRESHOLD = 64;
+
     /**
      * Merge two objects. If the child is null, the parent will be returned. Else the child will be returned.
      *
@@ -108,12 +115,34 @@ public abstract class AbstractModel implements Model {
             parent = new LinkedList<>(parent);
             Collections.reverse(parent);
         }
-        for (T parentModel : parent) {
-            addOrMerge(child, parentModel, addAtEnd);
+        if (child.size() * parent.size() < MERGE_INDEX_THRESHOLD) {
+            for (T parentModel : parent) {
+                addOrMerge(child, parentModel, addAtEnd);
+            }
+        } else {
+            Map<Object, T> index = createMergeIndex(child);
+            for (T parentModel : parent) {
+                addOrMerge(child, index, parentModel, addAtEnd);
+            }
         }
         return child;
     }
 
+    /**
+     * Returns a key identifying the models this model is mergeable with, used to find mergeable models without
+     * comparing every pair when merging large lists. Two models returning equal keys must be mergeable with each other,
+     * and a model must not be mergeable with one returning a different non-null key. Keys therefore include the type
+     * checked by {@link #isMergeableWith(Model)}, for example <code>Arrays.asList(VarModel.class, getName())</code>.
+     * Subclasses overriding <code>isMergeableWith</code> should override this method accordingly.
+     * <p>
+     * Returns null by default, in which case mergeable models are found with <code>isMergeableWith</code>.
+     *
+     * @return the merge key, or null if this model has none
+     */
+    protected Object getMergeKey() {
+        return null;
+    }
+
     protected Model copy(Model model) {
         if (model == null) {
             return null;
@@ -133,6 +162,45 @@ public abstract class AbstractModel implements Model {
         return copy;
     }
 
+    private <T extends Model> Map<Object, T> createMergeIndex(LinkedList<T> list) {
+        Map<Object, T> index = new HashMap<>();
+        for (T model : list) {
+            Object key = getMergeKey(model);
+            if (key != null) {
+                // the first mergeable model in the list wins, as when scanning
+                index.putIfAbsent(key, model);
+            }
+        }
+        return index;
+    }
+
+    private <T extends Model> void addOrMerge(LinkedList<T> list, Map<Object, T> index, T modelToMerge,
+                                              boolean addAtEnd) {
+        Object key = getMergeKey(modelToMerge);
+        if (key == null) {
+            addOrMerge(list, modelToMerge, addAtEnd);
+            return;
+        }
+        T model = index.get(key);
+        if (model != null && model.isMergeableWith(modelToMerge)) {
+            model.merge(modelToMerge);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        T copy = (T) modelToMerge.createCopy();
+        if (addAtEnd) {
+            list.addLast(copy);
+            index.putIfAbsent(key, copy);
+        } else {
+            list.addFirst(copy);
+            index.put(key, copy);
+        }
+    }
+
+    private static Object getMergeKey(Model model) {
+        return model instanceof AbstractModel ? ((AbstractModel) model).getMergeKey() : null;
+    }
+
     private <T extends Model> void addOrMerge(LinkedList<T> list, T modelToMerge, boolean addAtEnd) {
         for (T model : list) {
             if (model.isMergeableWith(modelToMerge)) {
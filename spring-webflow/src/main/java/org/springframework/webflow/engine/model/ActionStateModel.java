@@ -17,6 +17,7 @@ package org.springframework.webflow.engine.model;
 
 import org.springframework.util.ObjectUtils;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
@@ -45,6 +46,10 @@ public class ActionStateModel extends AbstractTransitionableStateModel {
         return ObjectUtils.nullSafeEquals(getId(), state.getId());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(ActionStateModel.class, getId());
+    }
+
     public void merge(Model model) {
         ActionStateModel state = (ActionStateModel) model;
         setParent(null);
@@ -18,6 +18,8 @@ package org.springframework.webflow.engine.model;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
+
 /**
  * Model support for attributes.
  * <p>
@@ -52,6 +54,10 @@ public class AttributeModel extends AbstractModel {
         return ObjectUtils.nullSafeEquals(getName(), attribute.getName());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(AttributeModel.class, getName());
+    }
+
     public void merge(Model model) {
         AttributeModel attribute = (AttributeModel) model;
         setValue(merge(getValue(), attribute.getValue()));
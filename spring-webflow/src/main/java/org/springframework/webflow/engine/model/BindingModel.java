@@ -18,6 +18,8 @@ package org.springframework.webflow.engine.model;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
+
 /**
  * Model support for binding elements.
  *
@@ -52,6 +54,10 @@ public class BindingModel extends AbstractModel {
         return ObjectUtils.nullSafeEquals(getProperty(), binding.getProperty());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(BindingModel.class, getProperty());
+    }
+
     public void merge(Model model) {
         BindingModel binding = (BindingModel) model;
         setConverter(merge(getConverter(), binding.getConverter()));
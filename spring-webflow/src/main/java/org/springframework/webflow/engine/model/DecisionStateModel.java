@@ -17,6 +17,7 @@ package org.springframework.webflow.engine.model;
 
 import org.springframework.util.ObjectUtils;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
@@ -47,6 +48,10 @@ public class DecisionStateModel extends AbstractStateModel {
         return ObjectUtils.nullSafeEquals(getId(), state.getId());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(DecisionStateModel.class, getId());
+    }
+
     public void merge(Model model) {
         DecisionStateModel state = (DecisionStateModel) model;
         setParent(null);
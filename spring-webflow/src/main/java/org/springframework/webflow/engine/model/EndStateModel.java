@@ -18,6 +18,7 @@ package org.springframework.webflow.engine.model;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
@@ -50,6 +51,10 @@ public class EndStateModel extends AbstractStateModel {
         return ObjectUtils.nullSafeEquals(getId(), state.getId());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(EndStateModel.class, getId());
+    }
+
     public void merge(Model model) {
         EndStateModel state = (EndStateModel) model;
         setParent(null);
@@ -18,6 +18,8 @@ package org.springframework.webflow.engine.model;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
+
 /**
  * Model support for if elements.
  * <p>
@@ -54,6 +56,10 @@ public class IfModel extends AbstractModel {
         return ObjectUtils.nullSafeEquals(getTest(), conditional.getTest());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(IfModel.class, getTest());
+    }
+
     public void merge(Model model) {
         IfModel conditional = (IfModel) model;
         setThen(merge(getThen(), conditional.getThen()));
@@ -17,6 +17,8 @@ package org.springframework.webflow.engine.model;
 
 import org.springframework.util.ObjectUtils;
 
+import java.util.Arrays;
+
 /**
  * Model support for input mappings.
  * <p>
@@ -45,6 +47,10 @@ public class InputModel extends AbstractMappingModel {
         return ObjectUtils.nullSafeEquals(getName(), input.getName());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(InputModel.class, getName());
+    }
+
     public void merge(Model model) {
         InputModel input = (InputModel) model;
         setValue(merge(getValue(), input.getValue()));
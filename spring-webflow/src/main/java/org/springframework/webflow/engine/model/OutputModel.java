@@ -17,6 +17,8 @@ package org.springframework.webflow.engine.model;
 
 import org.springframework.util.ObjectUtils;
 
+import java.util.Arrays;
+
 /**
  * Model support for output mappings.
  * <p>
@@ -45,6 +47,10 @@ public class OutputModel extends AbstractMappingModel {
         return ObjectUtils.nullSafeEquals(getName(), output.getName());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(OutputModel.class, getName());
+    }
+
     public void merge(Model model) {
         OutputModel output = (OutputModel) model;
         setValue(merge(getValue(), output.getValue()));
@@ -18,6 +18,7 @@ package org.springframework.webflow.engine.model;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
@@ -54,6 +55,10 @@ public class SubflowStateModel extends AbstractTransitionableStateModel {
         return ObjectUtils.nullSafeEquals(getId(), state.getId());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(SubflowStateModel.class, getId());
+    }
+
     public void merge(Model model) {
         SubflowStateModel state = (SubflowStateModel) model;
         setParent(null);
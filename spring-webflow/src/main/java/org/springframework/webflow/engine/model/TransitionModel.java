@@ -18,6 +18,7 @@ package org.springframework.webflow.engine.model;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
@@ -66,6 +67,10 @@ public class TransitionModel extends AbstractModel {
                && ObjectUtils.nullSafeEquals(getOnException(), transition.getOnException());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(TransitionModel.class, getOn(), getOnException());
+    }
+
     public void merge(Model model) {
         TransitionModel transition = (TransitionModel) model;
         setOnException(merge(getOnException(), transition.getOnException()));
@@ -18,6 +18,8 @@ package org.springframework.webflow.engine.model;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
+
 /**
  * Model support for var elements.
  * <p>
@@ -51,6 +53,10 @@ public class VarModel extends AbstractModel {
         return ObjectUtils.nullSafeEquals(getName(), var.getName());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(VarModel.class, getName());
+    }
+
     public void merge(Model model) {
         VarModel var = (VarModel) model;
         setClassName(merge(getClassName(), var.getClassName()));
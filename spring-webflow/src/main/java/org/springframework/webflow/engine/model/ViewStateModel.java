@@ -18,6 +18,7 @@ package org.springframework.webflow.engine.model;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 /**
@@ -60,6 +61,10 @@ public class ViewStateModel extends AbstractTransitionableStateModel {
         return ObjectUtils.nullSafeEquals(getId(), state.getId());
     }
 
+    protected Object getMergeKey() {
+        return Arrays.asList(ViewStateModel.class, getId());
+    }
+
     public void merge(Model model) {
         ViewStateModel state = (ViewStateModel) model;
         setParent(null);
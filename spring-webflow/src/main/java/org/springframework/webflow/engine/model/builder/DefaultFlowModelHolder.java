@@ -21,6 +21,8 @@ import org.springframework.util.Assert;
 import org.springframework.webflow.engine.model.FlowModel;
 import org.springframework.webflow.engine.model.registry.FlowModelHolder;
 
+import java.util.List;
+
 /**
  * A flow model holder that can detect changes on an underlying flow model resource and refresh that resource
  * automatically.
@@ -75,6 +77,10 @@ public class DefaultFlowModelHolder implements FlowModelHolder {
         return flowModelBuilder.hasFlowModelResourceChanged();
     }
 
+    public List<FlowModelHolder> getParentFlowModelHolders() {
+        return flowModelBuilder.getParentFlowModelHolders();
+    }
+
     public synchronized void refresh() {
         assembleFlowModel();
     }
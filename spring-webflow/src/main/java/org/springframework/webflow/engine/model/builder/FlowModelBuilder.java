@@ -17,6 +17,10 @@ package org.springframework.webflow.engine.model.builder;
 
 import org.springframework.core.io.Resource;
 import org.springframework.webflow.engine.model.FlowModel;
+import org.springframework.webflow.engine.model.registry.FlowModelHolder;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Builder interface used to build a flow model. The process of building a flow model consists of the following steps:
@@ -88,4 +92,14 @@ public interface FlowModelBuilder {
      */
     boolean hasFlowModelResourceChanged();
 
+    /**
+     * Returns the holders of the flow models the last built flow model directly inherits from. Returns an empty list by
+     * default.
+     *
+     * @return the parent flow model holders
+     */
+    default List<FlowModelHolder> getParentFlowModelHolders() {
+        return Collections.emptyList();
+    }
+
 }
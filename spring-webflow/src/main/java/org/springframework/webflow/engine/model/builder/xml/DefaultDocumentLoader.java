@@ -21,13 +21,21 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.xml.SimpleSaxErrorHandler;
 import org.w3c.dom.Document;
 import org.xml.sax.EntityResolver;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
+import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.sax.SAXSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 /**
  * The default document loader strategy for XSD-based XML documents with validation enabled by default.
@@ -35,6 +43,10 @@ import java.io.InputStream;
  * Note: full XSD support requires JDK 5.0 or a capable parser such as Xerces 2.0. JDK 1.4 or less do not fully support XSD
  * out of the box. To use this implementation on JDK 1.4 make sure Xerces is available in your classpath or disable XSD
  * validation by {@link #setValidating(boolean) setting the validating property to false}.
+ * <p>
+ * With the default entity resolver, documents are validated against the spring-webflow schema, which is compiled once
+ * and shared by all loaders. Document builders are reused across documents, so this loader should be configured before
+ * it is first used.
  *
  * @author Keith Donald
  */
@@ -52,6 +64,22 @@ public class DefaultDocumentLoader implements DocumentLoader {
      */
     private static final String XSD_SCHEMA_LANGUAGE = "http://www.w3.org/2001/XMLSchema";
 
+    /**
+     * The system id the spring-webflow schema is resolved from.
+     */
+    private static final String WEBFLOW_SCHEMA_LOCATION =
+        "https://www.springframework.org/schema/webflow/spring-webflow.xsd";
+
+    /**
+     * The maximum number of idle document builders kept for reuse.
+     */
+    private static final int MAX_IDLE_DOCUMENT_BUILDERS = 8;
+
+    /**
+     * The compiled spring-webflow schema, initially null. Compiled schemas are immutable and thread-safe.
+     */
+    private static volatile Schema webFlowSchema;
+
     /**
      * Flag indicating if the XML document parser will perform schema validation.
      */
@@ -62,6 +90,13 @@ public class DefaultDocumentLoader implements DocumentLoader {
      */
     private EntityResolver entityResolver = new WebFlowEntityResolver();
 
+    private final ErrorHandler errorHandler = new SimpleSaxErrorHandler(logger);
+
+    private DocumentBuilderFactory documentBuilderFactory;
+
+    private final BlockingQueue<DocumentBuilder> documentBuilders = new ArrayBlockingQueue<>(
+        MAX_IDLE_DOCUMENT_BUILDERS);
+
     /**
      * Returns whether or not the XML parser will validate the document.
      *
@@ -77,8 +112,9 @@ public class DefaultDocumentLoader implements DocumentLoader {
      * @param validating
      * @param validating
      */
-    public void setValidating(boolean validating) {
+    public synchronized void setValidating(boolean validating) {
         this.validating = validating;
+        resetDocumentBuilders();
     }
 
     /**
@@ -97,27 +133,76 @@ public class DefaultDocumentLoader implements DocumentLoader {
      * @param entityResolver
      * @param entityResolver
      */
-    public void setEntityResolver(EntityResolver entityResolver) {
+    public synchronized void setEntityResolver(EntityResolver entityResolver) {
         this.entityResolver = entityResolver;
+        resetDocumentBuilders();
     }
 
     public Document loadDocument(Resource resource) throws IOException, ParserConfigurationException, SAXException {
         try (InputStream is = resource.getInputStream()) {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setValidating(isValidating());
-            factory.setNamespaceAware(true);
+            DocumentBuilder docBuilder = documentBuilders.poll();
+            if (docBuilder == null) {
+                docBuilder = createDocumentBuilder();
+            }
             try {
-                factory.setAttribute(SCHEMA_LANGUAGE_ATTRIBUTE, XSD_SCHEMA_LANGUAGE);
-            } catch (IllegalArgumentException ex) {
-                throw new IllegalStateException("Unable to validate using XSD: Your JAXP provider [" + factory
-                                                + "] does not support XML Schema. "
-                                                + "Are you running on Java 1.4 or below with Apache Crimson? "
-                                                + "If so you must upgrade to Apache Xerces (or Java 5 or >) for full XSD support.");
+                docBuilder.setErrorHandler(errorHandler);
+                docBuilder.setEntityResolver(getEntityResolver());
+                return docBuilder.parse(is);
+            } finally {
+                docBuilder.reset();
+                documentBuilders.offer(docBuilder);
+            }
+        }
+    }
+
+    // internal helpers
+
+    private synchronized DocumentBuilder createDocumentBuilder() throws ParserConfigurationException, SAXException {
+        if (documentBuilderFactory == null) {
+            documentBuilderFactory = createDocumentBuilderFactory();
+        }
+        return documentBuilderFactory.newDocumentBuilder();
+    }
+
+    private DocumentBuilderFactory createDocumentBuilderFactory() throws SAXException {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        if (!isValidating()) {
+            return factory;
+        }
+        if (entityResolver != null && entityResolver.getClass() == WebFlowEntityResolver.class) {
+            // a subclass may resolve other schemas as well
+            factory.setSchema(getWebFlowSchema());
+            return factory;
+        }
+        // a custom entity resolver may resolve other schemas, so validate against the schemas the document declares
+        factory.setValidating(true);
+        try {
+            factory.setAttribute(SCHEMA_LANGUAGE_ATTRIBUTE, XSD_SCHEMA_LANGUAGE);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Unable to validate using XSD: Your JAXP provider [" + factory
+                                            + "] does not support XML Schema. "
+                                            + "Are you running on Java 1.4 or below with Apache Crimson? "
+                                            + "If so you must upgrade to Apache Xerces (or Java 5 or >) for full XSD support.");
+        }
+        return factory;
+    }
+
+    private void resetDocumentBuilders() {
+        documentBuilderFactory = null;
+        documentBuilders.clear();
+    }
+
+    static Schema getWebFlowSchema() throws SAXException {
+        Schema schema = webFlowSchema;
+        if (schema == null) {
+            InputSource source = new WebFlowEntityResolver().resolveEntity(null, WEBFLOW_SCHEMA_LOCATION);
+            if (source == null) {
+                throw new IllegalStateException("Unable to load the spring-webflow schema from the classpath");
             }
-            DocumentBuilder docBuilder = factory.newDocumentBuilder();
-            docBuilder.setErrorHandler(new SimpleSaxErrorHandler(logger));
-            docBuilder.setEntityResolver(getEntityResolver());
-            return docBuilder.parse(is);
+            schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(new SAXSource(source));
+            webFlowSchema = schema;
         }
+        return schema;
     }
 }
@@ -0,0 +1,706 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.model.builder.xml;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.xml.SimpleSaxErrorHandler;
+import org.springframework.webflow.engine.model.AbstractActionModel;
+import org.springframework.webflow.engine.model.AbstractStateModel;
+import org.springframework.webflow.engine.model.ActionStateModel;
+import org.springframework.webflow.engine.model.AttributeModel;
+import org.springframework.webflow.engine.model.BeanImportModel;
+import org.springframework.webflow.engine.model.BinderModel;
+import org.springframework.webflow.engine.model.BindingModel;
+import org.springframework.webflow.engine.model.DecisionStateModel;
+import org.springframework.webflow.engine.model.EndStateModel;
+import org.springframework.webflow.engine.model.EvaluateModel;
+import org.springframework.webflow.engine.model.ExceptionHandlerModel;
+import org.springframework.webflow.engine.model.FlowModel;
+import org.springframework.webflow.engine.model.IfModel;
+import org.springframework.webflow.engine.model.InputModel;
+import org.springframework.webflow.engine.model.OutputModel;
+import org.springframework.webflow.engine.model.PersistenceContextModel;
+import org.springframework.webflow.engine.model.RenderModel;
+import org.springframework.webflow.engine.model.SecuredModel;
+import org.springframework.webflow.engine.model.SetModel;
+import org.springframework.webflow.engine.model.SubflowStateModel;
+import org.springframework.webflow.engine.model.TransitionModel;
+import org.springframework.webflow.engine.model.VarModel;
+import org.springframework.webflow.engine.model.ViewStateModel;
+import org.springframework.webflow.engine.model.builder.FlowModelBuilderException;
+import org.springframework.webflow.engine.model.registry.FlowModelLocator;
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Builds a flow model from a XML-based flow definition resource by reading it as a StAX stream, without loading a DOM
+ * document first. The flow models built are the same as those built by {@link XmlFlowModelBuilder}, including flow and
+ * state inheritance, but much less memory is needed to build them from large flow definitions.
+ * <p>
+ * By default, the flow definition is validated against the spring-webflow schema in a separate streaming pass before
+ * it is read. The resource is therefore opened twice; the content of {@link Resource#isOpen() open} resources, whose
+ * stream can only be read once, is buffered in memory first. The configured
+ * {@link #setDocumentLoader(DocumentLoader) document loader} is not used.
+ */
+public class StaxXmlFlowModelBuilder extends XmlFlowModelBuilder {
+
+    private static final Log logger = LogFactory.getLog(StaxXmlFlowModelBuilder.class);
+
+    private static final int MAX_IDLE_VALIDATORS = 8;
+
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    private static final BlockingQueue<Validator> idleValidators = new ArrayBlockingQueue<>(MAX_IDLE_VALIDATORS);
+
+    private static final ErrorHandler errorHandler = new SimpleSaxErrorHandler(logger);
+
+    private boolean validating = true;
+
+    private FlowModel parsedFlowModel;
+
+    /**
+     * Create a new StAX flow model builder that will read the XML document at the specified resource location.
+     *
+     * @param resource the path to the XML flow definition (required)
+     */
+    public StaxXmlFlowModelBuilder(Resource resource) {
+        super(resource);
+    }
+
+    /**
+     * Create a new StAX flow model builder that will read the XML document at the specified resource location and use
+     * the provided locator to access parent flow models.
+     *
+     * @param resource     the path to the XML flow definition (required)
+     * @param modelLocator a locator for parent flow models to support flow inheritance
+     */
+    public StaxXmlFlowModelBuilder(Resource resource, FlowModelLocator modelLocator) {
+        super(resource, modelLocator);
+    }
+
+    /**
+     * Returns whether or not the flow definition is validated against the spring-webflow schema.
+     */
+    public boolean isValidating() {
+        return validating;
+    }
+
+    /**
+     * Set if the flow definition should be validated against the spring-webflow schema. Defaults to true.
+     *
+     * @param validating whether to validate the flow definition
+     */
+    public void setValidating(boolean validating) {
+        this.validating = validating;
+    }
+
+    public void dispose() throws FlowModelBuilderException {
+        super.dispose();
+        parsedFlowModel = null;
+    }
+
+    protected void loadFlowDefinition(Resource resource) throws IOException, SAXException {
+        if (validating) {
+            if (resource.isOpen()) {
+                resource = buffer(resource);
+            }
+            validate(resource);
+        }
+        try (InputStream is = resource.getInputStream()) {
+            XMLStreamReader reader = createReader(is);
+            try {
+                while (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    // skip the prolog
+                }
+                parsedFlowModel = parseFlow(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new FlowModelBuilderException("Could not parse the XML flow definition document at " + resource, e);
+        }
+    }
+
+    protected FlowModel createFlowModel() {
+        return parsedFlowModel;
+    }
+
+    // internal helpers
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static XMLStreamReader createReader(InputStream is) throws XMLStreamException {
+        // input factories are not guaranteed to be thread-safe
+        synchronized (inputFactory) {
+            return inputFactory.createXMLStreamReader(is);
+        }
+    }
+
+    private static Resource buffer(Resource resource) throws IOException {
+        try (InputStream is = resource.getInputStream()) {
+            return new ByteArrayResource(StreamUtils.copyToByteArray(is), resource.getDescription());
+        }
+    }
+
+    private void validate(Resource resource) throws IOException, SAXException {
+        // validators are not thread-safe but expensive to create, so idle ones are kept for reuse
+        Validator validator = idleValidators.poll();
+        if (validator == null) {
+            validator = DefaultDocumentLoader.getWebFlowSchema().newValidator();
+            validator.setErrorHandler(errorHandler);
+        }
+        try (InputStream is = resource.getInputStream()) {
+            validator.validate(new StreamSource(is));
+        } finally {
+            validator.reset();
+            validator.setErrorHandler(errorHandler);
+            idleValidators.offer(validator);
+        }
+    }
+
+    /**
+     * Moves the reader to the start of the next child element of the current element and returns true, or to the end
+     * of the current element and returns false if there are no more child elements.
+     */
+    private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the reader from the start to the end of the current element, skipping its content.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Returns the text directly contained by the current element, moving the reader to its end.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                || event == XMLStreamConstants.SPACE) {
+                text.append(reader.getText());
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                skipElement(reader);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return text.toString();
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the given attribute of the current element, or an empty string if it is not set, as
+     * {@link org.w3c.dom.Element#getAttribute(String)} does.
+     */
+    private static String getAttribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return value != null ? value : "";
+    }
+
+    private static <T> LinkedList<T> add(LinkedList<T> list, T model) {
+        if (list == null) {
+            list = new LinkedList<>();
+        }
+        list.add(model);
+        return list;
+    }
+
+    private FlowModel parseFlow(XMLStreamReader reader) throws XMLStreamException {
+        FlowModel flow = new FlowModel();
+        flow.setAbstract(getAttribute(reader, "abstract"));
+        flow.setParent(getAttribute(reader, "parent"));
+        flow.setStartStateId(getAttribute(reader, "start-state"));
+        boolean onStart = false;
+        boolean globalTransitions = false;
+        boolean onEnd = false;
+        while (nextChildElement(reader)) {
+            switch (reader.getLocalName()) {
+                case "attribute":
+                    flow.setAttributes(add(flow.getAttributes(), parseAttribute(reader)));
+                    break;
+                case "secured":
+                    if (flow.getSecured() == null) {
+                        flow.setSecured(parseSecured(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "persistence-context":
+                    if (flow.getPersistenceContext() == null) {
+                        flow.setPersistenceContext(new PersistenceContextModel());
+                    }
+                    skipElement(reader);
+                    break;
+                case "var":
+                    flow.setVars(add(flow.getVars(), parseVar(reader)));
+                    break;
+                case "input":
+                    flow.setInputs(add(flow.getInputs(), parseInput(reader)));
+                    break;
+                case "on-start":
+                    if (!onStart) {
+                        onStart = true;
+                        flow.setOnStartActions(parseActions(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "view-state":
+                case "action-state":
+                case "decision-state":
+                case "subflow-state":
+                case "end-state":
+                    flow.setStates(add(flow.getStates(), parseState(reader)));
+                    break;
+                case "global-transitions":
+                    if (!globalTransitions) {
+                        globalTransitions = true;
+                        flow.setGlobalTransitions(parseTransitions(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "on-end":
+                    if (!onEnd) {
+                        onEnd = true;
+                        flow.setOnEndActions(parseActions(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "output":
+                    flow.setOutputs(add(flow.getOutputs(), parseOutput(reader)));
+                    break;
+                case "exception-handler":
+                    flow.setExceptionHandlers(add(flow.getExceptionHandlers(), parseExceptionHandler(reader)));
+                    break;
+                case "bean-import":
+                    flow.setBeanImports(add(flow.getBeanImports(), parseBeanImport(reader)));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return flow;
+    }
+
+    private AbstractStateModel parseState(XMLStreamReader reader) throws XMLStreamException {
+        switch (reader.getLocalName()) {
+            case "view-state":
+                return parseViewState(reader);
+            case "action-state":
+                return parseActionState(reader);
+            case "decision-state":
+                return parseDecisionState(reader);
+            case "subflow-state":
+                return parseSubflowState(reader);
+            case "end-state":
+                return parseEndState(reader);
+            default:
+                throw new FlowModelBuilderException("Unknown state element encountered '" + reader.getLocalName()
+                                                    + "'");
+        }
+    }
+
+    private ActionStateModel parseActionState(XMLStreamReader reader) throws XMLStreamException {
+        ActionStateModel state = new ActionStateModel(getAttribute(reader, "id"));
+        state.setParent(getAttribute(reader, "parent"));
+        StateContent content = new StateContent();
+        while (nextChildElement(reader)) {
+            switch (reader.getLocalName()) {
+                case "transition":
+                    state.setTransitions(add(state.getTransitions(), parseTransition(reader)));
+                    break;
+                case "evaluate":
+                case "render":
+                case "set":
+                    state.setActions(add(state.getActions(), parseAction(reader)));
+                    break;
+                default:
+                    parseStateContent(reader, state, content);
+            }
+        }
+        return state;
+    }
+
+    private ViewStateModel parseViewState(XMLStreamReader reader) throws XMLStreamException {
+        ViewStateModel state = new ViewStateModel(getAttribute(reader, "id"));
+        state.setParent(getAttribute(reader, "parent"));
+        state.setView(getAttribute(reader, "view"));
+        state.setRedirect(getAttribute(reader, "redirect"));
+        state.setPopup(getAttribute(reader, "popup"));
+        state.setModel(getAttribute(reader, "model"));
+        state.setValidationHints(getAttribute(reader, "validation-hints"));
+        StateContent content = new StateContent();
+        boolean onRender = false;
+        while (nextChildElement(reader)) {
+            switch (reader.getLocalName()) {
+                case "var":
+                    state.setVars(add(state.getVars(), parseVar(reader)));
+                    break;
+                case "binder":
+                    if (state.getBinder() == null) {
+                        state.setBinder(parseBinder(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "on-render":
+                    if (!onRender) {
+                        onRender = true;
+                        state.setOnRenderActions(parseActions(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "transition":
+                    state.setTransitions(add(state.getTransitions(), parseTransition(reader)));
+                    break;
+                default:
+                    parseStateContent(reader, state, content);
+            }
+        }
+        return state;
+    }
+
+    private DecisionStateModel parseDecisionState(XMLStreamReader reader) throws XMLStreamException {
+        DecisionStateModel state = new DecisionStateModel(getAttribute(reader, "id"));
+        state.setParent(getAttribute(reader, "parent"));
+        StateContent content = new StateContent();
+        while (nextChildElement(reader)) {
+            if ("if".equals(reader.getLocalName())) {
+                state.setIfs(add(state.getIfs(), parseIf(reader)));
+            } else {
+                parseStateContent(reader, state, content);
+            }
+        }
+        return state;
+    }
+
+    private SubflowStateModel parseSubflowState(XMLStreamReader reader) throws XMLStreamException {
+        SubflowStateModel state = new SubflowStateModel(getAttribute(reader, "id"), getAttribute(reader, "subflow"));
+        state.setParent(getAttribute(reader, "parent"));
+        state.setSubflowAttributeMapper(getAttribute(reader, "subflow-attribute-mapper"));
+        StateContent content = new StateContent();
+        while (nextChildElement(reader)) {
+            switch (reader.getLocalName()) {
+                case "input":
+                    state.setInputs(add(state.getInputs(), parseInput(reader)));
+                    break;
+                case "output":
+                    state.setOutputs(add(state.getOutputs(), parseOutput(reader)));
+                    break;
+                case "transition":
+                    state.setTransitions(add(state.getTransitions(), parseTransition(reader)));
+                    break;
+                default:
+                    parseStateContent(reader, state, content);
+            }
+        }
+        return state;
+    }
+
+    private EndStateModel parseEndState(XMLStreamReader reader) throws XMLStreamException {
+        EndStateModel state = new EndStateModel(getAttribute(reader, "id"));
+        state.setParent(getAttribute(reader, "parent"));
+        state.setView(getAttribute(reader, "view"));
+        state.setCommit(getAttribute(reader, "commit"));
+        StateContent content = new StateContent();
+        while (nextChildElement(reader)) {
+            if ("output".equals(reader.getLocalName())) {
+                state.setOutputs(add(state.getOutputs(), parseOutput(reader)));
+            } else {
+                parseStateContent(reader, state, content);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Parses the current child element of a state if it is one of the elements common to all states, and skips it
+     * otherwise. Only the exit actions of transitionable and decision states are read.
+     */
+    private void parseStateContent(XMLStreamReader reader, AbstractStateModel state, StateContent content)
+        throws XMLStreamException {
+        switch (reader.getLocalName()) {
+            case "attribute":
+                state.setAttributes(add(state.getAttributes(), parseAttribute(reader)));
+                break;
+            case "secured":
+                if (state.getSecured() == null) {
+                    state.setSecured(parseSecured(reader));
+                } else {
+                    skipElement(reader);
+                }
+                break;
+            case "on-entry":
+                if (!content.onEntry) {
+                    content.onEntry = true;
+                    state.setOnEntryActions(parseActions(reader));
+                } else {
+                    skipElement(reader);
+                }
+                break;
+            case "on-exit":
+                if (!content.onExit && !(state instanceof EndStateModel)) {
+                    content.onExit = true;
+                    setOnExitActions(state, parseActions(reader));
+                } else {
+                    skipElement(reader);
+                }
+                break;
+            case "exception-handler":
+                state.setExceptionHandlers(add(state.getExceptionHandlers(), parseExceptionHandler(reader)));
+                break;
+            default:
+                skipElement(reader);
+        }
+    }
+
+    private void setOnExitActions(AbstractStateModel state, LinkedList<AbstractActionModel> actions) {
+        if (state instanceof DecisionStateModel) {
+            ((DecisionStateModel) state).setOnExitActions(actions);
+        } else if (state instanceof ActionStateModel) {
+            ((ActionStateModel) state).setOnExitActions(actions);
+        } else if (state instanceof ViewStateModel) {
+            ((ViewStateModel) state).setOnExitActions(actions);
+        } else if (state instanceof SubflowStateModel) {
+            ((SubflowStateModel) state).setOnExitActions(actions);
+        }
+    }
+
+    private LinkedList<TransitionModel> parseTransitions(XMLStreamReader reader) throws XMLStreamException {
+        LinkedList<TransitionModel> transitions = null;
+        while (nextChildElement(reader)) {
+            if ("transition".equals(reader.getLocalName())) {
+                transitions = add(transitions, parseTransition(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return transitions;
+    }
+
+    private TransitionModel parseTransition(XMLStreamReader reader) throws XMLStreamException {
+        TransitionModel transition = new TransitionModel();
+        transition.setOn(getAttribute(reader, "on"));
+        transition.setTo(getAttribute(reader, "to"));
+        transition.setOnException(getAttribute(reader, "on-exception"));
+        transition.setBind(getAttribute(reader, "bind"));
+        transition.setValidate(getAttribute(reader, "validate"));
+        transition.setValidationHints(getAttribute(reader, "validation-hints"));
+        transition.setHistory(getAttribute(reader, "history"));
+        while (nextChildElement(reader)) {
+            switch (reader.getLocalName()) {
+                case "attribute":
+                    transition.setAttributes(add(transition.getAttributes(), parseAttribute(reader)));
+                    break;
+                case "secured":
+                    if (transition.getSecured() == null) {
+                        transition.setSecured(parseSecured(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                    break;
+                case "evaluate":
+                case "render":
+                case "set":
+                    transition.setActions(add(transition.getActions(), parseAction(reader)));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return transition;
+    }
+
+    /**
+     * Parses the actions contained by the current element, such as an <code>on-start</code> element.
+     */
+    private LinkedList<AbstractActionModel> parseActions(XMLStreamReader reader) throws XMLStreamException {
+        LinkedList<AbstractActionModel> actions = null;
+        while (nextChildElement(reader)) {
+            switch (reader.getLocalName()) {
+                case "evaluate":
+                case "render":
+                case "set":
+                    actions = add(actions, parseAction(reader));
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        return actions;
+    }
+
+    private AbstractActionModel parseAction(XMLStreamReader reader) throws XMLStreamException {
+        AbstractActionModel action;
+        switch (reader.getLocalName()) {
+            case "evaluate":
+                EvaluateModel evaluate = new EvaluateModel(getAttribute(reader, "expression"));
+                evaluate.setResult(getAttribute(reader, "result"));
+                evaluate.setResultType(getAttribute(reader, "result-type"));
+                action = evaluate;
+                break;
+            case "render":
+                action = new RenderModel(getAttribute(reader, "fragments"));
+                break;
+            case "set":
+                SetModel set = new SetModel(getAttribute(reader, "name"), getAttribute(reader, "value"));
+                set.setType(getAttribute(reader, "type"));
+                action = set;
+                break;
+            default:
+                throw new FlowModelBuilderException("Unknown action element encountered '" + reader.getLocalName()
+                                                    + "'");
+        }
+        while (nextChildElement(reader)) {
+            if ("attribute".equals(reader.getLocalName())) {
+                action.setAttributes(add(action.getAttributes(), parseAttribute(reader)));
+            } else {
+                skipElement(reader);
+            }
+        }
+        return action;
+    }
+
+    private AttributeModel parseAttribute(XMLStreamReader reader) throws XMLStreamException {
+        String name = getAttribute(reader, "name");
+        String type = getAttribute(reader, "type");
+        String value = reader.getAttributeValue(null, "value");
+        while (nextChildElement(reader)) {
+            if (value == null && "value".equals(reader.getLocalName())) {
+                value = readText(reader);
+            } else {
+                skipElement(reader);
+            }
+        }
+        AttributeModel attribute = new AttributeModel(name, value);
+        attribute.setType(type);
+        return attribute;
+    }
+
+    private SecuredModel parseSecured(XMLStreamReader reader) throws XMLStreamException {
+        SecuredModel secured = new SecuredModel(getAttribute(reader, "attributes"));
+        secured.setMatch(getAttribute(reader, "match"));
+        skipElement(reader);
+        return secured;
+    }
+
+    private BinderModel parseBinder(XMLStreamReader reader) throws XMLStreamException {
+        BinderModel binder = new BinderModel();
+        while (nextChildElement(reader)) {
+            if ("binding".equals(reader.getLocalName())) {
+                binder.setBindings(add(binder.getBindings(), new BindingModel(getAttribute(reader, "property"),
+                    getAttribute(reader, "converter"), getAttribute(reader, "required"))));
+            }
+            skipElement(reader);
+        }
+        return binder;
+    }
+
+    private VarModel parseVar(XMLStreamReader reader) throws XMLStreamException {
+        VarModel var = new VarModel(getAttribute(reader, "name"), getAttribute(reader, "class"));
+        skipElement(reader);
+        return var;
+    }
+
+    private InputModel parseInput(XMLStreamReader reader) throws XMLStreamException {
+        InputModel input = new InputModel(getAttribute(reader, "name"), getAttribute(reader, "value"));
+        input.setType(getAttribute(reader, "type"));
+        input.setRequired(getAttribute(reader, "required"));
+        skipElement(reader);
+        return input;
+    }
+
+    private OutputModel parseOutput(XMLStreamReader reader) throws XMLStreamException {
+        OutputModel output = new OutputModel(getAttribute(reader, "name"), getAttribute(reader, "value"));
+        output.setType(getAttribute(reader, "type"));
+        output.setRequired(getAttribute(reader, "required"));
+        skipElement(reader);
+        return output;
+    }
+
+    private ExceptionHandlerModel parseExceptionHandler(XMLStreamReader reader) throws XMLStreamException {
+        ExceptionHandlerModel exceptionHandler = new ExceptionHandlerModel(getAttribute(reader, "bean"));
+        skipElement(reader);
+        return exceptionHandler;
+    }
+
+    private BeanImportModel parseBeanImport(XMLStreamReader reader) throws XMLStreamException {
+        BeanImportModel beanImport = new BeanImportModel(getAttribute(reader, "resource"));
+        skipElement(reader);
+        return beanImport;
+    }
+
+    private IfModel parseIf(XMLStreamReader reader) throws XMLStreamException {
+        IfModel ifModel = new IfModel(getAttribute(reader, "test"), getAttribute(reader, "then"));
+        ifModel.setElse(getAttribute(reader, "else"));
+        skipElement(reader);
+        return ifModel;
+    }
+
+    /**
+     * Tracks which of the single elements common to all states have been read, since only the first one counts.
+     */
+    private static class StateContent {
+
+        private boolean onEntry;
+
+        private boolean onExit;
+    }
+}
@@ -57,8 +57,11 @@ import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Builds a flow model from a XML-based flow definition resource.
@@ -69,13 +72,18 @@ import java.util.List;
  */
 public class XmlFlowModelBuilder implements FlowModelBuilder {
 
+    /**
+     * The document loader shared by builders not configured with their own, so its document builders are reused.
+     */
+    private static final DocumentLoader DEFAULT_DOCUMENT_LOADER = new DefaultDocumentLoader();
+
     private final List<FlowModelHolder> parentHolders = new ArrayList<>(4);
 
     private Resource resource;
 
     private FlowModelLocator modelLocator;
 
-    private DocumentLoader documentLoader = new DefaultDocumentLoader();
+    private DocumentLoader documentLoader = DEFAULT_DOCUMENT_LOADER;
 
     private Document document;
 
@@ -117,7 +125,7 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
 
     public void init() throws FlowModelBuilderException {
         try {
-            document = documentLoader.loadDocument(resource);
+            loadFlowDefinition(resource);
             initLastModifiedTimestamp();
         } catch (IOException e) {
             throw new FlowModelBuilderException("Could not access the XML flow definition at " + resource, e);
@@ -130,11 +138,12 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
     }
 
     public void build() throws FlowModelBuilderException {
-        if (getDocumentElement() == null) {
+        FlowModel flowModel = createFlowModel();
+        if (flowModel == null) {
             throw new FlowModelBuilderException(
                 "The FlowModelBuilder must be initialized first -- called init() before calling build()");
         }
-        flowModel = parseFlow(getDocumentElement());
+        this.flowModel = flowModel;
         mergeFlows();
         mergeStates();
     }
@@ -177,10 +186,36 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
         }
     }
 
+    public List<FlowModelHolder> getParentFlowModelHolders() {
+        return Collections.unmodifiableList(parentHolders);
+    }
+
     public String toString() {
         return new ToStringCreator(this).append("resource", resource).toString();
     }
 
+    /**
+     * Loads the XML flow definition at the given resource. Called by {@link #init()}. The default implementation loads
+     * the DOM document with the configured {@link DocumentLoader}.
+     *
+     * @param resource the flow definition resource
+     */
+    protected void loadFlowDefinition(Resource resource) throws IOException, ParserConfigurationException,
+        SAXException {
+        document = documentLoader.loadDocument(resource);
+    }
+
+    /**
+     * Creates the flow model from the flow definition loaded by {@link #loadFlowDefinition(Resource)}, before it is
+     * merged with its parent flows. Called by {@link #build()}. The default implementation walks the DOM document.
+     *
+     * @return the flow model, or null if no flow definition has been loaded
+     */
+    protected FlowModel createFlowModel() {
+        Element element = getDocumentElement();
+        return element != null ? parseFlow(element) : null;
+    }
+
     /**
      * Returns the DOM document parsed from the XML file.
      */
@@ -669,6 +704,7 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
         if (flowModel.getStates() == null) {
             return;
         }
+        Map<String, Map<String, AbstractStateModel>> stateIndexes = new HashMap<>();
         for (AbstractStateModel childState : flowModel.getStates()) {
             String parent = childState.getParent();
             if (childState.getParent() != null) {
@@ -683,11 +719,7 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
                 flowId = parent.substring(0, hashIndex).trim();
                 stateId = parent.substring(hashIndex + 1).trim();
                 try {
-                    if (StringUtils.hasText(flowId)) {
-                        parentState = modelLocator.getFlowModel(flowId).getStateById(stateId);
-                    } else {
-                        parentState = flowModel.getStateById(stateId);
-                    }
+                    parentState = getStateIndex(stateIndexes, flowId).get(stateId);
                     if (parentState == null) {
                         throw new FlowModelBuilderException("Unable to find state '" + stateId + "' in flow '" + flowId
                                                             + "'");
@@ -704,4 +736,25 @@ public class XmlFlowModelBuilder implements FlowModelBuilder {
         }
     }
 
+    /**
+     * Returns the states of the flow with the given id, or of the flow being built if the id is empty, indexed by state
+     * id. Indexes are built on first use, so each parent flow is only scanned once.
+     */
+    private Map<String, AbstractStateModel> getStateIndex(Map<String, Map<String, AbstractStateModel>> stateIndexes,
+                                                          String flowId) {
+        Map<String, AbstractStateModel> index = stateIndexes.get(flowId);
+        if (index == null) {
+            FlowModel model = StringUtils.hasText(flowId) ? modelLocator.getFlowModel(flowId) : flowModel;
+            index = new HashMap<>();
+            if (model.getStates() != null) {
+                for (AbstractStateModel state : model.getStates()) {
+                    // the first state with an id wins, as with FlowModel.getStateById
+                    index.putIfAbsent(state.getId(), state);
+                }
+            }
+            stateIndexes.put(flowId, index);
+        }
+        return index;
+    }
+
 }
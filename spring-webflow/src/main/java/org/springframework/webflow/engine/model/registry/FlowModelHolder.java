@@ -18,6 +18,9 @@ package org.springframework.webflow.engine.model.registry;
 import org.springframework.core.io.Resource;
 import org.springframework.webflow.engine.model.FlowModel;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * A holder holding a reference to a Flow model. Provides a layer of indirection, enabling things like "hot-reloadable"
  * flow models.
@@ -49,6 +52,16 @@ public interface FlowModelHolder {
      */
     Resource getFlowModelResource();
 
+    /**
+     * Returns the holders of the flow models the held flow model directly inherits from, as of its last assembly.
+     * Changes to those flow models are reported by {@link #hasFlowModelChanged()}. Returns an empty list by default.
+     *
+     * @return the parent flow model holders
+     */
+    default List<FlowModelHolder> getParentFlowModelHolders() {
+        return Collections.emptyList();
+    }
+
     /**
      * Refresh the flow model held by this holder. Calling this method typically triggers flow re-assembly, which may
      * include a refresh from an externalized resource such as a file.
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.support;
+
+import org.springframework.binding.expression.EvaluationException;
+import org.springframework.binding.expression.Expression;
+import org.springframework.util.Assert;
+import org.springframework.webflow.core.collection.AttributeMap;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.execution.RequestContext;
+import org.springframework.webflow.execution.ScopeType;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * An expression that reads and writes a single attribute directly, either in an attribute map evaluation context or in
+ * one of the scopes of a {@link RequestContext}. Used by flow builders to bypass the expression language for the simple
+ * expressions that make up most flow and subflow input/output mappings, such as <code>name</code> or
+ * <code>flowScope.name</code>.
+ * <p>
+ * The parsed expression is kept and used when the expression is evaluated against any other kind of context, and to
+ * determine value types, so behavior is the same as the parsed expression.
+ *
+ * @see #compile(Expression, Class)
+ */
+public class AttributeExpression implements Expression {
+
+    private static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList("true", "false", "null", "and",
+        "or", "not", "div", "mod", "eq", "ne", "lt", "gt", "le", "ge", "empty", "instanceof", "matches", "between",
+        "new", "this", "root"));
+
+    private final Expression expression;
+
+    private final ScopeType scope;
+
+    private final String attributeName;
+
+    /**
+     * Creates a new attribute expression.
+     *
+     * @param expression    the parsed expression this expression is equivalent to
+     * @param scope         the request context scope holding the attribute, or null if the attribute is to be accessed
+     *                      in an attribute map evaluation context
+     * @param attributeName the name of the attribute
+     */
+    public AttributeExpression(Expression expression, ScopeType scope, String attributeName) {
+        Assert.notNull(expression, "The parsed expression is required");
+        Assert.hasText(attributeName, "The attribute name is required");
+        this.expression = expression;
+        this.scope = scope;
+        this.attributeName = attributeName;
+    }
+
+    /**
+     * Returns an attribute expression equivalent to the given parsed expression if its expression string is a plain
+     * attribute name evaluated against an {@link AttributeMap}, or a scope attribute such as <code>flowScope.name</code>
+     * evaluated against a {@link RequestContext}. Returns the parsed expression itself otherwise.
+     *
+     * @param expression  the parsed expression
+     * @param contextType the type of context the expression will be evaluated against
+     * @return the compiled expression, or the given expression if it cannot be compiled
+     */
+    public static Expression compile(Expression expression, Class<?> contextType) {
+        String expressionString = expression.getExpressionString();
+        if (expressionString == null) {
+            return expression;
+        }
+        if (AttributeMap.class.isAssignableFrom(contextType)) {
+            if (isAttributeName(expressionString)) {
+                return new AttributeExpression(expression, null, expressionString);
+            }
+        } else if (RequestContext.class.isAssignableFrom(contextType)) {
+            int dot = expressionString.indexOf('.');
+            if (dot > 0) {
+                ScopeType scope = getScopeType(expressionString.substring(0, dot));
+                String attributeName = expressionString.substring(dot + 1);
+                if (scope != null && isAttributeName(attributeName)) {
+                    return new AttributeExpression(expression, scope, attributeName);
+                }
+            }
+        }
+        return expression;
+    }
+
+    /**
+     * Returns the scope holding the attribute, or null if the attribute is accessed in an attribute map context.
+     */
+    public ScopeType getScope() {
+        return scope;
+    }
+
+    /**
+     * Returns the name of the attribute.
+     */
+    public String getAttributeName() {
+        return attributeName;
+    }
+
+    public Object getValue(Object context) throws EvaluationException {
+        if (scope != null) {
+            if (context instanceof RequestContext) {
+                return scope.getScope((RequestContext) context).get(attributeName);
+            }
+        } else if (context instanceof AttributeMap) {
+            return ((AttributeMap<?>) context).get(attributeName);
+        }
+        return expression.getValue(context);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void setValue(Object context, Object value) throws EvaluationException {
+        if (scope != null) {
+            if (context instanceof RequestContext) {
+                scope.getScope((RequestContext) context).put(attributeName, value);
+                return;
+            }
+        } else if (context instanceof MutableAttributeMap) {
+            ((MutableAttributeMap<Object>) context).put(attributeName, value);
+            return;
+        }
+        expression.setValue(context, value);
+    }
+
+    public Class<?> getValueType(Object context) throws EvaluationException {
+        return expression.getValueType(context);
+    }
+
+    public String getExpressionString() {
+        return expression.getExpressionString();
+    }
+
+    public boolean equals(Object o) {
+        if (!(o instanceof AttributeExpression)) {
+            return false;
+        }
+        return expression.equals(((AttributeExpression) o).expression);
+    }
+
+    public int hashCode() {
+        return expression.hashCode();
+    }
+
+    public String toString() {
+        return expression.toString();
+    }
+
+    private static ScopeType getScopeType(String scopeName) {
+        switch (scopeName) {
+            case "flowScope":
+                return ScopeType.FLOW;
+            case "conversationScope":
+                return ScopeType.CONVERSATION;
+            case "viewScope":
+                return ScopeType.VIEW;
+            case "flashScope":
+                return ScopeType.FLASH;
+            case "requestScope":
+                return ScopeType.REQUEST;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isAttributeName(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))
+            || RESERVED_WORDS.contains(name.toLowerCase(Locale.ROOT))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -15,19 +15,67 @@
  */
 package org.springframework.webflow.engine.support;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.MergedAnnotation;
+import org.springframework.core.annotation.MergedAnnotations;
 import org.springframework.core.style.ToStringCreator;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.webflow.engine.VariableValueFactory;
 import org.springframework.webflow.execution.RequestContext;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A bean-factory backed variable value factory. Relies on an autowire-capable bean factory to wire variable value
  * dependencies on value creation and restoration.
+ * <p>
+ * References are restored on every request, so the first restoration of a value of a given class computes an
+ * injection plan: the <code>&#064;Autowired</code> (or <code>&#064;Inject</code>) fields and single argument methods of
+ * the class, with the singleton beans they resolve to. Later restorations inject those beans directly instead of
+ * running the value through {@link AutowireCapableBeanFactory#autowireBean(Object)}. Values whose dependencies are not
+ * all singletons, that use other injection annotations such as <code>&#064;Value</code> or <code>&#064;Resource</code>,
+ * that have members with meta-annotated annotations, which may compose injection annotations, or that are restored by
+ * a bean factory with custom instantiation-aware post processors, are always autowired by the bean factory.
  *
  * @author Keith Donald
  */
 public class BeanFactoryVariableValueFactory implements VariableValueFactory {
 
+    /**
+     * Names of the annotations that mark injection points not covered by injection plans.
+     */
+    private static final Set<String> UNPLANNED_INJECTION_ANNOTATIONS = new HashSet<>(Arrays.asList(
+        "org.springframework.beans.factory.annotation.Value", "org.springframework.beans.factory.annotation.Lookup",
+        "jakarta.annotation.Resource", "jakarta.ejb.EJB", "jakarta.xml.ws.WebServiceRef",
+        "jakarta.persistence.PersistenceContext", "jakarta.persistence.PersistenceUnit"));
+
+    private static final String INJECT_ANNOTATION = "jakarta.inject.Inject";
+
+    /**
+     * Marks classes whose values must be autowired by the bean factory.
+     */
+    private static final InjectionPlan AUTOWIRE = new InjectionPlan(new Member[0], new Object[0]);
+
     /**
      * The class of variable value. Typically a Java bean.
      */
@@ -38,6 +86,11 @@ public class BeanFactoryVariableValueFactory implements VariableValueFactory {
      */
     private AutowireCapableBeanFactory beanFactory;
 
+    /**
+     * The injection plans for restoring references, by value class.
+     */
+    private final Map<Class<?>, InjectionPlan> injectionPlans = new ConcurrentHashMap<>();
+
     /**
      * Creates a new bean factory variable factory.
      *
@@ -55,7 +108,12 @@ public class BeanFactoryVariableValueFactory implements VariableValueFactory {
 
     public void restoreReferences(Object value, RequestContext context) {
         if (value != null) {
-            beanFactory.autowireBean(value);
+            InjectionPlan plan = injectionPlans.computeIfAbsent(value.getClass(), this::createInjectionPlan);
+            if (plan == AUTOWIRE) {
+                beanFactory.autowireBean(value);
+            } else {
+                plan.inject(value);
+            }
         }
     }
 
@@ -63,4 +121,158 @@ public class BeanFactoryVariableValueFactory implements VariableValueFactory {
         return new ToStringCreator(this).append("type", type).toString();
     }
 
+    // internal helpers
+
+    private InjectionPlan createInjectionPlan(Class<?> valueClass) {
+        if (!hasOnlyFrameworkPostProcessors()) {
+            return AUTOWIRE;
+        }
+        List<Member> members = new ArrayList<>();
+        List<Object> dependencies = new ArrayList<>();
+        String beanName = ClassUtils.getUserClass(valueClass).getName();
+        // superclass members are injected first, as the bean factory does
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> clazz = valueClass; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            hierarchy.add(0, clazz);
+        }
+        for (Class<?> clazz : hierarchy) {
+            for (Field field : clazz.getDeclaredFields()) {
+                MergedAnnotations annotations = MergedAnnotations.from(field);
+                if (isUnplannedInjectionPoint(annotations)) {
+                    return AUTOWIRE;
+                }
+                Boolean required = getInjectionRequired(annotations);
+                if (required == null || Modifier.isStatic(field.getModifiers())) {
+                    // static fields are not injected by the bean factory either
+                    continue;
+                }
+                Object dependency = resolveSingleton(new DependencyDescriptor(field, required), valueClass, beanName);
+                if (dependency == null) {
+                    return AUTOWIRE;
+                }
+                ReflectionUtils.makeAccessible(field);
+                members.add(field);
+                dependencies.add(dependency);
+            }
+            for (Method method : clazz.getDeclaredMethods()) {
+                MergedAnnotations annotations = MergedAnnotations.from(method);
+                if (isUnplannedInjectionPoint(annotations)) {
+                    return AUTOWIRE;
+                }
+                Boolean required = getInjectionRequired(annotations);
+                if (required == null || method.isBridge() || Modifier.isStatic(method.getModifiers())
+                    || !method.equals(ClassUtils.getMostSpecificMethod(method, valueClass))) {
+                    // overridden methods are only injected through the overriding method, if annotated
+                    continue;
+                }
+                if (method.getParameterCount() != 1) {
+                    return AUTOWIRE;
+                }
+                DependencyDescriptor descriptor = new DependencyDescriptor(new MethodParameter(method, 0), required);
+                Object dependency = resolveSingleton(descriptor, valueClass, beanName);
+                if (dependency == null) {
+                    return AUTOWIRE;
+                }
+                ReflectionUtils.makeAccessible(method);
+                members.add(method);
+                dependencies.add(dependency);
+            }
+        }
+        return new InjectionPlan(members.toArray(new Member[0]), dependencies.toArray());
+    }
+
+    /**
+     * Returns whether the instantiation-aware post processors of the bean factory, which take part in autowiring, are
+     * all framework post processors that only inject annotated members.
+     */
+    private boolean hasOnlyFrameworkPostProcessors() {
+        if (!(beanFactory instanceof AbstractBeanFactory)) {
+            return false;
+        }
+        for (BeanPostProcessor postProcessor : ((AbstractBeanFactory) beanFactory).getBeanPostProcessors()) {
+            if (postProcessor instanceof InstantiationAwareBeanPostProcessor
+                && !postProcessor.getClass().getName().startsWith("org.springframework.")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the injection into the member with the given annotations is required, or null if the member is
+     * not injected.
+     */
+    private Boolean getInjectionRequired(MergedAnnotations annotations) {
+        MergedAnnotation<Autowired> autowired = annotations.get(Autowired.class);
+        if (autowired.isPresent()) {
+            return autowired.getBoolean("required");
+        } else if (annotations.isPresent(INJECT_ANNOTATION)) {
+            return Boolean.TRUE;
+        }
+        return null;
+    }
+
+    /**
+     * Returns whether the member with the given annotations has annotations injection plans do not model: other
+     * injection annotations, and any meta-annotations, which may turn the annotations declaring them into injection
+     * annotations.
+     */
+    private boolean isUnplannedInjectionPoint(MergedAnnotations annotations) {
+        for (MergedAnnotation<Annotation> annotation : annotations) {
+            if (annotation.getDistance() > 0
+                || UNPLANNED_INJECTION_ANNOTATIONS.contains(annotation.getType().getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves the dependency, returning it only if it is a single singleton bean. Returns null for all other
+     * dependencies, including unresolvable ones: the bean factory reports those when autowiring the value.
+     */
+    private Object resolveSingleton(DependencyDescriptor descriptor, Class<?> valueClass, String beanName) {
+        descriptor.setContainingClass(valueClass);
+        Set<String> autowiredBeanNames = new LinkedHashSet<>(2);
+        try {
+            Object dependency = beanFactory.resolveDependency(descriptor, beanName, autowiredBeanNames, null);
+            if (dependency == null || autowiredBeanNames.size() != 1) {
+                return null;
+            }
+            String dependencyName = autowiredBeanNames.iterator().next();
+            if (!beanFactory.containsBean(dependencyName) || !beanFactory.isSingleton(dependencyName)
+                || dependency != beanFactory.getBean(dependencyName)) {
+                return null;
+            }
+            return dependency;
+        } catch (BeansException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The members of a class to inject, with the dependencies to inject into them.
+     */
+    private static class InjectionPlan {
+
+        private final Member[] members;
+
+        private final Object[] dependencies;
+
+        public InjectionPlan(Member[] members, Object[] dependencies) {
+            this.members = members;
+            this.dependencies = dependencies;
+        }
+
+        public void inject(Object value) {
+            for (int i = 0; i < members.length; i++) {
+                if (members[i] instanceof Field) {
+                    ReflectionUtils.setField((Field) members[i], value, dependencies[i]);
+                } else {
+                    ReflectionUtils.invokeMethod((Method) members[i], value, dependencies[i]);
+                }
+            }
+        }
+    }
+
 }
@@ -17,6 +17,8 @@ package org.springframework.webflow.execution;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
+import org.springframework.webflow.metrics.NoOpFlowExecutionMetrics;
 
 /**
  * A simple static helper that performs action execution that encapsulates common logging and exception handling logic.
@@ -49,7 +51,22 @@ public class ActionExecutor {
             if (logger.isDebugEnabled()) {
                 logger.debug("Executing " + getTargetAction(action));
             }
-            Event event = action.execute(context);
+            FlowExecutionContext flowExecution = context.getFlowExecutionContext();
+            FlowExecutionMetrics metrics = flowExecution != null ? flowExecution.getMetrics()
+                                                                 : NoOpFlowExecutionMetrics.INSTANCE;
+            Event event;
+            if (metrics != NoOpFlowExecutionMetrics.INSTANCE) {
+                String flowId = flowExecution.isActive() ? flowExecution.getActiveSession().getDefinition().getId()
+                                                         : flowExecution.getDefinition().getId();
+                long start = System.nanoTime();
+                try {
+                    event = action.execute(context);
+                } finally {
+                    metrics.recordAction(flowId, System.nanoTime() - start);
+                }
+            } else {
+                event = action.execute(context);
+            }
             if (logger.isDebugEnabled()) {
                 logger.debug("Finished executing " + getTargetAction(action) + "; result = " + event);
             }
@@ -18,6 +18,8 @@ package org.springframework.webflow.execution;
 import org.springframework.webflow.core.collection.AttributeMap;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
 import org.springframework.webflow.definition.FlowDefinition;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
+import org.springframework.webflow.metrics.NoOpFlowExecutionMetrics;
 
 /**
  * Provides contextual information about a flow execution. A flow execution is an runnable instance of a
@@ -126,4 +128,15 @@ public interface FlowExecutionContext {
      * @return execution attributes
      */
     AttributeMap<Object> getAttributes();
+
+    /**
+     * Returns the metrics this flow execution reports to, for use by flow artifacts such as actions. The default
+     * implementation returns metrics that record nothing, so existing implementations of this interface need no
+     * changes.
+     *
+     * @return the flow execution metrics
+     */
+    default FlowExecutionMetrics getMetrics() {
+        return NoOpFlowExecutionMetrics.INSTANCE;
+    }
 }
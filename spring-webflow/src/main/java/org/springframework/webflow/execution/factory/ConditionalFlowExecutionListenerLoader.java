@@ -24,11 +24,16 @@ import org.springframework.webflow.execution.FlowExecutionListener;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A flow execution listener loader that stores listeners in a list-backed data structure and allows for configuration
  * of which listeners should apply to which flow definitions. For trivial listener loading, see
  * {@link StaticFlowExecutionListenerLoader}.
+ * <p>
+ * The listeners that apply to a flow definition are computed once and cached until another listener is added, so the
+ * same array is returned for every execution of that flow definition.
  *
  * @author Keith Donald
  * @see FlowExecutionListenerCriteria
@@ -44,6 +49,11 @@ public class ConditionalFlowExecutionListenerLoader implements FlowExecutionList
      */
     private List<ConditionalFlowExecutionListenerHolder> listeners = new LinkedList<>();
 
+    /**
+     * The listeners that apply to each flow definition, keyed by flow definition id.
+     */
+    private final Map<String, LoadedListeners> loadedListeners = new ConcurrentHashMap<>();
+
     /**
      * Add a listener that will listen to executions to flows matching the specified criteria.
      *
@@ -66,16 +76,29 @@ public class ConditionalFlowExecutionListenerLoader implements FlowExecutionList
             criteria = new FlowExecutionListenerCriteriaFactory().allFlows();
         }
         conditional.add(criteria);
+        loadedListeners.clear();
     }
 
     /**
-     * Returns the array of flow execution listeners for specified flow.
+     * Returns the array of flow execution listeners for specified flow. The returned array is shared and must not be
+     * modified.
      *
      * @param flowDefinition the flow definition associated with the execution to be listened to
      * @return the flow execution listeners that apply
      */
     public FlowExecutionListener[] getListeners(FlowDefinition flowDefinition) {
         Assert.notNull(flowDefinition, "The Flow to load listeners for cannot be null");
+        LoadedListeners loaded = loadedListeners.get(flowDefinition.getId());
+        if (loaded == null || loaded.flowDefinition != flowDefinition) {
+            loaded = new LoadedListeners(flowDefinition, loadListeners(flowDefinition));
+            loadedListeners.put(flowDefinition.getId(), loaded);
+        }
+        return loaded.listeners;
+    }
+
+    // internal helpers
+
+    private FlowExecutionListener[] loadListeners(FlowDefinition flowDefinition) {
         List<FlowExecutionListener> listenersToAttach = new LinkedList<>();
         for (ConditionalFlowExecutionListenerHolder listenerHolder : listeners) {
             if (listenerHolder.listenerAppliesTo(flowDefinition)) {
@@ -90,8 +113,6 @@ public class ConditionalFlowExecutionListenerLoader implements FlowExecutionList
         return listenersToAttach.toArray(new FlowExecutionListener[listenersToAttach.size()]);
     }
 
-    // internal helpers
-
     /**
      * Lookup the listener criteria holder for the listener provided.
      *
@@ -106,4 +127,20 @@ public class ConditionalFlowExecutionListenerLoader implements FlowExecutionList
         }
         return null;
     }
+
+    /**
+     * The listeners loaded for a flow definition. The flow definition is compared by identity, so listeners are loaded
+     * again for a flow definition that was rebuilt.
+     */
+    private static class LoadedListeners {
+
+        private final FlowDefinition flowDefinition;
+
+        private final FlowExecutionListener[] listeners;
+
+        public LoadedListeners(FlowDefinition flowDefinition, FlowExecutionListener[] listeners) {
+            this.flowDefinition = flowDefinition;
+            this.listeners = listeners;
+        }
+    }
 }
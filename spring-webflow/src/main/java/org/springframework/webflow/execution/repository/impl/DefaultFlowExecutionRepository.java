@@ -15,6 +15,7 @@
  */
 package org.springframework.webflow.execution.repository.impl;
 
+import org.springframework.util.Assert;
 import org.springframework.webflow.conversation.Conversation;
 import org.springframework.webflow.conversation.ConversationManager;
 import org.springframework.webflow.execution.FlowExecution;
@@ -24,6 +25,8 @@ import org.springframework.webflow.execution.repository.snapshot.AbstractSnapsho
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshotFactory;
 import org.springframework.webflow.execution.repository.snapshot.SnapshotNotFoundException;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
+import org.springframework.webflow.metrics.NoOpFlowExecutionMetrics;
 
 import java.io.Serializable;
 
@@ -67,6 +70,16 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
      */
     private int maxSnapshots = 30;
 
+    /**
+     * The metrics snapshot evictions are reported to.
+     */
+    private FlowExecutionMetrics metrics = NoOpFlowExecutionMetrics.INSTANCE;
+
+    /**
+     * The process-wide memory budget snapshots are accounted for in, if any.
+     */
+    private SnapshotMemoryBudget memoryBudget;
+
     /**
      * Create a new default flow execution repository using the given state restorer, conversation manager, and snapshot
      * factory.
@@ -99,6 +112,35 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
         this.maxSnapshots = maxSnapshots;
     }
 
+    /**
+     * Sets the metrics snapshots evicted to stay within the {@link #getMaxSnapshots() maximum} are reported to. Defaults
+     * to metrics that record nothing.
+     *
+     * @param metrics the flow execution metrics
+     */
+    public void setMetrics(FlowExecutionMetrics metrics) {
+        Assert.notNull(metrics, "The flow execution metrics are required");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the memory budget the snapshots taken by this repository are accounted for in, or null if there is none.
+     */
+    public SnapshotMemoryBudget getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Sets the memory budget the snapshots taken by this repository are accounted for in. Share a single budget
+     * between all repositories to bound the memory used by the snapshots of all users. Only applies to snapshot groups
+     * created by the default {@link #createFlowExecutionSnapshotGroup()} implementation. Defaults to none.
+     *
+     * @param memoryBudget the snapshot memory budget
+     */
+    public void setMemoryBudget(SnapshotMemoryBudget memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
     // supporting flow execution key factory impl
 
     public FlowExecution getFlowExecution(FlowExecutionKey key) {
@@ -129,7 +171,13 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
         if (logger.isDebugEnabled()) {
             logger.debug("Adding snapshot to group with id " + getSnapshotId(key));
         }
+        int snapshotCount = snapshotGroup.getSnapshotCount();
         snapshotGroup.addSnapshot(getSnapshotId(key), snapshot);
+        if (maxSnapshots > 0 && snapshotCount >= maxSnapshots && getAlwaysGenerateNewNextKey()
+            && snapshotGroup.getSnapshotCount() == snapshotCount) {
+            // a snapshot was added under a new id without growing the group, so the oldest one was evicted
+            metrics.recordSnapshotEviction();
+        }
         putConversationScope(flowExecution, conversation);
     }
 
@@ -187,6 +235,10 @@ public class DefaultFlowExecutionRepository extends AbstractSnapshottingFlowExec
             group = createFlowExecutionSnapshotGroup();
             conversation.putAttribute(SNAPSHOT_GROUP_ATTRIBUTE, group);
         }
+        if (memoryBudget != null && group instanceof SimpleFlowExecutionSnapshotGroup) {
+            // also attaches groups that were deserialized with their session
+            ((SimpleFlowExecutionSnapshotGroup) group).setMemoryBudget(memoryBudget);
+        }
         return group;
     }
 }
@@ -18,14 +18,21 @@ package org.springframework.webflow.execution.repository.impl;
 import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
 import org.springframework.webflow.execution.repository.snapshot.SnapshotNotFoundException;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 /**
  * A group of flow execution snapshots. Simple typed data structure backed by a map and linked list. Supports expelling
  * the oldest snapshot if the maximum size is met.
+ * <p>
+ * The group may be attached to a {@link SnapshotMemoryBudget}, which can evict snapshots from it on behalf of other
+ * sessions; access to the group is therefore synchronized.
  *
  * @author Keith Donald
  */
@@ -52,6 +59,17 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
      */
     private int snapshotIdSequence = 1;
 
+    /**
+     * The memory budget the snapshots of this group are accounted for in, if any. Not serialized; the group is attached
+     * to the budget again when its conversation is next used.
+     */
+    private transient volatile SnapshotMemoryBudget memoryBudget;
+
+    /**
+     * The budget entries of the snapshots accounted for in the memory budget, keyed by snapshot id.
+     */
+    private transient Map<Serializable, SnapshotMemoryBudget.Entry> budgetEntries;
+
     /**
      * Returns the maximum number of snapshots allowed in this group.
      */
@@ -68,7 +86,35 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
         this.maxSnapshots = maxSnapshots;
     }
 
-    public FlowExecutionSnapshot getSnapshot(Serializable snapshotId) throws SnapshotNotFoundException {
+    /**
+     * Attaches this group to the given memory budget, accounting for the snapshots it holds. Does nothing if the group
+     * is attached to the budget already.
+     *
+     * @param memoryBudget the memory budget
+     */
+    public void setMemoryBudget(SnapshotMemoryBudget memoryBudget) {
+        List<Serializable> ids;
+        List<FlowExecutionSnapshot> snapshotsToTrack;
+        synchronized (this) {
+            if (this.memoryBudget == memoryBudget) {
+                return;
+            }
+            this.memoryBudget = memoryBudget;
+            budgetEntries = null;
+            ids = new ArrayList<>(snapshotIds);
+            snapshotsToTrack = new ArrayList<>(ids.size());
+            for (Serializable id : ids) {
+                snapshotsToTrack.add(snapshots.get(id));
+            }
+        }
+        if (memoryBudget != null) {
+            for (int i = 0; i < ids.size(); i++) {
+                memoryBudget.track(this, ids.get(i), snapshotsToTrack.get(i));
+            }
+        }
+    }
+
+    public synchronized FlowExecutionSnapshot getSnapshot(Serializable snapshotId) throws SnapshotNotFoundException {
         FlowExecutionSnapshot snapshot = snapshots.get(snapshotId);
         if (snapshot == null) {
             throw new SnapshotNotFoundException(snapshotId);
@@ -77,43 +123,120 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
     }
 
     public void addSnapshot(Serializable snapshotId, FlowExecutionSnapshot snapshot) {
-        snapshots.put(snapshotId, snapshot);
-        if (snapshotIds.contains(snapshotId)) {
-            snapshotIds.remove(snapshotId);
-        }
-        snapshotIds.add(snapshotId);
-        if (maxExceeded()) {
-            removeOldestSnapshot();
+        SnapshotMemoryBudget.Entry replaced;
+        SnapshotMemoryBudget.Entry expelled = null;
+        SnapshotMemoryBudget.Entry superseded = null;
+        synchronized (this) {
+            Serializable youngestId = snapshotIds.peekLast();
+            if (youngestId != null && !youngestId.equals(snapshotId) && budgetEntries != null) {
+                superseded = budgetEntries.get(youngestId);
+            }
+            snapshots.put(snapshotId, snapshot);
+            replaced = removeBudgetEntry(snapshotId);
+            if (snapshotIds.contains(snapshotId)) {
+                snapshotIds.remove(snapshotId);
+            }
+            snapshotIds.add(snapshotId);
+            if (maxExceeded()) {
+                expelled = removeOldestSnapshot();
+            }
         }
+        release(replaced);
+        release(expelled);
+        supersede(superseded);
+        track(snapshotId, snapshot);
     }
 
     public void updateSnapshot(Serializable snapshotId, FlowExecutionSnapshot snapshot) {
-        if (!snapshots.containsKey(snapshotId)) {
-            return;
+        SnapshotMemoryBudget.Entry replaced;
+        synchronized (this) {
+            if (!snapshots.containsKey(snapshotId)) {
+                return;
+            }
+            snapshots.put(snapshotId, snapshot);
+            replaced = removeBudgetEntry(snapshotId);
         }
-        snapshots.put(snapshotId, snapshot);
+        release(replaced);
+        track(snapshotId, snapshot);
     }
 
     public void removeSnapshot(Serializable snapshotId) {
-        snapshots.remove(snapshotId);
-        snapshotIds.remove(snapshotId);
+        SnapshotMemoryBudget.Entry removed;
+        synchronized (this) {
+            snapshots.remove(snapshotId);
+            snapshotIds.remove(snapshotId);
+            removed = removeBudgetEntry(snapshotId);
+        }
+        release(removed);
     }
 
     public void removeAllSnapshots() {
-        snapshots.clear();
-        snapshotIds.clear();
+        Map<Serializable, SnapshotMemoryBudget.Entry> removed;
+        synchronized (this) {
+            snapshots.clear();
+            snapshotIds.clear();
+            removed = budgetEntries;
+            budgetEntries = null;
+        }
+        if (removed != null) {
+            for (SnapshotMemoryBudget.Entry entry : removed.values()) {
+                release(entry);
+            }
+        }
     }
 
-    public int getSnapshotCount() {
+    public synchronized int getSnapshotCount() {
         return snapshotIds.size();
     }
 
-    public Serializable nextSnapshotId() {
+    public synchronized Serializable nextSnapshotId() {
         Integer nextSnapshotId = snapshotIdSequence;
         snapshotIdSequence++;
         return nextSnapshotId;
     }
 
+    // package private memory budget callbacks
+
+    /**
+     * Records the budget entry of the given snapshot, unless the snapshot has been replaced or removed in the meantime,
+     * and marks the entry superseded if the snapshot is not the youngest of this group.
+     *
+     * @return true if the entry was recorded, false otherwise
+     */
+    synchronized boolean attachBudgetEntry(Serializable snapshotId, FlowExecutionSnapshot snapshot,
+                                           SnapshotMemoryBudget.Entry entry) {
+        if (snapshots.get(snapshotId) != snapshot) {
+            return false;
+        }
+        if (budgetEntries == null) {
+            budgetEntries = new HashMap<>();
+        }
+        budgetEntries.put(snapshotId, entry);
+        entry.setSuperseded(!snapshotId.equals(snapshotIds.peekLast()));
+        return true;
+    }
+
+    /**
+     * Evicts the snapshot with the given budget entry, unless it is the youngest snapshot of this group.
+     *
+     * @return true if the snapshot was evicted or is no longer part of this group, false if it was kept
+     */
+    synchronized boolean evictSnapshot(SnapshotMemoryBudget.Entry entry) {
+        Serializable snapshotId = entry.getSnapshotId();
+        if (budgetEntries == null || budgetEntries.get(snapshotId) != entry) {
+            return true;
+        }
+        if (snapshotId.equals(snapshotIds.peekLast())) {
+            return false;
+        }
+        budgetEntries.remove(snapshotId);
+        snapshots.remove(snapshotId);
+        snapshotIds.remove(snapshotId);
+        return true;
+    }
+
+    // internal helpers
+
     /**
      * Has the maximum number of snapshots in this group been exceeded?
      */
@@ -123,9 +246,42 @@ class SimpleFlowExecutionSnapshotGroup implements FlowExecutionSnapshotGroup, Se
 
     /**
      * Remove the olders snapshot from this group.
+     *
+     * @return the budget entry of the removed snapshot, if any
      */
-    private void removeOldestSnapshot() {
-        snapshots.remove(snapshotIds.removeFirst());
+    private SnapshotMemoryBudget.Entry removeOldestSnapshot() {
+        Serializable snapshotId = snapshotIds.removeFirst();
+        snapshots.remove(snapshotId);
+        return removeBudgetEntry(snapshotId);
+    }
+
+    private SnapshotMemoryBudget.Entry removeBudgetEntry(Serializable snapshotId) {
+        return budgetEntries != null ? budgetEntries.remove(snapshotId) : null;
+    }
+
+    private void track(Serializable snapshotId, FlowExecutionSnapshot snapshot) {
+        SnapshotMemoryBudget budget = memoryBudget;
+        if (budget != null) {
+            budget.track(this, snapshotId, snapshot);
+        }
+    }
+
+    private void supersede(SnapshotMemoryBudget.Entry entry) {
+        SnapshotMemoryBudget budget = memoryBudget;
+        if (entry != null && budget != null) {
+            budget.supersede(entry);
+        }
+    }
+
+    private void release(SnapshotMemoryBudget.Entry entry) {
+        SnapshotMemoryBudget budget = memoryBudget;
+        if (entry != null && budget != null) {
+            budget.release(entry);
+        }
+    }
+
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
     }
 
 }
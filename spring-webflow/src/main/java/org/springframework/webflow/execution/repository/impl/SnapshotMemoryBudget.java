@@ -0,0 +1,259 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.impl;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.util.Assert;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+
+import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A process-wide memory budget for flow execution snapshots. The maximum number of snapshots of a
+ * {@link DefaultFlowExecutionRepository} bounds the snapshots of a single flow execution, and the maximum number of
+ * conversations bounds the executions of a single user, but neither bounds the memory used by the snapshots of all
+ * users together. Repositories sharing a budget account for the live bytes of every serialized snapshot they hold, and
+ * when the total exceeds the budget, the oldest snapshots are evicted, whichever session they belong to.
+ * <p>
+ * The current snapshot of a flow execution, the one taken last, is never evicted, so every user can always continue
+ * where they left off; only going back to an evicted snapshot fails, as it does for snapshots evicted to stay within
+ * the maximum number of snapshots. A snapshot only becomes a candidate for eviction once a later snapshot of its flow
+ * execution is taken, so snapshots are evicted in the order they were superseded. The budget can be exceeded when
+ * only current snapshots are left. A restore in flight is not affected by the eviction of the snapshot it restores
+ * from, since snapshots are immutable.
+ * <p>
+ * Only {@link SerializedFlowExecutionSnapshot serialized snapshots}, whose size is known, are accounted for. Snapshot
+ * groups are referenced weakly, so the snapshots of expired sessions are released once their groups are garbage
+ * collected; their bytes stop being accounted for the next time the budget is used. This class is thread-safe.
+ *
+ * @see DefaultFlowExecutionRepository#setMemoryBudget(SnapshotMemoryBudget)
+ */
+public class SnapshotMemoryBudget {
+
+    private static final Log logger = LogFactory.getLog(SnapshotMemoryBudget.class);
+
+    /*
+     * Implementation note: locks are always taken in budget, then group order. Snapshot groups must not call the
+     * budget while holding their own lock.
+     */
+
+    private final long maxBytes;
+
+    /**
+     * The accounted snapshots.
+     */
+    private final Set<Entry> entries = new HashSet<>();
+
+    /**
+     * The accounted snapshots that may be evicted, in the order they were superseded by a later snapshot.
+     */
+    private final LinkedHashSet<Entry> evictionQueue = new LinkedHashSet<>();
+
+    /**
+     * The entries whose snapshot group has been garbage collected.
+     */
+    private final ReferenceQueue<SimpleFlowExecutionSnapshotGroup> collectedGroups = new ReferenceQueue<>();
+
+    private long liveBytes;
+
+    private long evictionCount;
+
+    /**
+     * Create a new snapshot memory budget.
+     *
+     * @param maxBytes the maximum number of bytes of all snapshots accounted for
+     */
+    public SnapshotMemoryBudget(long maxBytes) {
+        Assert.isTrue(maxBytes > 0, "The maximum number of snapshot bytes must be greater than 0");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the maximum number of bytes of all snapshots accounted for.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Returns the number of bytes of the snapshots currently accounted for.
+     */
+    public synchronized long getLiveBytes() {
+        releaseCollectedGroups();
+        return liveBytes;
+    }
+
+    /**
+     * Returns the number of snapshots currently accounted for.
+     */
+    public synchronized int getSnapshotCount() {
+        releaseCollectedGroups();
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of snapshots evicted to stay within the budget.
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized String toString() {
+        return new ToStringCreator(this).append("maxBytes", maxBytes).append("liveBytes", liveBytes)
+            .append("snapshotCount", entries.size()).append("evictionCount", evictionCount).toString();
+    }
+
+    // package private callbacks from snapshot groups
+
+    /**
+     * Accounts for a snapshot added to a group, evicting the oldest superseded snapshots if the budget is exceeded.
+     * Must not be called while holding the lock of the group.
+     *
+     * @param group      the group the snapshot was added to
+     * @param snapshotId the id of the snapshot in the group
+     * @param snapshot   the snapshot
+     */
+    synchronized void track(SimpleFlowExecutionSnapshotGroup group, Serializable snapshotId,
+                            FlowExecutionSnapshot snapshot) {
+        if (!(snapshot instanceof SerializedFlowExecutionSnapshot)) {
+            return;
+        }
+        releaseCollectedGroups();
+        Entry entry = new Entry(group, snapshotId, ((SerializedFlowExecutionSnapshot) snapshot).getSize(),
+            collectedGroups);
+        if (!group.attachBudgetEntry(snapshotId, snapshot, entry)) {
+            // removed in the meantime
+            return;
+        }
+        entries.add(entry);
+        liveBytes += entry.size;
+        if (entry.superseded) {
+            evictionQueue.add(entry);
+        }
+        if (liveBytes > maxBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Makes a snapshot a candidate for eviction, as a later snapshot has been added to its group. Does nothing if the
+     * snapshot is no longer accounted for. Must not be called while holding the lock of the group.
+     *
+     * @param entry the budget entry of the superseded snapshot
+     */
+    synchronized void supersede(Entry entry) {
+        if (entries.contains(entry)) {
+            evictionQueue.add(entry);
+        }
+    }
+
+    /**
+     * Stops accounting for a snapshot removed from its group. Does nothing if the snapshot was evicted already. Must
+     * not be called while holding the lock of the group.
+     *
+     * @param entry the budget entry of the snapshot
+     */
+    synchronized void release(Entry entry) {
+        if (entries.remove(entry)) {
+            evictionQueue.remove(entry);
+            liveBytes -= entry.size;
+        }
+    }
+
+    /**
+     * Enqueues the budget entries of the given group as if the group had been garbage collected. Lets tests exercise
+     * the release of collected groups without depending on the garbage collector.
+     *
+     * @param group the group to treat as collected
+     */
+    synchronized void groupCollected(SimpleFlowExecutionSnapshotGroup group) {
+        for (Entry entry : entries) {
+            if (entry.get() == group) {
+                entry.enqueue();
+            }
+        }
+    }
+
+    // internal helpers
+
+    private void releaseCollectedGroups() {
+        for (Reference<?> reference = collectedGroups.poll(); reference != null; reference = collectedGroups.poll()) {
+            release((Entry) reference);
+        }
+    }
+
+    private void evict() {
+        int evicted = 0;
+        for (Iterator<Entry> it = evictionQueue.iterator(); it.hasNext() && liveBytes > maxBytes; ) {
+            Entry entry = it.next();
+            SimpleFlowExecutionSnapshotGroup group = entry.get();
+            // a snapshot kept by its group has become current again, and is queued again once superseded
+            it.remove();
+            if (group == null || group.evictSnapshot(entry)) {
+                entries.remove(entry);
+                liveBytes -= entry.size;
+                if (group != null) {
+                    evicted++;
+                }
+            }
+        }
+        evictionCount += evicted;
+        if (logger.isDebugEnabled() && evicted > 0) {
+            logger.debug("Evicted " + evicted + " flow execution snapshots to stay within the memory budget of "
+                         + maxBytes + " bytes; " + liveBytes + " bytes remain in use");
+        }
+    }
+
+    /**
+     * A snapshot accounted for by the budget, referencing its group weakly. Entries are compared by identity.
+     */
+    static class Entry extends WeakReference<SimpleFlowExecutionSnapshotGroup> {
+
+        private final Serializable snapshotId;
+
+        private final int size;
+
+        /**
+         * Whether the snapshot was no longer the youngest of its group when it was accounted for.
+         */
+        private boolean superseded;
+
+        private Entry(SimpleFlowExecutionSnapshotGroup group, Serializable snapshotId, int size,
+                      ReferenceQueue<SimpleFlowExecutionSnapshotGroup> queue) {
+            super(group, queue);
+            this.snapshotId = snapshotId;
+            this.size = size;
+        }
+
+        Serializable getSnapshotId() {
+            return snapshotId;
+        }
+
+        void setSuperseded(boolean superseded) {
+            this.superseded = superseded;
+        }
+    }
+}
@@ -92,6 +92,13 @@ public class SerializedFlowExecutionSnapshot extends FlowExecutionSnapshot imple
         return compressed;
     }
 
+    /**
+     * Returns the size in bytes of the flow execution data held by this snapshot, after compression if enabled.
+     */
+    public int getSize() {
+        return flowExecutionData.length;
+    }
+
     /**
      * Unmarshal the flow execution from this snapshot's data.
      *
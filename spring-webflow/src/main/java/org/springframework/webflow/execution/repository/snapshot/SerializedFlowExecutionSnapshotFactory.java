@@ -24,6 +24,8 @@ import org.springframework.webflow.execution.FlowExecutionFactory;
 import org.springframework.webflow.execution.FlowExecutionKey;
 import org.springframework.webflow.execution.FlowExecutionKeyFactory;
 import org.springframework.webflow.execution.repository.FlowExecutionRestorationFailureException;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
+import org.springframework.webflow.metrics.NoOpFlowExecutionMetrics;
 
 /**
  * A factory that creates new instances of flow execution snapshots based on standard Java serialization.
@@ -39,6 +41,10 @@ public class SerializedFlowExecutionSnapshotFactory implements FlowExecutionSnap
 
     private boolean compress = true;
 
+    private FlowExecutionMetrics metrics = NoOpFlowExecutionMetrics.INSTANCE;
+
+    private SnapshotSizeProfiler sizeProfiler;
+
     /**
      * Creates a new serialized flow execution snapshot factory
      *
@@ -72,8 +78,40 @@ public class SerializedFlowExecutionSnapshotFactory implements FlowExecutionSnap
         this.compress = compress;
     }
 
+    /**
+     * Sets the metrics snapshot serialization and deserialization times and sizes are reported to. Defaults to metrics
+     * that record nothing.
+     *
+     * @param metrics the flow execution metrics
+     */
+    public void setMetrics(FlowExecutionMetrics metrics) {
+        Assert.notNull(metrics, "The flow execution metrics are required");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Sets the profiler the size of each snapshot is reported to, to profile snapshot sizes per scope and attribute and
+     * enforce a snapshot size budget. Defaults to none.
+     *
+     * @param sizeProfiler the snapshot size profiler
+     */
+    public void setSizeProfiler(SnapshotSizeProfiler sizeProfiler) {
+        this.sizeProfiler = sizeProfiler;
+    }
+
     public FlowExecutionSnapshot createSnapshot(FlowExecution flowExecution) throws SnapshotCreationException {
-        return new SerializedFlowExecutionSnapshot(flowExecution, compress);
+        SerializedFlowExecutionSnapshot snapshot;
+        if (metrics == NoOpFlowExecutionMetrics.INSTANCE) {
+            snapshot = new SerializedFlowExecutionSnapshot(flowExecution, compress);
+        } else {
+            long start = System.nanoTime();
+            snapshot = new SerializedFlowExecutionSnapshot(flowExecution, compress);
+            metrics.recordSnapshotSerialization(System.nanoTime() - start, snapshot.getSize());
+        }
+        if (sizeProfiler != null) {
+            sizeProfiler.profile(flowExecution, snapshot.getSize());
+        }
+        return snapshot;
     }
 
     public FlowExecution restoreExecution(FlowExecutionSnapshot snapshot, String flowId, FlowExecutionKey key,
@@ -83,7 +121,13 @@ public class SerializedFlowExecutionSnapshotFactory implements FlowExecutionSnap
         FlowDefinition def = flowDefinitionLocator.getFlowDefinition(flowId);
         FlowExecution execution;
         try {
-            execution = snapshotImpl.unmarshal(def.getClassLoader());
+            if (metrics == NoOpFlowExecutionMetrics.INSTANCE) {
+                execution = snapshotImpl.unmarshal(def.getClassLoader());
+            } else {
+                long start = System.nanoTime();
+                execution = snapshotImpl.unmarshal(def.getClassLoader());
+                metrics.recordSnapshotDeserialization(System.nanoTime() - start, snapshotImpl.getSize());
+            }
         } catch (SnapshotUnmarshalException e) {
             throw new FlowExecutionRestorationFailureException(key, e);
         }
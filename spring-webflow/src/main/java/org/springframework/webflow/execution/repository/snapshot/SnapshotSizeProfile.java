@@ -0,0 +1,184 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.snapshot;
+
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.webflow.execution.ScopeType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The size profile of a single flow execution snapshot, created by a {@link SnapshotSizeProfiler}: the size of the
+ * snapshot itself and, if attribute profiling is enabled, the serialized size of each attribute in flow, view,
+ * conversation and flash scope.
+ * <p>
+ * Attribute sizes are measured by serializing each attribute value on its own, without compression, so they show which
+ * attributes dominate rather than add up to the snapshot size: objects referenced by several attributes are counted for
+ * each of them. Attributes are identified by their scope and name, for example <code>flowScope.hotels</code>; flow
+ * scope attributes of the same name in a flow and its parent flows are added up.
+ * <p>
+ * Conversation and flash scope are not part of the snapshot: they are stored with the conversation, and take session
+ * memory once however many snapshots there are. Their attributes are profiled all the same, but
+ * {@link #getLargestSnapshotAttributes(int)} leaves them out.
+ */
+public class SnapshotSizeProfile {
+
+    private final String flowId;
+
+    private final int snapshotSize;
+
+    private final Map<ScopeType, Long> scopeSizes;
+
+    private final Map<String, Long> attributeSizes;
+
+    /**
+     * Creates a new snapshot size profile.
+     *
+     * @param flowId         the id of the root flow of the snapshotted execution
+     * @param snapshotSize   the size of the snapshot in bytes
+     * @param scopeSizes     the total serialized size of the attributes of each scope profiled
+     * @param attributeSizes the serialized size of each attribute profiled, keyed by scope and attribute name
+     */
+    public SnapshotSizeProfile(String flowId, int snapshotSize, Map<ScopeType, Long> scopeSizes,
+                               Map<String, Long> attributeSizes) {
+        this.flowId = flowId;
+        this.snapshotSize = snapshotSize;
+        this.scopeSizes = scopeSizes.isEmpty() ? Collections.emptyMap() : new EnumMap<>(scopeSizes);
+        this.attributeSizes = Collections.unmodifiableMap(new LinkedHashMap<>(attributeSizes));
+    }
+
+    /**
+     * Returns the key an attribute is identified by in a profile, such as <code>flowScope.hotels</code>.
+     *
+     * @param scope         the scope of the attribute
+     * @param attributeName the name of the attribute
+     * @return the attribute key
+     */
+    public static String getAttributeKey(ScopeType scope, String attributeName) {
+        return scope.name().toLowerCase(Locale.ROOT) + "Scope." + attributeName;
+    }
+
+    /**
+     * Returns whether the attributes of the given scope are part of flow execution snapshots. Flow and view scope are;
+     * conversation and flash scope are stored with the conversation instead.
+     *
+     * @param scope the scope
+     * @return true if the scope is part of snapshots
+     */
+    public static boolean isSnapshotScope(ScopeType scope) {
+        return scope == ScopeType.FLOW || scope == ScopeType.VIEW;
+    }
+
+    /**
+     * Returns the id of the root flow of the snapshotted flow execution.
+     */
+    public String getFlowId() {
+        return flowId;
+    }
+
+    /**
+     * Returns the size of the snapshot in bytes, after compression if enabled.
+     */
+    public int getSnapshotSize() {
+        return snapshotSize;
+    }
+
+    /**
+     * Returns whether attribute sizes were profiled.
+     */
+    public boolean isAttributesProfiled() {
+        return !scopeSizes.isEmpty();
+    }
+
+    /**
+     * Returns the total serialized size in bytes of the attributes in the given scope, or 0 if attribute sizes were not
+     * profiled.
+     *
+     * @param scope the scope
+     * @return the scope size
+     */
+    public long getScopeSize(ScopeType scope) {
+        Long size = scopeSizes.get(scope);
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Returns the serialized size in bytes of each attribute, keyed by scope and attribute name. Empty if attribute
+     * sizes were not profiled.
+     */
+    public Map<String, Long> getAttributeSizes() {
+        return attributeSizes;
+    }
+
+    /**
+     * Returns the keys of the largest attributes, largest first.
+     *
+     * @param max the maximum number of attributes to return
+     * @return the attribute keys
+     */
+    public List<String> getLargestAttributes(int max) {
+        return getLargestAttributes(max, false);
+    }
+
+    /**
+     * Returns the keys of the largest attributes that are part of the snapshot, largest first. Conversation and flash
+     * scope attributes are left out.
+     *
+     * @param max the maximum number of attributes to return
+     * @return the attribute keys
+     * @see #isSnapshotScope(ScopeType)
+     */
+    public List<String> getLargestSnapshotAttributes(int max) {
+        return getLargestAttributes(max, true);
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("flowId", flowId).append("snapshotSize", snapshotSize)
+            .append("scopeSizes", scopeSizes).append("largestAttributes", getLargestAttributes(5)).toString();
+    }
+
+    // internal helpers
+
+    private List<String> getLargestAttributes(int max, boolean snapshotOnly) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(attributeSizes.size());
+        for (Map.Entry<String, Long> entry : attributeSizes.entrySet()) {
+            if (!snapshotOnly || isSnapshotAttribute(entry.getKey())) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        List<String> largest = new ArrayList<>(Math.min(max, entries.size()));
+        for (int i = 0; i < entries.size() && i < max; i++) {
+            largest.add(entries.get(i).getKey());
+        }
+        return largest;
+    }
+
+    private static boolean isSnapshotAttribute(String key) {
+        for (ScopeType scope : ScopeType.values()) {
+            if (isSnapshotScope(scope) && key.startsWith(getAttributeKey(scope, ""))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.snapshot;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.style.ToStringCreator;
+import org.springframework.util.Assert;
+import org.springframework.webflow.core.collection.AttributeMap;
+import org.springframework.webflow.definition.StateDefinition;
+import org.springframework.webflow.execution.FlowExecution;
+import org.springframework.webflow.execution.FlowSession;
+import org.springframework.webflow.execution.ScopeType;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Profiles the size of flow execution snapshots as they are created by a
+ * {@link SerializedFlowExecutionSnapshotFactory}, to find the flows and attributes that make snapshots, and so user
+ * sessions, grow.
+ * <p>
+ * Each snapshot is checked against an optional per-execution size budget, in bytes. Snapshots over budget are logged
+ * as a warning or, with the {@link BudgetPolicy#FAIL FAIL} policy, rejected with a {@link SnapshotCreationException}.
+ * Unless {@link #setProfileAttributes(boolean) disabled}, the serialized size of every attribute in flow, view,
+ * conversation and flash scope is measured too, which means serializing the attributes a second time. Totals are kept
+ * in a {@link SnapshotSizeRegistry}.
+ * <p>
+ * Conversation and flash scope are not part of the snapshot, so they are reported separately when a snapshot exceeds
+ * the budget, and are never named among the attributes that made it exceed the budget. Their attributes need not be
+ * serializable; attributes that cannot be serialized are left out of the profile.
+ * <p>
+ * This class is thread-safe once configured.
+ *
+ * @see SerializedFlowExecutionSnapshotFactory#setSizeProfiler(SnapshotSizeProfiler)
+ */
+public class SnapshotSizeProfiler {
+
+    private static final Log logger = LogFactory.getLog(SnapshotSizeProfiler.class);
+
+    private static final int LARGEST_ATTRIBUTES_REPORTED = 5;
+
+    /**
+     * What to do when a snapshot exceeds the size budget.
+     */
+    public enum BudgetPolicy {
+
+        /**
+         * Log a warning and keep the snapshot.
+         */
+        WARN,
+
+        /**
+         * Reject the snapshot with a {@link SnapshotCreationException}.
+         */
+        FAIL
+    }
+
+    private boolean profileAttributes = true;
+
+    private int maxSnapshotSize;
+
+    private BudgetPolicy budgetPolicy = BudgetPolicy.WARN;
+
+    private SnapshotSizeRegistry registry = new SnapshotSizeRegistry();
+
+    /**
+     * Returns whether the serialized size of each scope attribute is measured.
+     */
+    public boolean isProfileAttributes() {
+        return profileAttributes;
+    }
+
+    /**
+     * Sets whether the serialized size of each scope attribute is measured. Defaults to true. When false, only the
+     * size of the snapshot itself is profiled, which costs nothing extra.
+     *
+     * @param profileAttributes whether to profile attribute sizes
+     */
+    public void setProfileAttributes(boolean profileAttributes) {
+        this.profileAttributes = profileAttributes;
+    }
+
+    /**
+     * Returns the size budget of a snapshot in bytes, or 0 if there is none.
+     */
+    public int getMaxSnapshotSize() {
+        return maxSnapshotSize;
+    }
+
+    /**
+     * Sets the size budget of a snapshot in bytes, after compression if enabled. Defaults to 0, meaning no budget.
+     *
+     * @param maxSnapshotSize the size budget
+     */
+    public void setMaxSnapshotSize(int maxSnapshotSize) {
+        Assert.isTrue(maxSnapshotSize >= 0, "The maximum snapshot size cannot be negative");
+        this.maxSnapshotSize = maxSnapshotSize;
+    }
+
+    /**
+     * Returns what is done when a snapshot exceeds the size budget.
+     */
+    public BudgetPolicy getBudgetPolicy() {
+        return budgetPolicy;
+    }
+
+    /**
+     * Sets what is done when a snapshot exceeds the size budget. Defaults to {@link BudgetPolicy#WARN}.
+     *
+     * @param budgetPolicy the budget policy
+     */
+    public void setBudgetPolicy(BudgetPolicy budgetPolicy) {
+        Assert.notNull(budgetPolicy, "The budget policy is required");
+        this.budgetPolicy = budgetPolicy;
+    }
+
+    /**
+     * Returns the registry snapshot size profiles are recorded in.
+     */
+    public SnapshotSizeRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Sets the registry snapshot size profiles are recorded in, to share it between profilers. Defaults to a registry
+     * of this profiler's own.
+     *
+     * @param registry the snapshot size registry
+     */
+    public void setRegistry(SnapshotSizeRegistry registry) {
+        Assert.notNull(registry, "The snapshot size registry is required");
+        this.registry = registry;
+    }
+
+    /**
+     * Profiles a snapshot of the given flow execution, records the profile in the registry and enforces the size
+     * budget.
+     *
+     * @param flowExecution the snapshotted flow execution
+     * @param snapshotSize  the size of the snapshot in bytes
+     * @return the size profile
+     * @throws SnapshotCreationException if the snapshot exceeds the size budget and the policy is to fail
+     */
+    public SnapshotSizeProfile profile(FlowExecution flowExecution, int snapshotSize)
+        throws SnapshotCreationException {
+        SnapshotSizeProfile profile = createProfile(flowExecution, snapshotSize);
+        boolean budgetExceeded = maxSnapshotSize > 0 && snapshotSize > maxSnapshotSize;
+        registry.record(profile, budgetExceeded);
+        if (budgetExceeded) {
+            budgetExceeded(flowExecution, profile);
+        }
+        return profile;
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("profileAttributes", profileAttributes)
+            .append("maxSnapshotSize", maxSnapshotSize).append("budgetPolicy", budgetPolicy).toString();
+    }
+
+    // hooks for subclassing
+
+    /**
+     * Called when a snapshot exceeds the size budget. The default implementation applies the budget policy.
+     *
+     * @param flowExecution the snapshotted flow execution
+     * @param profile       the size profile of the snapshot
+     * @throws SnapshotCreationException if the snapshot should be rejected
+     */
+    protected void budgetExceeded(FlowExecution flowExecution, SnapshotSizeProfile profile)
+        throws SnapshotCreationException {
+        StringBuilder message = new StringBuilder();
+        message.append("Snapshot of execution ").append(flowExecution.getKey()).append(" of flow '")
+            .append(profile.getFlowId()).append("' is ").append(profile.getSnapshotSize())
+            .append(" bytes, exceeding the budget of ").append(maxSnapshotSize).append(" bytes");
+        if (profile.isAttributesProfiled()) {
+            message.append("; largest attributes: ");
+            boolean first = true;
+            for (String key : profile.getLargestSnapshotAttributes(LARGEST_ATTRIBUTES_REPORTED)) {
+                if (!first) {
+                    message.append(", ");
+                }
+                message.append(key).append(" (").append(profile.getAttributeSizes().get(key)).append(" bytes)");
+                first = false;
+            }
+            message.append("; outside the snapshot: conversation scope ")
+                .append(profile.getScopeSize(ScopeType.CONVERSATION)).append(" bytes, flash scope ")
+                .append(profile.getScopeSize(ScopeType.FLASH)).append(" bytes");
+        }
+        if (budgetPolicy == BudgetPolicy.FAIL) {
+            throw new SnapshotCreationException(flowExecution, message.toString(), null);
+        }
+        logger.warn(message);
+    }
+
+    // internal helpers
+
+    private SnapshotSizeProfile createProfile(FlowExecution flowExecution, int snapshotSize) {
+        String flowId = flowExecution.getDefinition().getId();
+        Map<ScopeType, Long> scopeSizes = new EnumMap<>(ScopeType.class);
+        Map<String, Long> attributeSizes = new LinkedHashMap<>();
+        if (profileAttributes) {
+            for (FlowSession session = flowExecution.getActiveSession(); session != null; session = session
+                .getParent()) {
+                AttributeMap<Object> viewScope = null;
+                StateDefinition state = session.getState();
+                if (state != null && state.isViewState()) {
+                    viewScope = session.getViewScope();
+                    measure(ScopeType.VIEW, viewScope, null, scopeSizes, attributeSizes);
+                }
+                measure(ScopeType.FLOW, session.getScope(), viewScope, scopeSizes, attributeSizes);
+            }
+            AttributeMap<Object> flashScope = flowExecution.getFlashScope();
+            measure(ScopeType.FLASH, flashScope, null, scopeSizes, attributeSizes);
+            measure(ScopeType.CONVERSATION, flowExecution.getConversationScope(), flashScope, scopeSizes,
+                attributeSizes);
+        }
+        return new SnapshotSizeProfile(flowId, snapshotSize, scopeSizes, attributeSizes);
+    }
+
+    /**
+     * Measures the attributes of the given scope, skipping the nested scope it holds, if any: view scope is held in
+     * flow scope, and flash scope in conversation scope. Attributes that cannot be serialized are skipped.
+     */
+    private void measure(ScopeType scope, AttributeMap<Object> attributes, AttributeMap<Object> nestedScope,
+                         Map<ScopeType, Long> scopeSizes, Map<String, Long> attributeSizes) {
+        long scopeSize = scopeSizes.getOrDefault(scope, 0L);
+        for (Map.Entry<String, Object> attribute : attributes.asMap().entrySet()) {
+            if (attribute.getValue() != nestedScope) {
+                String key = SnapshotSizeProfile.getAttributeKey(scope, attribute.getKey());
+                long size;
+                try {
+                    size = serializedSize(attribute.getValue());
+                } catch (IOException e) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Could not serialize attribute " + key + " to profile its size", e);
+                    }
+                    continue;
+                }
+                attributeSizes.merge(key, size, Long::sum);
+                scopeSize += size;
+            }
+        }
+        scopeSizes.put(scope, scopeSize);
+    }
+
+    private static long serializedSize(Object value) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.flush();
+            long headerSize = out.count;
+            oos.writeObject(value);
+            oos.flush();
+            return out.count - headerSize;
+        }
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        public void write(int b) {
+            count++;
+        }
+
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
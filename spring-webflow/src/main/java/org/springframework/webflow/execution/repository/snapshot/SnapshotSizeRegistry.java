@@ -0,0 +1,227 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.execution.repository.snapshot;
+
+import org.springframework.core.style.ToStringCreator;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Keeps running totals of the snapshot size profiles recorded by a {@link SnapshotSizeProfiler}, per root flow, for
+ * inspection by monitoring code: how many snapshots were taken and how large they were, how often the size budget was
+ * exceeded, the largest size seen for each attribute and the profile of the largest snapshot.
+ * <p>
+ * This class is thread-safe. Totals are created the first time a snapshot of a flow is recorded and kept until
+ * {@link #clear() cleared}.
+ */
+public class SnapshotSizeRegistry {
+
+    private final ConcurrentMap<String, FlowTotals> totals = new ConcurrentHashMap<>();
+
+    /**
+     * Records the size profile of a snapshot.
+     *
+     * @param profile        the snapshot size profile
+     * @param budgetExceeded whether the snapshot exceeded the size budget
+     */
+    public void record(SnapshotSizeProfile profile, boolean budgetExceeded) {
+        FlowTotals flowTotals = totals.get(profile.getFlowId());
+        if (flowTotals == null) {
+            flowTotals = totals.computeIfAbsent(profile.getFlowId(), FlowTotals::new);
+        }
+        flowTotals.record(profile, budgetExceeded);
+    }
+
+    /**
+     * Returns the ids of the flows snapshots have been recorded for.
+     */
+    public Set<String> getFlowIds() {
+        return Collections.unmodifiableSet(totals.keySet());
+    }
+
+    /**
+     * Returns the totals of the snapshots recorded for the given flow.
+     *
+     * @param flowId the id of the root flow
+     * @return the totals, or null if no snapshot of the flow has been recorded
+     */
+    public FlowTotals getTotals(String flowId) {
+        return totals.get(flowId);
+    }
+
+    /**
+     * Returns the number of snapshots recorded for all flows.
+     */
+    public long getSnapshotCount() {
+        long count = 0;
+        for (FlowTotals flowTotals : totals.values()) {
+            count += flowTotals.getSnapshotCount();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of the sizes in bytes of the snapshots recorded for all flows.
+     */
+    public long getSnapshotBytes() {
+        long bytes = 0;
+        for (FlowTotals flowTotals : totals.values()) {
+            bytes += flowTotals.getSnapshotBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of snapshots of all flows that exceeded the size budget.
+     */
+    public long getBudgetExceededCount() {
+        long count = 0;
+        for (FlowTotals flowTotals : totals.values()) {
+            count += flowTotals.getBudgetExceededCount();
+        }
+        return count;
+    }
+
+    /**
+     * Discards all totals.
+     */
+    public void clear() {
+        totals.clear();
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("totals", totals).toString();
+    }
+
+    /**
+     * The totals of the snapshots recorded for a single root flow.
+     */
+    public static class FlowTotals {
+
+        private final String flowId;
+
+        private final AtomicLong snapshotCount = new AtomicLong();
+
+        private final AtomicLong snapshotBytes = new AtomicLong();
+
+        private final LongAccumulator maxSnapshotSize = new LongAccumulator(Math::max, 0);
+
+        private final AtomicLong budgetExceededCount = new AtomicLong();
+
+        private final ConcurrentMap<String, LongAccumulator> maxAttributeSizes = new ConcurrentHashMap<>();
+
+        private volatile SnapshotSizeProfile largestProfile;
+
+        private FlowTotals(String flowId) {
+            this.flowId = flowId;
+        }
+
+        /**
+         * Returns the id of the root flow.
+         */
+        public String getFlowId() {
+            return flowId;
+        }
+
+        /**
+         * Returns the number of snapshots recorded.
+         */
+        public long getSnapshotCount() {
+            return snapshotCount.get();
+        }
+
+        /**
+         * Returns the sum of the sizes in bytes of the snapshots recorded.
+         */
+        public long getSnapshotBytes() {
+            return snapshotBytes.get();
+        }
+
+        /**
+         * Returns the average size in bytes of the snapshots recorded.
+         */
+        public long getAverageSnapshotSize() {
+            long count = getSnapshotCount();
+            return count > 0 ? getSnapshotBytes() / count : 0;
+        }
+
+        /**
+         * Returns the size in bytes of the largest snapshot recorded.
+         */
+        public long getMaxSnapshotSize() {
+            return maxSnapshotSize.get();
+        }
+
+        /**
+         * Returns the number of snapshots that exceeded the size budget.
+         */
+        public long getBudgetExceededCount() {
+            return budgetExceededCount.get();
+        }
+
+        /**
+         * Returns the largest serialized size in bytes seen for each attribute profiled, keyed by scope and attribute
+         * name as in {@link SnapshotSizeProfile#getAttributeSizes()}.
+         */
+        public Map<String, Long> getMaxAttributeSizes() {
+            Map<String, Long> sizes = new TreeMap<>();
+            maxAttributeSizes.forEach((key, size) -> sizes.put(key, size.get()));
+            return sizes;
+        }
+
+        /**
+         * Returns the profile of the largest snapshot recorded.
+         */
+        public SnapshotSizeProfile getLargestProfile() {
+            return largestProfile;
+        }
+
+        public String toString() {
+            return new ToStringCreator(this).append("flowId", flowId).append("snapshotCount", getSnapshotCount())
+                .append("snapshotBytes", getSnapshotBytes()).append("maxSnapshotSize", getMaxSnapshotSize())
+                .append("budgetExceededCount", getBudgetExceededCount()).toString();
+        }
+
+        private void record(SnapshotSizeProfile profile, boolean budgetExceeded) {
+            int size = profile.getSnapshotSize();
+            snapshotCount.incrementAndGet();
+            snapshotBytes.addAndGet(size);
+            maxSnapshotSize.accumulate(size);
+            if (budgetExceeded) {
+                budgetExceededCount.incrementAndGet();
+            }
+            profile.getAttributeSizes().forEach((key, attributeSize) -> {
+                LongAccumulator max = maxAttributeSizes.get(key);
+                if (max == null) {
+                    max = maxAttributeSizes.computeIfAbsent(key, k -> new LongAccumulator(Math::max, 0));
+                }
+                max.accumulate(attributeSize);
+            });
+            synchronized (this) {
+                if (largestProfile == null || size > largestProfile.getSnapshotSize()) {
+                    largestProfile = profile;
+                }
+            }
+        }
+    }
+}
@@ -20,8 +20,11 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.util.Assert;
 import org.springframework.webflow.context.ExternalContext;
 import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.context.RequestSignatureUtils;
 import org.springframework.webflow.core.FlowException;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.core.collection.ParameterMap;
+import org.springframework.webflow.core.collection.SharedAttributeMap;
 import org.springframework.webflow.definition.FlowDefinition;
 import org.springframework.webflow.definition.registry.FlowDefinitionLocator;
 import org.springframework.webflow.execution.FlowExecution;
@@ -29,6 +32,14 @@ import org.springframework.webflow.execution.FlowExecutionFactory;
 import org.springframework.webflow.execution.FlowExecutionKey;
 import org.springframework.webflow.execution.repository.FlowExecutionLock;
 import org.springframework.webflow.execution.repository.FlowExecutionRepository;
+import org.springframework.webflow.metrics.FlowExecutionMetrics;
+import org.springframework.webflow.metrics.NoOpFlowExecutionMetrics;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * The default implementation of the central facade for <i>driving</i> the execution of flows within an application.
@@ -61,6 +72,16 @@ import org.springframework.webflow.execution.repository.FlowExecutionRepository;
  * <td>The repository responsible for managing flow execution persistence.</td>
  * <td>None</td>
  * </tr>
+ * <tr>
+ * <td>metrics</td>
+ * <td>The metrics request durations and flow execution lock waits are reported to.</td>
+ * <td>Metrics that record nothing</td>
+ * </tr>
+ * <tr>
+ * <td>coalesceDuplicateSubmits</td>
+ * <td>Whether a resume request duplicating one still in progress shares its result instead of resuming again.</td>
+ * <td>false</td>
+ * </tr>
  * </table>
  *
  * @author Keith Donald
@@ -74,6 +95,10 @@ public class FlowExecutorImpl implements FlowExecutor {
 
     private static final Log logger = LogFactory.getLog(FlowExecutorImpl.class);
 
+    private static final String EVENT_ID_PARAMETER = "_eventId";
+
+    private static final String SUBMITS_IN_PROGRESS_ATTRIBUTE = FlowExecutorImpl.class.getName() + ".submitsInProgress";
+
     /**
      * The locator to access flow definitions registered in a central registry.
      */
@@ -89,6 +114,16 @@ public class FlowExecutorImpl implements FlowExecutor {
      */
     private FlowExecutionRepository executionRepository;
 
+    /**
+     * The metrics request durations and lock waits are reported to.
+     */
+    private FlowExecutionMetrics metrics = NoOpFlowExecutionMetrics.INSTANCE;
+
+    /**
+     * Whether duplicate resume requests share the result of the request in progress.
+     */
+    private boolean coalesceDuplicateSubmits;
+
     /**
      * Create a new flow executor.
      *
@@ -133,8 +168,48 @@ public class FlowExecutorImpl implements FlowExecutor {
         return executionRepository;
     }
 
+    /**
+     * Returns the metrics request durations and flow execution lock waits are reported to.
+     */
+    public FlowExecutionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics request durations and flow execution lock waits are reported to. Defaults to metrics that
+     * record nothing.
+     *
+     * @param metrics the flow execution metrics
+     */
+    public void setMetrics(FlowExecutionMetrics metrics) {
+        Assert.notNull(metrics, "The flow execution metrics are required");
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns whether resume requests duplicating a request in progress share its result.
+     */
+    public boolean getCoalesceDuplicateSubmits() {
+        return coalesceDuplicateSubmits;
+    }
+
+    /**
+     * Sets whether a resume request duplicating a request still in progress in the same session, with the same flow
+     * execution key and the same request parameters, shares the result of that request instead of resuming the flow
+     * execution a second time. This typically happens when a user submits a form twice. The duplicate waits for the
+     * flow execution lock as usual; if by then the request in progress paused the flow execution and redirected, the
+     * duplicate is answered with the same result and the same redirect. Otherwise, the duplicate is processed as
+     * usual. Requests in progress are tracked in the session. The default is false.
+     *
+     * @param coalesceDuplicateSubmits whether to coalesce duplicate submits
+     */
+    public void setCoalesceDuplicateSubmits(boolean coalesceDuplicateSubmits) {
+        this.coalesceDuplicateSubmits = coalesceDuplicateSubmits;
+    }
+
     public FlowExecutionResult launchExecution(String flowId, MutableAttributeMap<?> input, ExternalContext context)
         throws FlowException {
+        long start = metrics != NoOpFlowExecutionMetrics.INSTANCE ? System.nanoTime() : 0;
         try {
             if (logger.isDebugEnabled()) {
                 logger.debug("Launching new execution of flow '" + flowId + "' with input " + input);
@@ -145,7 +220,7 @@ public class FlowExecutorImpl implements FlowExecutor {
             flowExecution.start(input, context);
             if (!flowExecution.hasEnded()) {
                 FlowExecutionLock lock = executionRepository.getLock(flowExecution.getKey());
-                lock.lock();
+                lock(lock);
                 try {
                     executionRepository.putFlowExecution(flowExecution);
                 } finally {
@@ -157,10 +232,40 @@ public class FlowExecutorImpl implements FlowExecutor {
             }
         } finally {
             ExternalContextHolder.setExternalContext(null);
+            recordRequest(flowId, start);
         }
     }
 
     public FlowExecutionResult resumeExecution(String flowExecutionKey, ExternalContext context) throws FlowException {
+        String signature = coalesceDuplicateSubmits ? getSubmitSignature(flowExecutionKey, context) : null;
+        if (signature == null) {
+            return doResumeExecution(flowExecutionKey, context, null, null);
+        }
+        ConcurrentMap<String, SubmitInProgress> submitsInProgress = getSubmitsInProgress(context);
+        SubmitInProgress submit = new SubmitInProgress();
+        SubmitInProgress submitInProgress = submitsInProgress.putIfAbsent(signature, submit);
+        if (submitInProgress != null) {
+            return doResumeExecution(flowExecutionKey, context, null, submitInProgress);
+        }
+        try {
+            return doResumeExecution(flowExecutionKey, context, submit, null);
+        } finally {
+            submitsInProgress.remove(signature, submit);
+        }
+    }
+
+    /**
+     * Resumes a flow execution. The redirect result of a submit is recorded before the flow execution lock is
+     * released, so a duplicate of that submit sees it as soon as it holds the lock.
+     *
+     * @param submit      the submit to record the redirect result of, or null
+     * @param duplicateOf the submit in progress this request duplicates, or null
+     */
+    private FlowExecutionResult doResumeExecution(String flowExecutionKey, ExternalContext context,
+                                                  SubmitInProgress submit, SubmitInProgress duplicateOf)
+        throws FlowException {
+        long start = metrics != NoOpFlowExecutionMetrics.INSTANCE ? System.nanoTime() : 0;
+        String flowId = null;
         try {
             if (logger.isDebugEnabled()) {
                 logger.debug("Resuming flow execution with key '" + flowExecutionKey);
@@ -168,13 +273,27 @@ public class FlowExecutorImpl implements FlowExecutor {
             ExternalContextHolder.setExternalContext(context);
             FlowExecutionKey key = executionRepository.parseFlowExecutionKey(flowExecutionKey);
             FlowExecutionLock lock = executionRepository.getLock(key);
-            lock.lock();
+            lock(lock);
             try {
+                if (duplicateOf != null && duplicateOf.redirectResult != null) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Answering duplicate submit with result " + duplicateOf.redirectResult);
+                    }
+                    context.requestFlowExecutionRedirect();
+                    return duplicateOf.redirectResult;
+                }
                 FlowExecution flowExecution = executionRepository.getFlowExecution(key);
+                if (metrics != NoOpFlowExecutionMetrics.INSTANCE) {
+                    flowId = flowExecution.getDefinition().getId();
+                }
                 flowExecution.resume(context);
                 if (!flowExecution.hasEnded()) {
                     executionRepository.putFlowExecution(flowExecution);
-                    return createPausedResult(flowExecution);
+                    FlowExecutionResult result = createPausedResult(flowExecution);
+                    if (submit != null && context.isResponseCompleteFlowExecutionRedirect()) {
+                        submit.redirectResult = result;
+                    }
+                    return result;
                 } else {
                     executionRepository.removeFlowExecution(flowExecution);
                     return createEndResult(flowExecution);
@@ -184,6 +303,62 @@ public class FlowExecutorImpl implements FlowExecutor {
             }
         } finally {
             ExternalContextHolder.setExternalContext(null);
+            if (flowId != null) {
+                recordRequest(flowId, start);
+            }
+        }
+    }
+
+    /**
+     * Identifies a resume request by flow execution key and request parameters, or returns null if the request signals
+     * no event.
+     */
+    private String getSubmitSignature(String flowExecutionKey, ExternalContext context) {
+        ParameterMap parameters = context.getRequestParameterMap();
+        boolean eventSignaled = parameters.contains(EVENT_ID_PARAMETER);
+        if (!eventSignaled) {
+            // events may also be signaled with parameters such as "_eventId_submit", as sent by submit buttons
+            for (String parameterName : parameters.asMap().keySet()) {
+                if (parameterName.startsWith(EVENT_ID_PARAMETER + "_")) {
+                    eventSignaled = true;
+                    break;
+                }
+            }
+        }
+        if (!eventSignaled) {
+            return null;
+        }
+        return RequestSignatureUtils.getSignature(flowExecutionKey, parameters);
+    }
+
+    /**
+     * Returns the submits in progress in the current session, keyed by signature.
+     */
+    private ConcurrentMap<String, SubmitInProgress> getSubmitsInProgress(ExternalContext context) {
+        SharedAttributeMap<Object> sessionMap = context.getSessionMap();
+        synchronized (sessionMap.getMutex()) {
+            SubmitsInProgress submits = (SubmitsInProgress) sessionMap.get(SUBMITS_IN_PROGRESS_ATTRIBUTE);
+            if (submits == null) {
+                submits = new SubmitsInProgress();
+                sessionMap.put(SUBMITS_IN_PROGRESS_ATTRIBUTE, submits);
+            }
+            return submits.submits;
+        }
+    }
+
+    private void lock(FlowExecutionLock lock) {
+        if (metrics == NoOpFlowExecutionMetrics.INSTANCE) {
+            lock.lock();
+            return;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        metrics.recordLockWait(System.nanoTime() - start);
+    }
+
+    private void recordRequest(String flowId, long start) {
+        if (metrics != NoOpFlowExecutionMetrics.INSTANCE) {
+            metrics.recordRequest(flowId, System.nanoTime() - start);
         }
     }
 
@@ -196,4 +371,29 @@ public class FlowExecutorImpl implements FlowExecutor {
             .toString());
     }
 
+    /**
+     * A resume request in progress that duplicate requests may share the result of.
+     */
+    private static class SubmitInProgress {
+
+        /**
+         * The result of the request if it paused the flow execution and redirected, set while holding the flow
+         * execution lock.
+         */
+        private volatile FlowExecutionResult redirectResult;
+    }
+
+    /**
+     * The submits in progress in a session. They are not serialized with the session.
+     */
+    private static class SubmitsInProgress implements Serializable {
+
+        private transient ConcurrentMap<String, SubmitInProgress> submits = new ConcurrentHashMap<>();
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            submits = new ConcurrentHashMap<>();
+        }
+    }
+
 }
@@ -23,6 +23,7 @@ import jakarta.el.VariableMapper;
 import org.springframework.binding.expression.el.DefaultELResolver;
 import org.springframework.binding.expression.el.ELContextFactory;
 import org.springframework.binding.expression.el.ELExpressionParser;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
 import org.springframework.webflow.execution.RequestContext;
 
 import java.util.ArrayList;
@@ -35,6 +36,12 @@ import java.util.List;
  */
 public class WebFlowELExpressionParser extends ELExpressionParser {
 
+    /**
+     * The name of the request context attribute holding the EL context reused by the expressions evaluated in a
+     * request. Flow code should neither read nor replace it.
+     */
+    public static final String EL_CONTEXT_ATTRIBUTE = WebFlowELExpressionParser.class.getName() + ".elContext";
+
     /**
      * Creates a new Web Flow EL expression parser.
      *
@@ -46,13 +53,43 @@ public class WebFlowELExpressionParser extends ELExpressionParser {
     }
 
     /**
-     * Configures EL context instances for evaluating against a Web Flow request context.
+     * Configures EL context instances for evaluating against a Web Flow request context. The EL context of a request
+     * is created once and stored in the {@link #EL_CONTEXT_ATTRIBUTE} request context attribute, to be reused by every
+     * expression evaluated in that request. An expression evaluated while that context is in use, for example from a
+     * bean method called by another expression, gets a fresh EL context, so it cannot reset the resolved state of the
+     * evaluation it is nested in.
      *
      * @author Keith Donald
      */
     private static class RequestContextELContextFactory implements ELContextFactory {
+
         public ELContext getELContext(Object target) {
             RequestContext context = (RequestContext) target;
+            MutableAttributeMap<Object> attributes = context.getAttributes();
+            Object cached = attributes.get(EL_CONTEXT_ATTRIBUTE);
+            if (cached instanceof WebFlowELContext && ((WebFlowELContext) cached).requestContext == context) {
+                WebFlowELContext elContext = (WebFlowELContext) cached;
+                if (elContext.inUse) {
+                    return createELContext(context);
+                }
+                // reset the state left behind by the previous evaluation
+                elContext.setPropertyResolved(false);
+                elContext.inUse = true;
+                return elContext;
+            }
+            WebFlowELContext elContext = createELContext(context);
+            elContext.inUse = true;
+            attributes.put(EL_CONTEXT_ATTRIBUTE, elContext);
+            return elContext;
+        }
+
+        public void releaseELContext(ELContext elContext) {
+            if (elContext instanceof WebFlowELContext) {
+                ((WebFlowELContext) elContext).inUse = false;
+            }
+        }
+
+        private WebFlowELContext createELContext(RequestContext context) {
             List<ELResolver> customResolvers = new ArrayList<>();
             customResolvers.add(new RequestContextELResolver(context));
             customResolvers.add(new FlowResourceELResolver(context));
@@ -61,16 +98,21 @@ public class WebFlowELExpressionParser extends ELExpressionParser {
             customResolvers.add(new SpringBeanWebFlowELResolver(context));
             customResolvers.add(new ActionMethodELResolver());
             ELResolver resolver = new DefaultELResolver(customResolvers);
-            return new WebFlowELContext(resolver);
+            return new WebFlowELContext(resolver, context);
         }
     }
 
     private static class WebFlowELContext extends ELContext {
 
-        private ELResolver resolver;
+        private final ELResolver resolver;
+
+        private final RequestContext requestContext;
+
+        private boolean inUse;
 
-        public WebFlowELContext(ELResolver resolver) {
+        public WebFlowELContext(ELResolver resolver, RequestContext requestContext) {
             this.resolver = resolver;
+            this.requestContext = requestContext;
         }
 
         public ELResolver getELResolver() {
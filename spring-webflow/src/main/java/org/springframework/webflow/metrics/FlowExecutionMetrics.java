@@ -0,0 +1,100 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.metrics;
+
+/**
+ * A service provider interface for recording the latency and volume of the main operations of flow executions. The flow
+ * executor, flow executions, the snapshot and conversation layers report to a single instance of this interface.
+ * <p>
+ * Methods are called on hot request paths, concurrently. Implementations must be thread-safe and should neither block
+ * nor allocate. All durations are in nanoseconds, as measured with {@link System#nanoTime()}.
+ *
+ * @see NoOpFlowExecutionMetrics
+ * @see InMemoryFlowExecutionMetrics
+ */
+public interface FlowExecutionMetrics {
+
+    /**
+     * Records a request processed by a flow execution: the launch of a new execution or the resumption of a paused one,
+     * including the time spent saving and restoring the execution in the repository.
+     *
+     * @param flowId   the id of the root flow of the execution
+     * @param duration the time spent processing the request
+     */
+    void recordRequest(String flowId, long duration);
+
+    /**
+     * Records time spent in a state of a flow while processing a request, from the time the state was entered or the
+     * request was resumed in it until the flow moved to another state or the request completed.
+     *
+     * @param flowId   the id of the flow
+     * @param stateId  the id of the state
+     * @param duration the time spent in the state
+     */
+    void recordState(String flowId, String stateId, long duration);
+
+    /**
+     * Records the execution of an action.
+     *
+     * @param flowId   the id of the active flow
+     * @param duration the time spent executing the action
+     */
+    void recordAction(String flowId, long duration);
+
+    /**
+     * Records the rendering of a view.
+     *
+     * @param flowId   the id of the active flow
+     * @param stateId  the id of the view state
+     * @param duration the time spent rendering the view
+     */
+    void recordRender(String flowId, String stateId, long duration);
+
+    /**
+     * Records the creation of a flow execution snapshot.
+     *
+     * @param duration the time spent serializing the flow execution
+     * @param size     the size of the snapshot in bytes
+     */
+    void recordSnapshotSerialization(long duration, int size);
+
+    /**
+     * Records the restoration of a flow execution from a snapshot.
+     *
+     * @param duration the time spent deserializing the flow execution
+     * @param size     the size of the snapshot in bytes
+     */
+    void recordSnapshotDeserialization(long duration, int size);
+
+    /**
+     * Records the time a request waited to acquire a conversation lock.
+     *
+     * @param duration the time spent waiting for the lock
+     */
+    void recordLockWait(long duration);
+
+    /**
+     * Records the removal of the oldest snapshot of a flow execution because the maximum number of snapshots was
+     * exceeded.
+     */
+    void recordSnapshotEviction();
+
+    /**
+     * Records the removal of the oldest conversation of a user because the maximum number of conversations was exceeded.
+     */
+    void recordConversationEviction();
+
+}
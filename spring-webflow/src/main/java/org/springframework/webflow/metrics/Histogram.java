@@ -0,0 +1,131 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.metrics;
+
+import org.springframework.core.style.ToStringCreator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of non-negative long values, such as durations in nanoseconds or sizes in bytes. Values are
+ * counted in buckets of exponentially increasing width: bucket <code>n</code> counts values from
+ * <code>2<sup>n-1</sup></code> to <code>2<sup>n</sup> - 1</code>, so percentiles are accurate to within a factor of two.
+ * Recording a value updates a few atomic counters and never allocates.
+ */
+public class Histogram {
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as 0.
+     *
+     * @param value the value to record
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        buckets.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        total.addAndGet(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of values recorded.
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Returns the sum of all values recorded.
+     */
+    public long getTotal() {
+        return total.get();
+    }
+
+    /**
+     * Returns the largest value recorded, or 0 if no value was recorded.
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of all values recorded, or 0 if no value was recorded.
+     */
+    public double getMean() {
+        long count = getCount();
+        return count > 0 ? (double) getTotal() / count : 0;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the values recorded: the upper bound of the bucket holding the
+     * value at that percentile, but no more than the largest value recorded.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the percentile upper bound, or 0 if no value was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100, was " + percentile);
+        }
+        long[] counts = new long[BUCKET_COUNT];
+        long recorded = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            recorded += counts[i];
+        }
+        if (recorded == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(recorded * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("count", getCount()).append("mean", getMean())
+            .append("p50", getPercentile(50)).append("p99", getPercentile(99)).append("max", getMax()).toString();
+    }
+
+    private static int bucketOf(long value) {
+        return Math.min(BUCKET_COUNT - Long.numberOfLeadingZeros(value), BUCKET_COUNT - 1);
+    }
+
+    private static long upperBoundOf(int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+}
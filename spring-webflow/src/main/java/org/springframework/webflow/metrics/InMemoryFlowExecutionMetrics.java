@@ -0,0 +1,213 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.metrics;
+
+import org.springframework.core.style.ToStringCreator;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A metrics implementation that keeps {@link Histogram histograms} of the recorded values in memory, for inspection by
+ * monitoring code or export to a metrics system. Request, action, state and view render durations are kept per flow
+ * (and per state); snapshot, lock and eviction figures are kept globally.
+ * <p>
+ * Histograms are created the first time a value is recorded for a flow or state. After that, recording never allocates.
+ */
+public class InMemoryFlowExecutionMetrics implements FlowExecutionMetrics {
+
+    private final ConcurrentMap<String, Histogram> requestDurations = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Histogram>> stateDurations = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Histogram> actionDurations = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ConcurrentMap<String, Histogram>> renderDurations = new ConcurrentHashMap<>();
+
+    private final Histogram snapshotSerializationDurations = new Histogram();
+
+    private final Histogram snapshotSerializationSizes = new Histogram();
+
+    private final Histogram snapshotDeserializationDurations = new Histogram();
+
+    private final Histogram snapshotDeserializationSizes = new Histogram();
+
+    private final Histogram lockWaitDurations = new Histogram();
+
+    private final AtomicLong snapshotEvictions = new AtomicLong();
+
+    private final AtomicLong conversationEvictions = new AtomicLong();
+
+    // implementing FlowExecutionMetrics
+
+    public void recordRequest(String flowId, long duration) {
+        histogram(requestDurations, flowId).record(duration);
+    }
+
+    public void recordState(String flowId, String stateId, long duration) {
+        histogram(histograms(stateDurations, flowId), stateId).record(duration);
+    }
+
+    public void recordAction(String flowId, long duration) {
+        histogram(actionDurations, flowId).record(duration);
+    }
+
+    public void recordRender(String flowId, String stateId, long duration) {
+        histogram(histograms(renderDurations, flowId), stateId).record(duration);
+    }
+
+    public void recordSnapshotSerialization(long duration, int size) {
+        snapshotSerializationDurations.record(duration);
+        snapshotSerializationSizes.record(size);
+    }
+
+    public void recordSnapshotDeserialization(long duration, int size) {
+        snapshotDeserializationDurations.record(duration);
+        snapshotDeserializationSizes.record(size);
+    }
+
+    public void recordLockWait(long duration) {
+        lockWaitDurations.record(duration);
+    }
+
+    public void recordSnapshotEviction() {
+        snapshotEvictions.incrementAndGet();
+    }
+
+    public void recordConversationEviction() {
+        conversationEvictions.incrementAndGet();
+    }
+
+    // accessing recorded metrics
+
+    /**
+     * Returns the request durations, keyed by flow id.
+     */
+    public Map<String, Histogram> getRequestDurations() {
+        return Collections.unmodifiableMap(requestDurations);
+    }
+
+    /**
+     * Returns the durations spent in the states of the given flow, keyed by state id.
+     *
+     * @param flowId the flow id
+     */
+    public Map<String, Histogram> getStateDurations(String flowId) {
+        return unmodifiableHistograms(stateDurations, flowId);
+    }
+
+    /**
+     * Returns the action execution durations, keyed by flow id.
+     */
+    public Map<String, Histogram> getActionDurations() {
+        return Collections.unmodifiableMap(actionDurations);
+    }
+
+    /**
+     * Returns the view render durations of the view states of the given flow, keyed by state id.
+     *
+     * @param flowId the flow id
+     */
+    public Map<String, Histogram> getRenderDurations(String flowId) {
+        return unmodifiableHistograms(renderDurations, flowId);
+    }
+
+    /**
+     * Returns the durations of flow execution snapshot creations.
+     */
+    public Histogram getSnapshotSerializationDurations() {
+        return snapshotSerializationDurations;
+    }
+
+    /**
+     * Returns the sizes in bytes of the flow execution snapshots created.
+     */
+    public Histogram getSnapshotSerializationSizes() {
+        return snapshotSerializationSizes;
+    }
+
+    /**
+     * Returns the durations of flow execution restorations from snapshots.
+     */
+    public Histogram getSnapshotDeserializationDurations() {
+        return snapshotDeserializationDurations;
+    }
+
+    /**
+     * Returns the sizes in bytes of the flow execution snapshots restored.
+     */
+    public Histogram getSnapshotDeserializationSizes() {
+        return snapshotDeserializationSizes;
+    }
+
+    /**
+     * Returns the durations requests waited to acquire conversation locks.
+     */
+    public Histogram getLockWaitDurations() {
+        return lockWaitDurations;
+    }
+
+    /**
+     * Returns the number of snapshots removed because the maximum number of snapshots per execution was exceeded.
+     */
+    public long getSnapshotEvictions() {
+        return snapshotEvictions.get();
+    }
+
+    /**
+     * Returns the number of conversations removed because the maximum number of conversations per user was exceeded.
+     */
+    public long getConversationEvictions() {
+        return conversationEvictions.get();
+    }
+
+    public String toString() {
+        return new ToStringCreator(this).append("requestDurations", requestDurations)
+            .append("actionDurations", actionDurations).append("lockWaitDurations", lockWaitDurations)
+            .append("snapshotSerializationDurations", snapshotSerializationDurations)
+            .append("snapshotDeserializationDurations", snapshotDeserializationDurations)
+            .append("snapshotEvictions", getSnapshotEvictions())
+            .append("conversationEvictions", getConversationEvictions()).toString();
+    }
+
+    // internal helpers
+
+    private static Histogram histogram(ConcurrentMap<String, Histogram> histograms, String key) {
+        Histogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(key, k -> new Histogram());
+        }
+        return histogram;
+    }
+
+    private static ConcurrentMap<String, Histogram> histograms(
+        ConcurrentMap<String, ConcurrentMap<String, Histogram>> histogramsByFlow, String flowId) {
+        ConcurrentMap<String, Histogram> histograms = histogramsByFlow.get(flowId);
+        if (histograms == null) {
+            histograms = histogramsByFlow.computeIfAbsent(flowId, k -> new ConcurrentHashMap<>());
+        }
+        return histograms;
+    }
+
+    private static Map<String, Histogram> unmodifiableHistograms(
+        ConcurrentMap<String, ConcurrentMap<String, Histogram>> histogramsByFlow, String flowId) {
+        Map<String, Histogram> histograms = histogramsByFlow.get(flowId);
+        return histograms != null ? Collections.unmodifiableMap(histograms) : Collections.emptyMap();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.metrics;
+
+/**
+ * A singleton metrics implementation that doesn't record anything. The default, for when flow execution metrics are not
+ * collected.
+ */
+public class NoOpFlowExecutionMetrics implements FlowExecutionMetrics {
+
+    /**
+     * The singleton instance.
+     */
+    public static final NoOpFlowExecutionMetrics INSTANCE = new NoOpFlowExecutionMetrics();
+
+    /**
+     * Private constructor to avoid instantiation.
+     */
+    private NoOpFlowExecutionMetrics() {
+    }
+
+    public void recordRequest(String flowId, long duration) {
+        // no-op
+    }
+
+    public void recordState(String flowId, String stateId, long duration) {
+        // no-op
+    }
+
+    public void recordAction(String flowId, long duration) {
+        // no-op
+    }
+
+    public void recordRender(String flowId, String stateId, long duration) {
+        // no-op
+    }
+
+    public void recordSnapshotSerialization(long duration, int size) {
+        // no-op
+    }
+
+    public void recordSnapshotDeserialization(long duration, int size) {
+        // no-op
+    }
+
+    public void recordLockWait(long duration) {
+        // no-op
+    }
+
+    public void recordSnapshotEviction() {
+        // no-op
+    }
+
+    public void recordConversationEviction() {
+        // no-op
+    }
+
+    public String toString() {
+        return "NoOpFlowExecutionMetrics";
+    }
+}
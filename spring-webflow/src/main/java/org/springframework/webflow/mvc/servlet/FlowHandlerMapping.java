@@ -19,6 +19,8 @@ import jakarta.servlet.ServletContext;
 import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.util.Assert;
 import org.springframework.web.servlet.handler.AbstractHandlerMapping;
 import org.springframework.webflow.context.servlet.DefaultFlowUrlHandler;
@@ -26,6 +28,10 @@ import org.springframework.webflow.context.servlet.FlowUrlHandler;
 import org.springframework.webflow.definition.FlowDefinition;
 import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * Implementation of {@link org.springframework.web.servlet.HandlerMapping} that follows a simple convention for
  * creating URL path mappings from the <i>ids</i> of registered {@link FlowDefinition flow definitions}.
@@ -36,17 +42,34 @@ import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
  * invocation of a flow from Spring MVC environment.
  * <p>
  * Null is returned in the case of no flow id match, allowing the next handler mapping in the chain to execute.
+ * <p>
+ * Resolved handlers are cached by flow id, so repeated requests for the same id do not query the application context
+ * or the registry again. Custom FlowHandler beans are only cached if they are singletons. Since flow ids come from
+ * request paths, only the first {@value #MAX_UNMAPPED_FLOW_IDS} ids found not to map to a handler are remembered; the
+ * others are looked up on every request. The cache is cleared when the application context is refreshed and whenever
+ * flow definitions are registered with the flow registry or one of its parents.
  *
  * @author Keith Donald
  */
-public class FlowHandlerMapping extends AbstractHandlerMapping {
+public class FlowHandlerMapping extends AbstractHandlerMapping implements ApplicationListener<ContextRefreshedEvent> {
 
     private static final Log logger = LogFactory.getLog(FlowHandlerMapping.class);
 
+    /**
+     * The maximum number of flow ids known not to map to a handler that are cached.
+     */
+    private static final int MAX_UNMAPPED_FLOW_IDS = 256;
+
     private FlowDefinitionRegistry flowRegistry;
 
     private FlowUrlHandler flowUrlHandler;
 
+    private final ConcurrentMap<String, Object> handlers = new ConcurrentHashMap<>();
+
+    private final Set<String> unmappedFlowIds = ConcurrentHashMap.newKeySet();
+
+    private volatile int cachedFlowDefinitionCount = -1;
+
     /**
      * Returns the registry of flows to query when this mapping is tested.
      *
@@ -90,6 +113,21 @@ public class FlowHandlerMapping extends AbstractHandlerMapping {
         if (flowUrlHandler == null) {
             flowUrlHandler = new DefaultFlowUrlHandler();
         }
+        clearHandlerCache();
+    }
+
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        clearHandlerCache();
+    }
+
+    /**
+     * Clears the cache of handlers resolved by flow id. Call this when custom FlowHandler beans or flow definitions
+     * change in a way this mapping cannot detect.
+     */
+    public void clearHandlerCache() {
+        handlers.clear();
+        unmappedFlowIds.clear();
+        cachedFlowDefinitionCount = -1;
     }
 
     protected Object getHandlerInternal(HttpServletRequest request) throws Exception {
@@ -97,32 +135,33 @@ public class FlowHandlerMapping extends AbstractHandlerMapping {
         if (flowId == null) {
             return null;
         }
-        if (getApplicationContext().containsBean(flowId)) {
-            Object handler = getApplicationContext().getBean(flowId);
-            if (handler instanceof FlowHandler) {
-                if (logger.isDebugEnabled()) {
-                    logger.debug("Mapping request with URI '" + request.getRequestURI() + "' to flow with id '"
-                                 + flowId + "'; custom FlowHandler " + handler + " will manage flow execution");
-                }
-                return handler;
-            }
+        int flowDefinitionCount = getFlowDefinitionCount(flowRegistry);
+        if (flowDefinitionCount != cachedFlowDefinitionCount) {
+            handlers.clear();
+            unmappedFlowIds.clear();
+            cachedFlowDefinitionCount = flowDefinitionCount;
+        }
+        Object handler = handlers.get(flowId);
+        if (handler == null && !unmappedFlowIds.contains(flowId)) {
+            handler = resolveHandler(flowId);
         }
-        if (flowRegistry.containsFlowDefinition(flowId)) {
+        if (handler == null) {
             if (logger.isDebugEnabled()) {
-                logger.debug("Mapping request with URI '" + request.getRequestURI() + "' to flow with id '" + flowId
-                             + "'");
+                logger.debug("No flow mapping found for request with URI '" + request.getRequestURI() + "'");
             }
-            return createDefaultFlowHandler(flowId);
+            return null;
         }
         if (logger.isDebugEnabled()) {
-            logger.debug("No flow mapping found for request with URI '" + request.getRequestURI() + "'");
+            logger.debug("Mapping request with URI '" + request.getRequestURI() + "' to flow with id '" + flowId
+                         + "'; FlowHandler " + handler + " will manage flow execution");
         }
-        return null;
+        return handler;
     }
 
     /**
      * Factory method that returns the default flow handler for the flow with the given id. Subclasses may override to
-     * return their own custom default FlowHandler.
+     * return their own custom default FlowHandler. The handler returned is cached and shared by all requests for the
+     * flow, so it must be thread-safe.
      *
      * @param flowId the id of the flow to handle invocation of
      * @return the default flow handler
@@ -131,6 +170,46 @@ public class FlowHandlerMapping extends AbstractHandlerMapping {
         return new DefaultFlowHandler(flowId);
     }
 
+    // internal helpers
+
+    /**
+     * Looks up the handler for the flow with the given id, caching the result unless it is a custom FlowHandler bean
+     * that is not a singleton. Returns null if no handler exists for the id.
+     */
+    private Object resolveHandler(String flowId) {
+        if (getApplicationContext().containsBean(flowId)) {
+            Object handler = getApplicationContext().getBean(flowId);
+            if (handler instanceof FlowHandler) {
+                if (getApplicationContext().isSingleton(flowId)) {
+                    handlers.put(flowId, handler);
+                }
+                return handler;
+            }
+        }
+        if (!flowRegistry.containsFlowDefinition(flowId)) {
+            if (unmappedFlowIds.size() < MAX_UNMAPPED_FLOW_IDS) {
+                unmappedFlowIds.add(flowId);
+            }
+            return null;
+        }
+        Object handler = createDefaultFlowHandler(flowId);
+        Object existing = handlers.putIfAbsent(flowId, handler);
+        return existing != null ? existing : handler;
+    }
+
+    /**
+     * Returns the number of flow definitions in the given registry and its parents. Flow definitions are never removed
+     * from a registry, so a change in this number means a flow has been registered since the cache was filled.
+     */
+    private static int getFlowDefinitionCount(FlowDefinitionRegistry registry) {
+        int count = 0;
+        while (registry != null) {
+            count += registry.getFlowDefinitionCount();
+            registry = registry.getParent();
+        }
+        return count;
+    }
+
     private static class DefaultFlowHandler extends AbstractFlowHandler {
 
         private String flowId;
@@ -33,6 +33,7 @@ import org.springframework.binding.mapping.MappingResults;
 import org.springframework.binding.mapping.MappingResultsCriteria;
 import org.springframework.binding.mapping.impl.DefaultMapper;
 import org.springframework.binding.mapping.impl.DefaultMapping;
+import org.springframework.binding.mapping.impl.DefaultMappingResults;
 import org.springframework.binding.message.MessageBuilder;
 import org.springframework.binding.message.MessageResolver;
 import org.springframework.core.style.ToStringCreator;
@@ -722,13 +723,23 @@ public abstract class AbstractMvcView implements View {
     }
 
     private boolean onlyPropertyNotFoundErrorsPresent(MappingResults results) {
-        return results.getResults(PROPERTY_NOT_FOUND_ERROR).size() == mappingResults.getErrorResults().size();
+        if (results instanceof DefaultMappingResults) {
+            DefaultMappingResults defaultResults = (DefaultMappingResults) results;
+            return defaultResults.getPropertyNotFoundErrorCount() == defaultResults.getErrorCount();
+        }
+        for (MappingResult error : results.getErrorResults()) {
+            if (!PROPERTY_NOT_FOUND_ERROR.test(error)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private void addErrorMessages(MappingResults results) {
-        List<MappingResult> errors = results.getResults(MAPPING_ERROR);
-        for (MappingResult error : errors) {
-            requestContext.getMessageContext().addMessage(createMessageResolver(error));
+        for (MappingResult error : results.getErrorResults()) {
+            if (MAPPING_ERROR.test(error)) {
+                requestContext.getMessageContext().addMessage(createMessageResolver(error));
+            }
         }
     }
 
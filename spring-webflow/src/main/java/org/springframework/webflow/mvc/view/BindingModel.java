@@ -24,7 +24,6 @@ import org.springframework.binding.expression.ExpressionParser;
 import org.springframework.binding.expression.support.FluentParserContext;
 import org.springframework.binding.mapping.MappingResult;
 import org.springframework.binding.mapping.MappingResults;
-import org.springframework.binding.mapping.MappingResultsCriteria;
 import org.springframework.binding.message.Message;
 import org.springframework.binding.message.MessageContext;
 import org.springframework.binding.message.MessageCriteria;
@@ -138,25 +137,23 @@ public class BindingModel extends AbstractErrors implements BindingResult {
     // not typically used by mvc views, but implemented to be on the safe side
 
     public List<ObjectError> getAllErrors() {
-        return toErrors(messageContext.getMessagesByCriteria(ERRORS_ANY_SOURCE), ALL_ERRORS);
+        return toErrors(getErrorMessages(ERRORS_ANY_SOURCE), ALL_ERRORS);
     }
 
     public List<ObjectError> getGlobalErrors() {
-        return toErrors(messageContext.getMessagesByCriteria(ERRORS_WITHOUT_FIELD_SOURCE), ALL_ERRORS);
+        return toErrors(getErrorMessages(ERRORS_WITHOUT_FIELD_SOURCE), ALL_ERRORS);
     }
 
     // never expected to be called by mvc views
 
     public List<FieldError> getFieldErrors(String field) {
         field = fixedField(field);
-        MessageCriteria messageCriteria;
         if (field.endsWith("*")) {
             String prefix = field.substring(0, field.length() - 1);
-            messageCriteria = new FieldPrefixErrorMessage(prefix);
+            return toErrors(getErrorMessages(new FieldPrefixErrorMessage(prefix)), FIELD_ERRORS);
         } else {
-            messageCriteria = new FieldErrorMessage(field);
+            return toErrors(getFieldErrorMessages(field), FIELD_ERRORS);
         }
-        return toErrors(messageContext.getMessagesByCriteria(messageCriteria), FIELD_ERRORS);
     }
 
     public Class<?> getFieldType(String field) {
@@ -166,10 +163,10 @@ public class BindingModel extends AbstractErrors implements BindingResult {
     public Object getFieldValue(String field) {
         field = fixedField(field);
         if (mappingResults != null) {
-            List<MappingResult> results = mappingResults.getResults(new FieldErrorResult(field));
-            if (!results.isEmpty()) {
-                MappingResult fieldError = results.get(0);
-                return fieldError.getOriginalValue();
+            for (MappingResult error : mappingResults.getErrorResults()) {
+                if (field.equals(error.getMapping().getTargetExpression().getExpressionString())) {
+                    return error.getOriginalValue();
+                }
             }
         }
         return getFormattedValue(field);
@@ -178,7 +175,7 @@ public class BindingModel extends AbstractErrors implements BindingResult {
     // implementing BindingResult
 
     public List<FieldError> getFieldErrors() {
-        return toErrors(messageContext.getMessagesByCriteria(ERRORS_FIELD_SOURCE), FIELD_ERRORS);
+        return toErrors(getErrorMessages(ERRORS_FIELD_SOURCE), FIELD_ERRORS);
     }
 
     public String getObjectName() {
@@ -248,36 +245,6 @@ public class BindingModel extends AbstractErrors implements BindingResult {
         T get(String objectName, Message message);
     }
 
-    private static class FieldErrorResult implements MappingResultsCriteria {
-
-        private String field;
-
-        public FieldErrorResult(String field) {
-            this.field = field;
-        }
-
-        public boolean test(MappingResult result) {
-            if (result.isError() && field.equals(result.getMapping().getTargetExpression().getExpressionString())) {
-                return true;
-            } else {
-                return false;
-            }
-        }
-    }
-
-    private static class FieldErrorMessage implements MessageCriteria {
-        private String field;
-
-        public FieldErrorMessage(String field) {
-            Assert.hasText(field, "The field name is required");
-            this.field = field;
-        }
-
-        public boolean test(Message message) {
-            return message.getSeverity() == Severity.ERROR && field.equals(message.getSource());
-        }
-    }
-
     private static class FieldPrefixErrorMessage implements MessageCriteria {
         private String fieldPrefix;
 
@@ -360,6 +327,38 @@ public class BindingModel extends AbstractErrors implements BindingResult {
         }
     }
 
+    private Message[] getErrorMessages(MessageCriteria criteria) {
+        if (!messageContext.hasErrorMessages()) {
+            return null;
+        }
+        return messageContext.getMessagesByCriteria(criteria);
+    }
+
+    private Message[] getFieldErrorMessages(String field) {
+        if (!messageContext.hasErrorMessages()) {
+            return null;
+        }
+        // the messages of a field are indexed by source, no need to test every message in the context
+        Message[] messages = messageContext.getMessagesBySource(field);
+        int errorCount = 0;
+        for (Message message : messages) {
+            if (message.getSeverity() == Severity.ERROR) {
+                errorCount++;
+            }
+        }
+        if (errorCount == messages.length) {
+            return messages;
+        }
+        Message[] errors = new Message[errorCount];
+        int i = 0;
+        for (Message message : messages) {
+            if (message.getSeverity() == Severity.ERROR) {
+                errors[i++] = message;
+            }
+        }
+        return errors;
+    }
+
     private <T extends ObjectError> List<T> toErrors(Message[] messages, ObjectErrorFactory<T> errorFactory) {
         if (messages == null || messages.length == 0) {
             return Collections.emptyList();
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.context;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.core.collection.LocalParameterMap;
+import org.springframework.webflow.core.collection.ParameterMap;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestSignatureUtilsTests {
+
+    @Test
+    public void testParameterOrderIgnored() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("a", "1");
+        parameters.put("b", "2");
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("b", "2");
+        reordered.put("a", "1");
+        assertEquals(RequestSignatureUtils.getSignature("e1s1", new LocalParameterMap(parameters)),
+            RequestSignatureUtils.getSignature("e1s1", new LocalParameterMap(reordered)));
+    }
+
+    @Test
+    public void testDifferentPrefix() {
+        ParameterMap parameters = parameters("a", "1");
+        assertNotEquals(RequestSignatureUtils.getSignature("e1s1", parameters),
+            RequestSignatureUtils.getSignature("e1s2", parameters));
+        assertNotEquals(RequestSignatureUtils.getSignature(null, parameters),
+            RequestSignatureUtils.getSignature("", parameters));
+    }
+
+    @Test
+    public void testArrayNotConfusedWithSingleValue() {
+        assertNotEquals(RequestSignatureUtils.getSignature(null, parameters("a", "[x, y]")),
+            RequestSignatureUtils.getSignature(null, parameters("a", new String[] { "x", "y" })));
+        assertNotEquals(RequestSignatureUtils.getSignature(null, parameters("a", new String[] { "x, y" })),
+            RequestSignatureUtils.getSignature(null, parameters("a", new String[] { "x", "y" })));
+    }
+
+    @Test
+    public void testValuesNotConfusedWithNames() {
+        assertNotEquals(RequestSignatureUtils.getSignature(null, parameters("a", "b=c")),
+            RequestSignatureUtils.getSignature(null, parameters("a=b", "c")));
+    }
+
+    @Test
+    public void testParameterValuesNotExposed() {
+        String signature = RequestSignatureUtils.getSignature("e1s1", parameters("password", "secret"));
+        assertFalse(signature.contains("secret"));
+        assertFalse(signature.contains("e1s1"));
+    }
+
+    private ParameterMap parameters(String name, Object value) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(name, value);
+        return new LocalParameterMap(parameters);
+    }
+}
@@ -19,7 +19,11 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
 
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -88,4 +92,33 @@ public class HttpServletRequestParameterMapTests {
         String name = names.next();
         assertEquals("Some param", name);
     }
+
+    @Test
+    public void testParameterIndex() {
+        request.setParameter("foo", "bar");
+        request.setParameter("baz", "one", "two");
+        assertEquals(2, tested.size());
+        assertFalse(tested.isEmpty());
+        assertTrue(tested.containsKey("foo"));
+        assertFalse(tested.containsKey("bogus"));
+        assertTrue(tested.containsValue("bar"));
+        assertEquals(new HashSet<>(Arrays.asList("foo", "baz")), tested.keySet());
+        assertArrayEquals(new String[] { "one", "two" }, (String[]) tested.get("baz"));
+        assertSame(tested.get("baz"), tested.get("baz"));
+        assertThrows(UnsupportedOperationException.class, () -> tested.keySet().clear());
+    }
+
+    @Test
+    public void testMultipartParameterIndex() {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.setParameter("foo", "bar");
+        request.setParameter("file", "ignored");
+        MockMultipartFile file = new MockMultipartFile("file", new byte[0]);
+        request.addFile(file);
+        tested = new HttpServletRequestParameterMap(request);
+        assertEquals(2, tested.size());
+        assertSame(file, tested.get("file"));
+        assertEquals("bar", tested.get("foo"));
+        assertEquals("file", tested.getAttributeNames().next());
+    }
 }
@@ -72,6 +72,18 @@ public class ServletExternalContextTests {
         assertEquals("bar", context.getSessionMap().get("sFoo"));
     }
 
+    @Test
+    public void testReadSessionMapDoesNotCreateSession() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        context = new ServletExternalContext(servletContext, request, response);
+        assertSame(context.getSessionMap(), context.getSessionMap());
+        assertNull(context.getSessionMap().get("sFoo"));
+        assertTrue(context.getSessionMap().isEmpty());
+        assertNull(request.getSession(false));
+        context.getSessionMap().put("sFoo", "bar");
+        assertEquals("bar", request.getSession(false).getAttribute("sFoo"));
+    }
+
     @Test
     public void testGetRequestAttribute() {
         assertEquals("bar", context.getRequestMap().get("rFoo"));
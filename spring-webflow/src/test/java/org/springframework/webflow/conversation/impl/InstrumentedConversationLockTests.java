@@ -0,0 +1,181 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.conversation.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.context.ExternalContextHolder;
+import org.springframework.webflow.test.MockExternalContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstrumentedConversationLockTests {
+
+    private ConversationLockPolicy policy = new ConversationLockPolicy();
+
+    private ConversationLockStatistics statistics = new ConversationLockStatistics();
+
+    private ExecutorService executor = Executors.newCachedThreadPool();
+
+    private CountDownLatch release = new CountDownLatch(1);
+
+    private List<String> acquisitions = Collections.synchronizedList(new ArrayList<>());
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testUncontended() {
+        InstrumentedConversationLock lock = new InstrumentedConversationLock(30, policy, statistics);
+        lock.lock();
+        lock.lock();
+        lock.unlock();
+        lock.unlock();
+        assertEquals(2, statistics.getWaitTimes().getCount());
+        assertEquals(0, statistics.getQueueLengths().getMax());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        InstrumentedConversationLock lock = new InstrumentedConversationLock(0, policy, statistics);
+        holdLock(lock);
+        assertThrows(LockTimeoutException.class, lock::lock);
+        assertEquals(1, statistics.getTimeouts());
+    }
+
+    @Test
+    public void testFailFastWhenQueueFull() throws Exception {
+        policy.setMaxWaiters(1);
+        InstrumentedConversationLock lock = new InstrumentedConversationLock(30, policy, statistics);
+        holdLock(lock);
+        Future<?> waiting = executor.submit(lock::lock);
+        awaitQueueLength(lock, 1);
+        assertThrows(LockQueueFullException.class, lock::lock);
+        assertEquals(1, statistics.getRejections());
+        release.countDown();
+        waiting.get(5, TimeUnit.SECONDS);
+        assertEquals(2, statistics.getWaitTimes().getCount());
+        assertEquals(1, statistics.getQueueLengths().getMax());
+    }
+
+    @Test
+    public void testCoalesceResubmits() throws Exception {
+        policy.setCoalesceResubmits(true);
+        InstrumentedConversationLock lock = new InstrumentedConversationLock(30, policy, statistics);
+        holdLock(lock);
+        Future<?> first = executor.submit(() -> lockWithParameters(lock, "submit"));
+        awaitQueueLength(lock, 1);
+        Future<?> other = executor.submit(() -> lockWithParameters(lock, "cancel"));
+        awaitQueueLength(lock, 2);
+        Future<?> resubmit = executor.submit(() -> lockWithParameters(lock, "submit"));
+        Exception e = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof LockSupersededException);
+        assertEquals(1, statistics.getSupersessions());
+        release.countDown();
+        other.get(5, TimeUnit.SECONDS);
+        resubmit.get(5, TimeUnit.SECONDS);
+        assertEquals(3, statistics.getWaitTimes().getCount());
+    }
+
+    @Test
+    public void testCoalescingWaitersKeepArrivalOrder() throws Exception {
+        policy.setFair(true);
+        policy.setCoalesceResubmits(true);
+        InstrumentedConversationLock lock = new InstrumentedConversationLock(30, policy, statistics);
+        holdLock(lock);
+        List<Future<?>> waiters = new ArrayList<>();
+        for (String eventId : List.of("first", "second", "third")) {
+            waiters.add(executor.submit(() -> lockWithParameters(lock, eventId)));
+            awaitQueueLength(lock, waiters.size());
+        }
+        Thread.sleep(100);
+        assertEquals(3, lock.getQueueLength());
+        release.countDown();
+        for (Future<?> waiter : waiters) {
+            waiter.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of("first", "second", "third"), acquisitions);
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        InstrumentedConversationLock lock = new InstrumentedConversationLock(30, policy, statistics);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(lock);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            InstrumentedConversationLock restored = (InstrumentedConversationLock) in.readObject();
+            restored.lock();
+            restored.unlock();
+        }
+        assertEquals(0, statistics.getWaitTimes().getCount());
+    }
+
+    private void holdLock(InstrumentedConversationLock lock) throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        executor.submit(() -> {
+            lock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } finally {
+                lock.unlock();
+            }
+            return null;
+        });
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+    }
+
+    private void lockWithParameters(InstrumentedConversationLock lock, String eventId) {
+        MockExternalContext context = new MockExternalContext();
+        context.putRequestParameter("execution", "e1s1");
+        context.setEventId(eventId);
+        ExternalContextHolder.setExternalContext(context);
+        try {
+            lock.lock();
+            acquisitions.add(eventId);
+            lock.unlock();
+            assertFalse(Thread.currentThread().isInterrupted());
+        } finally {
+            ExternalContextHolder.setExternalContext(null);
+        }
+    }
+
+    private void awaitQueueLength(InstrumentedConversationLock lock, int queueLength) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (lock.getQueueLength() < queueLength && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(queueLength, lock.getQueueLength());
+    }
+}
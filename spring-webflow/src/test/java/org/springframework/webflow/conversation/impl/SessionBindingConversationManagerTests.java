@@ -23,6 +23,7 @@ import org.springframework.webflow.conversation.Conversation;
 import org.springframework.webflow.conversation.ConversationException;
 import org.springframework.webflow.conversation.ConversationId;
 import org.springframework.webflow.conversation.ConversationParameters;
+import org.springframework.webflow.conversation.NoSuchConversationException;
 import org.springframework.webflow.core.collection.SharedAttributeMap;
 import org.springframework.webflow.test.MockExternalContext;
 
@@ -67,6 +68,19 @@ public class SessionBindingConversationManagerTests {
         }
     }
 
+    @Test
+    public void testLockPolicy() {
+        ExternalContextHolder.setExternalContext(new MockExternalContext());
+        ConversationLockPolicy lockPolicy = new ConversationLockPolicy();
+        lockPolicy.setMaxWaiters(5);
+        conversationManager.setLockPolicy(lockPolicy);
+        Conversation conversation = conversationManager.beginConversation(new ConversationParameters("test", "test",
+            "test"));
+        conversation.lock();
+        conversation.unlock();
+        assertEquals(1, conversationManager.getLockStatistics().getWaitTimes().getCount());
+    }
+
     @Test
     public void testNoPassivation() {
         ExternalContextHolder.setExternalContext(new MockExternalContext());
@@ -138,6 +152,15 @@ public class SessionBindingConversationManagerTests {
         assertNotNull(conversationManager.getConversation(conversation3.getId()));
     }
 
+    @Test
+    public void testGetConversationDoesNotCreateContainer() {
+        MockExternalContext context = new MockExternalContext();
+        ExternalContextHolder.setExternalContext(context);
+        assertThrows(NoSuchConversationException.class,
+            () -> conversationManager.getConversation(new SimpleConversationId(1)));
+        assertTrue(context.getSessionMap().isEmpty());
+    }
+
     @Test
     public void testCustomSessionKey() {
         conversationManager.setSessionKey("foo");
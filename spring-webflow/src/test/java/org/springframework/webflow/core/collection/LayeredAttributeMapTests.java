@@ -0,0 +1,167 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.core.collection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link LayeredAttributeMap}.
+ */
+public class LayeredAttributeMapTests {
+
+    private LocalAttributeMap<Object> one;
+
+    private LocalAttributeMap<Object> two;
+
+    private LocalAttributeMap<Object> three;
+
+    @BeforeEach
+    public void setUp() {
+        one = new LocalAttributeMap<>();
+        one.put("foo", "bar");
+        one.put("bar", "baz");
+        two = new LocalAttributeMap<>();
+        two.put("cat", "coz");
+        two.put("bar", "boo");
+        three = new LocalAttributeMap<>();
+        three.put("cat", null);
+    }
+
+    @Test
+    public void testLookupWalksLayers() {
+        AttributeMap<Object> union = one.union(two).union(three);
+        assertTrue(union instanceof LayeredAttributeMap);
+        assertEquals("bar", union.get("foo"));
+        assertEquals("boo", union.get("bar"));
+        assertNull(union.get("cat"));
+        assertTrue(union.contains("cat"));
+        assertFalse(union.contains("bogus"));
+        assertEquals("default", union.get("bogus", "default"));
+    }
+
+    @Test
+    public void testIterationDeDuplicates() {
+        AttributeMap<Object> union = one.union(two).union(three);
+        assertEquals(3, union.size());
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("foo", "bar");
+        expected.put("bar", "boo");
+        expected.put("cat", null);
+        assertEquals(expected, new HashMap<>(union.asMap()));
+        assertEquals(expected.keySet(), union.asMap().keySet());
+    }
+
+    @Test
+    public void testReflectsChangesToLayers() {
+        AttributeMap<Object> union = one.union(two);
+        two.put("new", "value");
+        one.remove("foo");
+        two.remove("bar");
+        assertEquals("value", union.get("new"));
+        assertFalse(union.contains("foo"));
+        assertEquals("baz", union.get("bar"));
+        assertEquals(3, union.size());
+    }
+
+    @Test
+    public void testSizeCountsShadowedKeysOnce() {
+        LocalAttributeMap<Object> large = new LocalAttributeMap<>();
+        for (int i = 0; i < 10; i++) {
+            large.put("key" + i, i);
+        }
+        LocalAttributeMap<Object> small = new LocalAttributeMap<>();
+        small.put("key1", "one");
+        small.put("other", "value");
+        LocalAttributeMap<Object> top = new LocalAttributeMap<>();
+        top.put("key1", "uno");
+        top.put("key2", "dos");
+        AttributeMap<Object> union = large.union(small).union(top);
+        assertEquals(11, union.size());
+        assertEquals(11, new HashMap<>(union.asMap()).size());
+        assertEquals(11, union.asMap().entrySet().size());
+        assertEquals(11, small.union(top).union(large).size());
+    }
+
+    @Test
+    public void testUnionWithNull() {
+        AttributeMap<Object> union = one.union(null);
+        assertEquals(2, union.size());
+        assertSame(union, union.union(null));
+    }
+
+    @Test
+    public void testEmpty() {
+        AttributeMap<Object> union = new LocalAttributeMap<>().union(new LocalAttributeMap<>());
+        assertTrue(union.isEmpty());
+        assertEquals(0, union.size());
+        assertFalse(union.asMap().entrySet().iterator().hasNext());
+    }
+
+    @Test
+    public void testAsMapIsReadOnly() {
+        Map<String, Object> map = one.union(two).asMap();
+        assertThrows(UnsupportedOperationException.class, () -> map.put("foo", "other"));
+        assertThrows(UnsupportedOperationException.class, () -> map.remove("foo"));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().next().setValue("x"));
+        assertEquals("bar", one.get("foo"));
+    }
+
+    @Test
+    public void testTypedAccess() {
+        one.put("integer", 12345);
+        AttributeMap<Object> union = one.union(two);
+        assertEquals(Integer.valueOf(12345), union.getInteger("integer"));
+        assertEquals("boo", union.getRequiredString("bar"));
+        assertThrows(IllegalArgumentException.class, () -> union.getRequired("bogus"));
+        assertThrows(IllegalArgumentException.class, () -> union.getInteger("foo"));
+    }
+
+    @Test
+    public void testEquality() {
+        assertEquals(one.union(two), one.union(two));
+        assertNotEquals(one.union(two), two.union(one));
+        LocalAttributeMap<Object> copy = new LocalAttributeMap<>(new HashMap<>(one.union(two).asMap()));
+        assertEquals(one.union(two), copy);
+        assertEquals(copy, one.union(two));
+        assertEquals(copy.hashCode(), one.union(two).hashCode());
+        assertNotEquals(two.union(one), copy);
+        assertNotEquals(copy, two.union(one));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSerialization() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(one.union(two));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            AttributeMap<Object> restored = (AttributeMap<Object>) in.readObject();
+            assertEquals(3, restored.size());
+            assertEquals("boo", restored.get("bar"));
+        }
+    }
+}
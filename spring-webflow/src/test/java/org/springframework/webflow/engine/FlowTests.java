@@ -21,6 +21,7 @@ import org.springframework.binding.expression.ExpressionParser;
 import org.springframework.binding.expression.support.FluentParserContext;
 import org.springframework.binding.mapping.impl.DefaultMapper;
 import org.springframework.binding.mapping.impl.DefaultMapping;
+import org.springframework.binding.message.CachingMessageSource;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.webflow.TestException;
@@ -64,6 +65,15 @@ public class FlowTests {
         assertEquals("myState2", flow.getState("myState2").getId(), "Wrong state:");
     }    private Flow flow = createSimpleFlow();
 
+    @Test
+    public void testStateIdsInAddOrder() {
+        Flow flow = new Flow("myFlow");
+        new EndState(flow, "myState1");
+        new EndState(flow, "myState2");
+        assertArrayEquals(new String[] { "myState1", "myState2" }, flow.getStateIds());
+        assertEquals(2, flow.getStateCount());
+    }
+
     @Test
     public void testAddDuplicateState() {
         Flow flow = new Flow("myFlow");
@@ -377,6 +387,21 @@ public class FlowTests {
         assertFalse(context.isActive());
     }
 
+    @Test
+    public void testMessageSourceCachingOptIn() {
+        GenericApplicationContext context = new GenericApplicationContext();
+        context.refresh();
+        Flow flow = new Flow("myFlow");
+        assertNull(flow.getMessageSource());
+        flow.setApplicationContext(context);
+        assertSame(context, flow.getMessageSource());
+        flow.getAttributes().put("cacheMessages", true);
+        assertTrue(flow.getMessageSource() instanceof CachingMessageSource);
+        assertSame(flow.getMessageSource(), flow.getMessageSource());
+        flow.getAttributes().put("development", true);
+        assertSame(context, flow.getMessageSource());
+    }
+
     public TransitionCriteria on(String eventId) {
         return new MockTransitionCriteria(eventId);
     }
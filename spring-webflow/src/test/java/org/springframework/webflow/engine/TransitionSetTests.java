@@ -0,0 +1,90 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.execution.Event;
+import org.springframework.webflow.test.MockRequestContext;
+
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransitionSetTests {
+
+    private TransitionSet transitionSet = new TransitionSet();
+
+    private MockRequestContext context = new MockRequestContext();
+
+    private Transition back = new Transition(new EventIdTransitionCriteria("back"), null);
+
+    private Transition next = new Transition(new EventIdTransitionCriteria("next"), null);
+
+    private Transition otherNext = new Transition(new EventIdTransitionCriteria("next"), null);
+
+    private Transition flagged = new Transition(context -> context.getFlowScope().contains("flag"), null);
+
+    @BeforeEach
+    public void setUp() {
+        transitionSet.addAll(back, flagged, next, otherNext);
+    }
+
+    @Test
+    public void testEventIdDispatch() {
+        context.setCurrentEvent(new Event(this, "next"));
+        assertSame(next, transitionSet.getTransition(context));
+        context.setCurrentEvent(new Event(this, "back"));
+        assertSame(back, transitionSet.getTransition(context));
+        context.setCurrentEvent(new Event(this, "bogus"));
+        assertNull(transitionSet.getTransition(context));
+    }
+
+    @Test
+    public void testEarlierCriteriaTestedFirst() {
+        context.getFlowScope().put("flag", true);
+        context.setCurrentEvent(new Event(this, "next"));
+        assertSame(flagged, transitionSet.getTransition(context));
+        context.setCurrentEvent(new Event(this, "back"));
+        assertSame(back, transitionSet.getTransition(context));
+        context.setCurrentEvent(new Event(this, "bogus"));
+        assertSame(flagged, transitionSet.getTransition(context));
+    }
+
+    @Test
+    public void testIndexUpdatedOnChange() {
+        context.setCurrentEvent(new Event(this, "next"));
+        assertSame(next, transitionSet.getTransition(context));
+        transitionSet.remove(next);
+        assertSame(otherNext, transitionSet.getTransition(context));
+        for (Iterator<Transition> it = transitionSet.iterator(); it.hasNext();) {
+            if (it.next() == otherNext) {
+                it.remove();
+            }
+        }
+        assertNull(transitionSet.getTransition(context));
+        Transition wildcard = new Transition();
+        transitionSet.add(wildcard);
+        assertSame(wildcard, transitionSet.getTransition(context));
+    }
+
+    @Test
+    public void testGetTransitionById() {
+        assertSame(next, transitionSet.getTransition("next"));
+        assertSame(back, transitionSet.getTransition("back"));
+        assertNull(transitionSet.getTransition("bogus"));
+    }
+}
@@ -3,14 +3,20 @@ package org.springframework.webflow.engine.builder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
 import org.springframework.webflow.definition.FlowDefinition;
 import org.springframework.webflow.engine.EndState;
 import org.springframework.webflow.engine.Flow;
 import org.springframework.webflow.engine.builder.support.AbstractFlowBuilder;
 import org.springframework.webflow.test.MockFlowBuilderContext;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class DefaultFlowHolderTests {
@@ -42,6 +48,76 @@ public class DefaultFlowHolderTests {
         assertEquals("end", flow.getStartState().getId());
     }
 
+    @Test
+    public void testWatchedFlowReassembledByWatcher() {
+        WatchedFlowBuilder builder = new WatchedFlowBuilder();
+        MockFlowBuilderContext context = new MockFlowBuilderContext("flowId",
+            new LocalAttributeMap<>(Collections.singletonMap("development", true)));
+        holder = new DefaultFlowHolder(new FlowAssembler(builder, context));
+        ListenerCapturingWatcher watcher = new ListenerCapturingWatcher();
+        holder.watch(watcher, new FileSystemResource("flow.xml"));
+        FlowDefinition flow = holder.getFlowDefinition();
+        assertSame(flow, holder.getFlowDefinition());
+        assertEquals(0, builder.changeChecks);
+        watcher.listener.run();
+        assertSame(flow, holder.getFlowDefinition());
+        assertEquals(1, builder.changeChecks);
+        builder.changed = true;
+        watcher.listener.run();
+        assertNotSame(flow, holder.getFlowDefinition());
+        holder.destroy();
+        assertNull(watcher.listener);
+    }
+
+    @Test
+    public void testWatchedFlowKeptWhenReassemblyFails() {
+        WatchedFlowBuilder builder = new WatchedFlowBuilder();
+        MockFlowBuilderContext context = new MockFlowBuilderContext("flowId",
+            new LocalAttributeMap<>(Collections.singletonMap("development", true)));
+        holder = new DefaultFlowHolder(new FlowAssembler(builder, context));
+        ListenerCapturingWatcher watcher = new ListenerCapturingWatcher();
+        holder.watch(watcher, new FileSystemResource("flow.xml"));
+        FlowDefinition flow = holder.getFlowDefinition();
+        builder.changed = true;
+        builder.broken = true;
+        watcher.listener.run();
+        assertSame(flow, holder.getFlowDefinition());
+    }
+
+    @Test
+    public void testWatchedFlowWatchesParentFlowResources() {
+        WatchedFlowBuilder builder = new WatchedFlowBuilder();
+        Resource parentResource = new FileSystemResource("parent.xml");
+        builder.parentFlowResources = Collections.singletonList(parentResource);
+        MockFlowBuilderContext context = new MockFlowBuilderContext("flowId",
+            new LocalAttributeMap<>(Collections.singletonMap("development", true)));
+        holder = new DefaultFlowHolder(new FlowAssembler(builder, context));
+        ListenerCapturingWatcher watcher = new ListenerCapturingWatcher();
+        holder.watch(watcher, new FileSystemResource("flow.xml"));
+        FlowDefinition flow = holder.getFlowDefinition();
+        assertTrue(watcher.watched.contains(parentResource));
+        assertSame(flow, holder.getFlowDefinition());
+        assertEquals(0, builder.changeChecks);
+    }
+
+    @Test
+    public void testWatchedFlowWithUnwatchableParentCheckedOnAccess() {
+        WatchedFlowBuilder builder = new WatchedFlowBuilder();
+        Resource parentResource = new ClassPathResource("parent.xml");
+        builder.parentFlowResources = Collections.singletonList(parentResource);
+        MockFlowBuilderContext context = new MockFlowBuilderContext("flowId",
+            new LocalAttributeMap<>(Collections.singletonMap("development", true)));
+        holder = new DefaultFlowHolder(new FlowAssembler(builder, context));
+        ListenerCapturingWatcher watcher = new ListenerCapturingWatcher();
+        watcher.unwatchable = parentResource;
+        holder.watch(watcher, new FileSystemResource("flow.xml"));
+        FlowDefinition flow = holder.getFlowDefinition();
+        assertSame(flow, holder.getFlowDefinition());
+        assertEquals(1, builder.changeChecks);
+        builder.changed = true;
+        assertNotSame(flow, holder.getFlowDefinition());
+    }
+
     @Test
     public void testDestroyNotInitialized() {
         holder.destroy();
@@ -65,6 +141,59 @@ public class DefaultFlowHolderTests {
 
     }
 
+    public class WatchedFlowBuilder extends SimpleFlowBuilder {
+
+        private volatile boolean changed;
+
+        private volatile int changeChecks;
+
+        private volatile boolean broken;
+
+        private List<Resource> parentFlowResources = Collections.emptyList();
+
+        public void buildStates() throws FlowBuilderException {
+            if (broken) {
+                throw new FlowBuilderException("Broken flow");
+            }
+            super.buildStates();
+        }
+
+        public boolean hasFlowChanged() {
+            changeChecks++;
+            boolean result = changed;
+            changed = false;
+            return result;
+        }
+
+        public List<Resource> getParentFlowResources() {
+            return parentFlowResources;
+        }
+    }
+
+    private static class ListenerCapturingWatcher extends FlowResourceWatcher {
+
+        private Runnable listener;
+
+        private List<Resource> watched = new ArrayList<>();
+
+        private Resource unwatchable;
+
+        public boolean watch(Resource resource, Runnable listener) {
+            if (resource.equals(unwatchable)) {
+                return false;
+            }
+            this.listener = listener;
+            watched.add(resource);
+            return true;
+        }
+
+        public void unwatch(Runnable listener) {
+            if (listener == this.listener) {
+                this.listener = null;
+            }
+        }
+    }
+
     public class ChangeDetectableFlowBuilder extends SimpleFlowBuilder {
         private FileSystemResource resource = new FileSystemResource("file.txt");
 
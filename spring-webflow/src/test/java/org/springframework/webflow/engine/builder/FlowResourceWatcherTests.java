@@ -0,0 +1,134 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.builder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowResourceWatcherTests {
+
+    private FlowResourceWatcher watcher = new FlowResourceWatcher();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    public void tearDown() {
+        watcher.destroy();
+    }
+
+    @Test
+    public void testNotifiedOfChange() throws Exception {
+        Path file = Files.write(directory.resolve("flow.xml"), "before".getBytes());
+        CountDownLatch latch = new CountDownLatch(1);
+        assertTrue(watcher.watch(new FileSystemResource(file), latch::countDown));
+        Files.write(file, "after".getBytes());
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testAllListenersNotified() throws Exception {
+        Path child = Files.write(directory.resolve("child.xml"), "child".getBytes());
+        Path parent = Files.write(directory.resolve("parent.xml"), "parent".getBytes());
+        AtomicInteger notifications = new AtomicInteger();
+        watcher.watch(new FileSystemResource(child), notifications::incrementAndGet);
+        watcher.watch(new FileSystemResource(parent), notifications::incrementAndGet);
+        modified(parent);
+        assertEquals(2, notifications.get());
+    }
+
+    @Test
+    public void testUnwatchedFileIgnored() throws Exception {
+        Path file = Files.write(directory.resolve("flow.xml"), "before".getBytes());
+        AtomicInteger notifications = new AtomicInteger();
+        watcher.watch(new FileSystemResource(file), notifications::incrementAndGet);
+        modified(directory.resolve("other.txt"));
+        assertEquals(0, notifications.get());
+        modified(file);
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    public void testOverflowNotifies() throws Exception {
+        Path file = Files.write(directory.resolve("flow.xml"), "before".getBytes());
+        AtomicInteger notifications = new AtomicInteger();
+        watcher.watch(new FileSystemResource(file), notifications::incrementAndGet);
+        watcher.processEvents(file.toAbsolutePath().normalize().getParent(),
+            Collections.singletonList(new TestWatchEvent<>(StandardWatchEventKinds.OVERFLOW, null)));
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    public void testUnwatch() throws Exception {
+        Path file = Files.write(directory.resolve("flow.xml"), "before".getBytes());
+        Runnable removed = () -> fail("Listener should have been removed");
+        AtomicInteger notifications = new AtomicInteger();
+        watcher.watch(new FileSystemResource(file), removed);
+        watcher.watch(new FileSystemResource(file), notifications::incrementAndGet);
+        watcher.unwatch(removed);
+        modified(file);
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    public void testResourceNotInFileSystem() {
+        assertFalse(watcher.watch(new ByteArrayResource(new byte[0]), () -> { }));
+    }
+
+    private void modified(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        watcher.processEvents(path.getParent(),
+            Collections.singletonList(new TestWatchEvent<>(StandardWatchEventKinds.ENTRY_MODIFY, path.getFileName())));
+    }
+
+    private static class TestWatchEvent<T> implements WatchEvent<T> {
+
+        private final Kind<T> kind;
+
+        private final T context;
+
+        public TestWatchEvent(Kind<T> kind, T context) {
+            this.kind = kind;
+            this.context = context;
+        }
+
+        public Kind<T> kind() {
+            return kind;
+        }
+
+        public int count() {
+            return 1;
+        }
+
+        public T context() {
+            return context;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.springframework.webflow.engine.builder.support;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.binding.expression.support.StaticExpression;
+import org.springframework.webflow.engine.EventIdTransitionCriteria;
 import org.springframework.webflow.engine.Flow;
 import org.springframework.webflow.engine.TransitionCriteria;
 import org.springframework.webflow.engine.WildcardTransitionCriteria;
@@ -62,6 +63,8 @@ public class TextToTransitionCriteriaTests {
             TransitionCriteria.class);
         RequestContext ctx = getRequestContext();
         assertTrue(criterion.test(ctx), "Criterion should evaluate to true");
+        assertTrue(criterion instanceof EventIdTransitionCriteria);
+        assertEquals("sample", criterion.toString());
     }
 
     @Test
@@ -19,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.binding.message.MessageBuilder;
 import org.springframework.webflow.core.collection.MutableAttributeMap;
 import org.springframework.webflow.definition.FlowDefinition;
+import org.springframework.webflow.engine.ActionState;
 import org.springframework.webflow.engine.EndState;
 import org.springframework.webflow.engine.Flow;
 import org.springframework.webflow.engine.FlowExecutionExceptionHandler;
@@ -34,6 +35,8 @@ import org.springframework.webflow.execution.FlowSession;
 import org.springframework.webflow.execution.MockFlowExecutionListener;
 import org.springframework.webflow.execution.RequestContext;
 import org.springframework.webflow.execution.RequestContextHolder;
+import org.springframework.webflow.execution.TestAction;
+import org.springframework.webflow.metrics.InMemoryFlowExecutionMetrics;
 import org.springframework.webflow.test.MockExternalContext;
 import org.springframework.webflow.test.MockFlowExecutionKeyFactory;
 
@@ -87,6 +90,26 @@ public class FlowExecutionImplTests {
         assertEquals(0, mockListener.getFlowNestingLevel());
     }
 
+    @Test
+    public void testMetrics() {
+        Flow flow = new Flow("flow");
+        ActionState actionState = new ActionState(flow, "action");
+        actionState.getActionList().add(new TestAction());
+        actionState.getTransitionSet().add(new Transition(new DefaultTargetStateResolver("view")));
+        ViewState viewState = new ViewState(flow, "view", new StubViewFactory());
+        viewState.getTransitionSet().add(new Transition(new DefaultTargetStateResolver("end")));
+        new EndState(flow, "end");
+        InMemoryFlowExecutionMetrics metrics = new InMemoryFlowExecutionMetrics();
+        FlowExecutionImpl execution = new FlowExecutionImpl(flow);
+        execution.setMetrics(metrics);
+        execution.setKeyFactory(new MockFlowExecutionKeyFactory());
+        execution.start(null, new MockExternalContext());
+        assertEquals(1, metrics.getStateDurations("flow").get("action").getCount());
+        assertEquals(1, metrics.getStateDurations("flow").get("view").getCount());
+        assertEquals(1, metrics.getActionDurations().get("flow").getCount());
+        assertEquals(1, metrics.getRenderDurations("flow").get("view").getCount());
+    }
+
     @Test
     public void testStartAndEndSavedMessages() {
         Flow flow = new Flow("flow");
@@ -109,6 +132,16 @@ public class FlowExecutionImplTests {
         assertNotNull(execution.getFlashScope().get("messagesMemento"));
     }
 
+    @Test
+    public void testStartAndEndWithoutMessages() {
+        Flow flow = new Flow("flow");
+        new EndState(flow, "end");
+        FlowExecutionImpl execution = new FlowExecutionImpl(flow);
+        execution.start(null, new MockExternalContext());
+        assertTrue(execution.hasEnded());
+        assertFalse(execution.getFlashScope().contains("messagesMemento"));
+    }
+
     @Test
     public void testStartAndPause() {
         Flow flow = new Flow("flow");
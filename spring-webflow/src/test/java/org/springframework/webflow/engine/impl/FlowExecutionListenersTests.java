@@ -0,0 +1,94 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.execution.FlowExecutionListener;
+import org.springframework.webflow.execution.RequestContext;
+import org.springframework.webflow.test.MockRequestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlowExecutionListenersTests {
+
+    private List<String> calls = new ArrayList<>();
+
+    @Test
+    public void testOnlyImplementingListenersCalled() {
+        FlowExecutionListener submitted = new FlowExecutionListener() {
+            public void requestSubmitted(RequestContext context) {
+                calls.add("submitted");
+            }
+        };
+        FlowExecutionListener processed = new FlowExecutionListener() {
+            public void requestProcessed(RequestContext context) {
+                calls.add("processed");
+            }
+        };
+        FlowExecutionListener both = new SubmittedListener() {
+            public void requestProcessed(RequestContext context) {
+                calls.add("both processed");
+            }
+        };
+        FlowExecutionListeners listeners = new FlowExecutionListeners(submitted, processed, both);
+        MockRequestContext context = new MockRequestContext();
+        listeners.fireRequestSubmitted(context);
+        listeners.fireRequestProcessed(context);
+        listeners.firePaused(context);
+        assertEquals(List.of("submitted", "inherited submitted", "processed", "both processed"), calls);
+        assertEquals(3, listeners.size());
+    }
+
+    @Test
+    public void testFreshArraysOfSameListenerClasses() {
+        for (String name : List.of("one", "two")) {
+            FlowExecutionListeners listeners = new FlowExecutionListeners(new NamedListener(name),
+                new SubmittedListener());
+            listeners.fireRequestSubmitted(new MockRequestContext());
+            listeners.fireRequestProcessed(new MockRequestContext());
+        }
+        assertEquals(List.of("one submitted", "inherited submitted", "two submitted", "inherited submitted"), calls);
+    }
+
+    @Test
+    public void testEmpty() {
+        FlowExecutionListeners listeners = new FlowExecutionListeners();
+        assertEquals(0, listeners.size());
+        listeners.fireRequestSubmitted(new MockRequestContext());
+    }
+
+    private class NamedListener implements FlowExecutionListener {
+
+        private final String name;
+
+        private NamedListener(String name) {
+            this.name = name;
+        }
+
+        public void requestSubmitted(RequestContext context) {
+            calls.add(name + " submitted");
+        }
+    }
+
+    private class SubmittedListener implements FlowExecutionListener {
+        public void requestSubmitted(RequestContext context) {
+            calls.add("inherited submitted");
+        }
+    }
+}
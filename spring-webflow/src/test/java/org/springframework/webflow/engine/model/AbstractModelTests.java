@@ -117,6 +117,50 @@ public class AbstractModelTests {
         assertEquals("foo", result.get(1).getMatch());
     }
 
+    @Test
+    public void testIndexedListMergeAddAtEndTrue() {
+        LinkedList<TransitionModel> child = new LinkedList<>();
+        for (int i = 0; i < 20; i += 2) {
+            child.add(transition("e" + i, null));
+        }
+        LinkedList<TransitionModel> parent = new LinkedList<>();
+        for (int i = 0; i < 20; i++) {
+            parent.add(transition("e" + i, "s" + i));
+        }
+        parent.add(transition("e1", "duplicate"));
+        AbstractModel obj = new PersistenceContextModel();
+        LinkedList<TransitionModel> result = obj.merge(child, parent, true);
+        assertEquals(20, result.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("e" + (i * 2), result.get(i).getOn());
+            assertEquals("s" + (i * 2), result.get(i).getTo());
+            assertEquals("e" + (i * 2 + 1), result.get(i + 10).getOn());
+            assertEquals("s" + (i * 2 + 1), result.get(i + 10).getTo());
+        }
+        assertNotSame(parent.get(1), result.get(10));
+    }
+
+    @Test
+    public void testIndexedListMergeAddAtEndFalse() {
+        LinkedList<VarModel> child = new LinkedList<>();
+        for (int i = 0; i < 20; i += 2) {
+            child.add(new VarModel("v" + i, null));
+        }
+        LinkedList<VarModel> parent = new LinkedList<>();
+        for (int i = 0; i < 20; i++) {
+            parent.add(new VarModel("v" + i, "Class" + i));
+        }
+        AbstractModel obj = new PersistenceContextModel();
+        LinkedList<VarModel> result = obj.merge(child, parent, false);
+        assertEquals(20, result.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("v" + (i * 2 + 1), result.get(i).getName());
+            assertEquals("Class" + (i * 2 + 1), result.get(i).getClassName());
+            assertEquals("v" + (i * 2), result.get(i + 10).getName());
+            assertEquals("Class" + (i * 2), result.get(i + 10).getClassName());
+        }
+    }
+
     @Test
     public void testListMergeNullParent() {
         AbstractModel obj = new PersistenceContextModel();
@@ -164,4 +208,11 @@ public class AbstractModelTests {
         AttributeModel copy = (AttributeModel) m.copy(null);
         assertNull(copy);
     }
+
+    private TransitionModel transition(String on, String to) {
+        TransitionModel transition = new TransitionModel();
+        transition.setOn(on);
+        transition.setTo(to);
+        return transition;
+    }
 }
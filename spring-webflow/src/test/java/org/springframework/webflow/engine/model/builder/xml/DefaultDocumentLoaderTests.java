@@ -0,0 +1,55 @@
+package org.springframework.webflow.engine.model.builder.xml;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultDocumentLoaderTests {
+
+    private static final String INVALID_FLOW = "<flow xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+                                               + "xmlns=\"http://www.springframework.org/schema/webflow\" "
+                                               + "xsi:schemaLocation=\"http://www.springframework.org/schema/webflow "
+                                               + "https://www.springframework.org/schema/webflow/spring-webflow.xsd\">"
+                                               + "<bogus-state id=\"end\"/></flow>";
+
+    private DefaultDocumentLoader loader = new DefaultDocumentLoader();
+
+    private Resource flow = new ClassPathResource("flow-endstate.xml", getClass());
+
+    private Resource invalidFlow = new ByteArrayResource(INVALID_FLOW.getBytes());
+
+    @Test
+    public void testLoadDocument() throws Exception {
+        Document document = loader.loadDocument(flow);
+        assertEquals("flow", document.getDocumentElement().getLocalName());
+        assertEquals("end-state", document.getDocumentElement().getElementsByTagName("end-state").item(0).getNodeName());
+        assertNotSame(document, loader.loadDocument(flow));
+    }
+
+    @Test
+    public void testLoadInvalidDocument() throws Exception {
+        assertThrows(SAXException.class, () -> loader.loadDocument(invalidFlow));
+        assertNotNull(loader.loadDocument(flow));
+        assertThrows(SAXException.class, () -> loader.loadDocument(invalidFlow));
+    }
+
+    @Test
+    public void testLoadInvalidDocumentNotValidating() throws Exception {
+        loader.setValidating(false);
+        Document document = loader.loadDocument(invalidFlow);
+        assertEquals("flow", document.getDocumentElement().getLocalName());
+    }
+
+    @Test
+    public void testLoadDocumentCustomEntityResolver() throws Exception {
+        WebFlowEntityResolver resolver = new WebFlowEntityResolver();
+        loader.setEntityResolver(resolver::resolveEntity);
+        assertNotNull(loader.loadDocument(flow));
+        assertThrows(SAXException.class, () -> loader.loadDocument(invalidFlow));
+    }
+}
@@ -0,0 +1,160 @@
+package org.springframework.webflow.engine.model.builder.xml;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.webflow.engine.model.AbstractModel;
+import org.springframework.webflow.engine.model.FlowModel;
+import org.springframework.webflow.engine.model.builder.DefaultFlowModelHolder;
+import org.springframework.webflow.engine.model.builder.FlowModelBuilder;
+import org.springframework.webflow.engine.model.builder.FlowModelBuilderException;
+import org.springframework.webflow.engine.model.registry.FlowModelRegistry;
+import org.springframework.webflow.engine.model.registry.FlowModelRegistryImpl;
+
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaxXmlFlowModelBuilderTests {
+
+    private static final String[] FLOWS = {"flow-action-evaluate-action.xml", "flow-custom-attribute.xml",
+        "flow-empty.xml", "flow-endstate.xml", "flow-exception-handler.xml", "flow-formaction-validatormethod.xml",
+        "flow-inputoutput.xml", "flow-persistencecontext.xml",
+        "flow-secured-state.xml", "flow-secured-transition.xml", "flow-secured.xml", "flow-startstate-attribute.xml",
+        "flow-startstate-default.xml", "flow-validation-hints.xml", "flow-var.xml",
+        "flow-viewstate-externalredirect.xml", "flow-viewstate-flowredirect.xml", "flow-viewstate-model-binding.xml",
+        "flow-viewstate-popup.xml", "flow-viewstate-redirect.xml", "flow-viewstate-var.xml",
+        "flow-viewstate-view.xml"};
+
+    private FlowModelRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new FlowModelRegistryImpl();
+    }
+
+    @Test
+    public void testSameModelAsDomBuilder() {
+        for (String flow : FLOWS) {
+            ClassPathResource resource = new ClassPathResource(flow, getClass());
+            FlowModel expected = build(new XmlFlowModelBuilder(resource, registry));
+            FlowModel actual = build(new StaxXmlFlowModelBuilder(resource, registry));
+            assertModelEquals(expected, actual, flow);
+        }
+    }
+
+    @Test
+    public void testSameModelAsDomBuilderWithFlowInheritance() {
+        registerParent("flow-inheritance-parent.xml", "parent");
+        ClassPathResource resource = new ClassPathResource("flow-inheritance-child.xml", getClass());
+        FlowModel expected = build(new XmlFlowModelBuilder(resource, registry));
+        FlowModel actual = build(new StaxXmlFlowModelBuilder(resource, registry));
+        assertModelEquals(expected, actual, "flow");
+    }
+
+    @Test
+    public void testSameModelAsDomBuilderWithStateInheritance() {
+        registerParent("flow-inheritance-state-parent.xml", "parent");
+        ClassPathResource resource = new ClassPathResource("flow-inheritance-state-child.xml", getClass());
+        FlowModel expected = build(new XmlFlowModelBuilder(resource, registry));
+        FlowModel actual = build(new StaxXmlFlowModelBuilder(resource, registry));
+        assertModelEquals(expected, actual, "flow");
+    }
+
+    @Test
+    public void testAttributeValueElement() {
+        FlowModel flow = build(new StaxXmlFlowModelBuilder(createResource(
+            "<attribute name='foo'><value><![CDATA[a<b]]> &amp; c</value></attribute>"
+            + "<attribute name='bar' value='baz'><value>ignored</value></attribute>"
+            + "<attribute name='empty'/>")));
+        assertEquals("a<b & c", flow.getAttributes().get(0).getValue());
+        assertEquals("baz", flow.getAttributes().get(1).getValue());
+        assertNull(flow.getAttributes().get(2).getValue());
+    }
+
+    @Test
+    public void testInvalidFlowRejected() {
+        StaxXmlFlowModelBuilder builder = new StaxXmlFlowModelBuilder(createResource("<bogus/>"));
+        assertTrue(builder.isValidating());
+        assertThrows(FlowModelBuilderException.class, builder::init);
+    }
+
+    @Test
+    public void testInvalidFlowNotValidated() {
+        StaxXmlFlowModelBuilder builder = new StaxXmlFlowModelBuilder(createResource(
+            "<bogus><end-state id='nested'/></bogus><end-state id='end'/>"));
+        builder.setValidating(false);
+        FlowModel flow = build(builder);
+        assertEquals(1, flow.getStates().size());
+        assertEquals("end", flow.getStates().get(0).getId());
+    }
+
+    @Test
+    public void testOpenResourceReadOnce() throws Exception {
+        Resource resource = createResource("<end-state id='end'/>");
+        FlowModel flow = build(new StaxXmlFlowModelBuilder(new InputStreamResource(resource.getInputStream())));
+        assertEquals("end", flow.getStates().get(0).getId());
+    }
+
+    @Test
+    public void testBuildBeforeInit() {
+        StaxXmlFlowModelBuilder builder = new StaxXmlFlowModelBuilder(createResource(""));
+        assertThrows(FlowModelBuilderException.class, builder::build);
+    }
+
+    @Test
+    public void testDispose() {
+        StaxXmlFlowModelBuilder builder = new StaxXmlFlowModelBuilder(createResource("<end-state id='end'/>"));
+        build(builder);
+        builder.dispose();
+        assertThrows(FlowModelBuilderException.class, builder::getFlowModel);
+        assertThrows(FlowModelBuilderException.class, builder::build);
+    }
+
+    private FlowModel build(FlowModelBuilder builder) {
+        builder.init();
+        builder.build();
+        return builder.getFlowModel();
+    }
+
+    private void registerParent(String resourceName, String id) {
+        ClassPathResource resource = new ClassPathResource(resourceName, getClass());
+        registry.registerFlowModel(id, new DefaultFlowModelHolder(new XmlFlowModelBuilder(resource, registry)));
+    }
+
+    private Resource createResource(String content) {
+        String xml = "<?xml version='1.0' encoding='UTF-8'?>"
+                     + "<flow xmlns='http://www.springframework.org/schema/webflow'"
+                     + " xmlns:xsi='http://www.w3.org/2001/XMLSchema-instance'"
+                     + " xsi:schemaLocation='http://www.springframework.org/schema/webflow"
+                     + " https://www.springframework.org/schema/webflow/spring-webflow.xsd'>" + content + "</flow>";
+        return new ByteArrayResource(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertModelEquals(Object expected, Object actual, String path) {
+        if (expected == null || actual == null) {
+            assertSame(expected, actual, path);
+        } else if (expected instanceof List) {
+            List<?> expectedList = (List<?>) expected;
+            List<?> actualList = (List<?>) actual;
+            assertEquals(expectedList.size(), actualList.size(), path + ".size");
+            for (int i = 0; i < expectedList.size(); i++) {
+                assertModelEquals(expectedList.get(i), actualList.get(i), path + "[" + i + "]");
+            }
+        } else if (expected instanceof AbstractModel) {
+            assertSame(expected.getClass(), actual.getClass(), path);
+            ReflectionUtils.doWithFields(expected.getClass(), field -> {
+                ReflectionUtils.makeAccessible(field);
+                assertModelEquals(field.get(expected), field.get(actual), path + "." + field.getName());
+            }, field -> !Modifier.isStatic(field.getModifiers()));
+        } else {
+            assertEquals(expected, actual, path);
+        }
+    }
+}
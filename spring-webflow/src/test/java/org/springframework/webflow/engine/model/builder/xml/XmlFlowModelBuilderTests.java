@@ -29,6 +29,8 @@ import org.springframework.webflow.execution.factory.StaticFlowExecutionListener
 import org.springframework.webflow.test.MockExternalContext;
 import org.springframework.webflow.test.MockFlowBuilderContext;
 
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class XmlFlowModelBuilderTests {
@@ -200,6 +202,22 @@ public class XmlFlowModelBuilderTests {
         assertEquals("view", flow.getStates().get(0).getId());
     }
 
+    @Test
+    public void testMergeParentFlowResources() {
+        ClassPathResource resourceChild = new ClassPathResource("flow-inheritance-child.xml", getClass());
+        ClassPathResource resourceParent = new ClassPathResource("flow-inheritance-parent.xml", getClass());
+        DefaultFlowModelHolder childHolder = new DefaultFlowModelHolder(new XmlFlowModelBuilder(resourceChild,
+            registry));
+        DefaultFlowModelHolder parentHolder = new DefaultFlowModelHolder(new XmlFlowModelBuilder(resourceParent,
+            registry));
+        registry.registerFlowModel("child", childHolder);
+        registry.registerFlowModel("parent", parentHolder);
+        registry.getFlowModel("child");
+        assertEquals(Collections.singletonList(parentHolder), childHolder.getParentFlowModelHolders());
+        assertEquals(Collections.singletonList(resourceParent),
+            new FlowModelFlowBuilder(childHolder).getParentFlowResources());
+    }
+
     @Test
     public void testMergeParentNotFound() {
         ClassPathResource resourceChild = new ClassPathResource("flow-inheritance-child.xml", getClass());
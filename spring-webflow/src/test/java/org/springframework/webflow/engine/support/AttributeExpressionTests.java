@@ -0,0 +1,127 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.engine.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.binding.expression.Expression;
+import org.springframework.binding.expression.ExpressionParser;
+import org.springframework.binding.expression.support.FluentParserContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+import org.springframework.webflow.core.collection.MutableAttributeMap;
+import org.springframework.webflow.execution.RequestContext;
+import org.springframework.webflow.execution.ScopeType;
+import org.springframework.webflow.expression.spel.WebFlowSpringELExpressionParser;
+import org.springframework.webflow.test.MockRequestContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttributeExpressionTests {
+
+    private ExpressionParser parser = new WebFlowSpringELExpressionParser(new SpelExpressionParser());
+
+    @Test
+    public void testCompileAttributeName() {
+        Expression expression = compile("foo", MutableAttributeMap.class);
+        assertTrue(expression instanceof AttributeExpression);
+        AttributeExpression attributeExpression = (AttributeExpression) expression;
+        assertNull(attributeExpression.getScope());
+        assertEquals("foo", attributeExpression.getAttributeName());
+        assertEquals("foo", expression.getExpressionString());
+    }
+
+    @Test
+    public void testCompileScopeAttribute() {
+        AttributeExpression expression = (AttributeExpression) compile("conversationScope.foo", RequestContext.class);
+        assertEquals(ScopeType.CONVERSATION, expression.getScope());
+        assertEquals("foo", expression.getAttributeName());
+        assertEquals(ScopeType.FLOW, ((AttributeExpression) compile("flowScope.foo", RequestContext.class)).getScope());
+    }
+
+    @Test
+    public void testNotCompiled() {
+        assertFalse(compile("null", MutableAttributeMap.class) instanceof AttributeExpression);
+        assertFalse(compile("TRUE", MutableAttributeMap.class) instanceof AttributeExpression);
+        assertFalse(compile("foo.bar", MutableAttributeMap.class) instanceof AttributeExpression);
+        assertFalse(compile("foo + 1", MutableAttributeMap.class) instanceof AttributeExpression);
+        assertFalse(compile("foo", RequestContext.class) instanceof AttributeExpression);
+        assertFalse(compile("flowScope.foo.bar", RequestContext.class) instanceof AttributeExpression);
+        assertFalse(compile("flowScope.foo()", RequestContext.class) instanceof AttributeExpression);
+        assertFalse(compile("currentUser.name", RequestContext.class) instanceof AttributeExpression);
+    }
+
+    @Test
+    public void testAttributeMapAccess() {
+        Expression expression = compile("foo", MutableAttributeMap.class);
+        MutableAttributeMap<Object> map = new LocalAttributeMap<>();
+        assertNull(expression.getValue(map));
+        expression.setValue(map, "bar");
+        assertEquals("bar", map.get("foo"));
+        assertEquals("bar", expression.getValue(map));
+    }
+
+    @Test
+    public void testScopeAccess() {
+        MockRequestContext context = new MockRequestContext();
+        Expression flowScopeExpression = compile("flowScope.foo", RequestContext.class);
+        flowScopeExpression.setValue(context, "bar");
+        assertEquals("bar", context.getFlowScope().get("foo"));
+        assertEquals("bar", flowScopeExpression.getValue(context));
+        Expression requestScopeExpression = compile("requestScope.foo", RequestContext.class);
+        assertNull(requestScopeExpression.getValue(context));
+        requestScopeExpression.setValue(context, "baz");
+        assertEquals("baz", context.getRequestScope().get("foo"));
+    }
+
+    @Test
+    public void testSameResultAsParsedExpression() {
+        MockRequestContext context = new MockRequestContext();
+        context.getFlowScope().put("foo", 12345);
+        Expression parsed = parser.parseExpression("flowScope.foo",
+            new FluentParserContext().evaluate(RequestContext.class));
+        Expression compiled = AttributeExpression.compile(parsed, RequestContext.class);
+        assertEquals(parsed.getValue(context), compiled.getValue(context));
+        assertEquals(parsed.getValueType(context), compiled.getValueType(context));
+    }
+
+    @Test
+    public void testFallbackToParsedExpression() {
+        Expression expression = compile("foo", MutableAttributeMap.class);
+        TestBean bean = new TestBean();
+        expression.setValue(bean, "bar");
+        assertEquals("bar", bean.getFoo());
+        assertEquals("bar", expression.getValue(bean));
+    }
+
+    private Expression compile(String expressionString, Class<?> contextType) {
+        Expression expression = parser.parseExpression(expressionString,
+            new FluentParserContext().evaluate(contextType));
+        return AttributeExpression.compile(expression, contextType);
+    }
+
+    public static class TestBean {
+
+        private String foo;
+
+        public String getFoo() {
+            return foo;
+        }
+
+        public void setFoo(String foo) {
+            this.foo = foo;
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package org.springframework.webflow.engine.support;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.webflow.TestBean;
 import org.springframework.webflow.test.MockRequestContext;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BeanFactoryVariableValueFactoryTests {
@@ -25,4 +34,100 @@ public class BeanFactoryVariableValueFactoryTests {
         TestBean bean = new TestBean();
         factory.restoreReferences(bean, context);
     }
+
+    @Test
+    public void testRestoreSingletonReferences() {
+        AutowireCountingBeanFactory beanFactory = new AutowireCountingBeanFactory();
+        configure(beanFactory);
+        TestService service = new TestService();
+        beanFactory.registerSingleton("service", service);
+        factory = new BeanFactoryVariableValueFactory(AutowiredBean.class, beanFactory);
+        MockRequestContext context = new MockRequestContext();
+        for (int i = 0; i < 2; i++) {
+            AutowiredBean bean = new AutowiredBean();
+            factory.restoreReferences(bean, context);
+            assertSame(service, bean.fieldService);
+            assertSame(service, bean.setterService);
+        }
+        assertEquals(0, beanFactory.autowireCount);
+    }
+
+    @Test
+    public void testRestorePrototypeReferences() {
+        AutowireCountingBeanFactory beanFactory = new AutowireCountingBeanFactory();
+        configure(beanFactory);
+        RootBeanDefinition definition = new RootBeanDefinition(TestService.class);
+        definition.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("service", definition);
+        factory = new BeanFactoryVariableValueFactory(AutowiredBean.class, beanFactory);
+        MockRequestContext context = new MockRequestContext();
+        AutowiredBean bean = new AutowiredBean();
+        factory.restoreReferences(bean, context);
+        AutowiredBean other = new AutowiredBean();
+        factory.restoreReferences(other, context);
+        assertNotNull(bean.fieldService);
+        assertNotNull(other.fieldService);
+        assertNotSame(bean.fieldService, other.fieldService);
+        assertEquals(2, beanFactory.autowireCount);
+    }
+
+    @Test
+    public void testRestoreMetaAnnotatedReferences() {
+        AutowireCountingBeanFactory beanFactory = new AutowireCountingBeanFactory();
+        configure(beanFactory);
+        TestService service = new TestService();
+        beanFactory.registerSingleton("service", service);
+        factory = new BeanFactoryVariableValueFactory(MetaAnnotatedBean.class, beanFactory);
+        MockRequestContext context = new MockRequestContext();
+        for (int i = 0; i < 2; i++) {
+            MetaAnnotatedBean bean = new MetaAnnotatedBean();
+            factory.restoreReferences(bean, context);
+            assertSame(service, bean.service);
+        }
+        assertEquals(2, beanFactory.autowireCount);
+    }
+
+    private void configure(DefaultListableBeanFactory beanFactory) {
+        AutowiredAnnotationBeanPostProcessor postProcessor = new AutowiredAnnotationBeanPostProcessor();
+        postProcessor.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(postProcessor);
+    }
+
+    private static class AutowireCountingBeanFactory extends DefaultListableBeanFactory {
+
+        private int autowireCount;
+
+        public void autowireBean(Object existingBean) {
+            autowireCount++;
+            super.autowireBean(existingBean);
+        }
+    }
+
+    public static class TestService {
+    }
+
+    public static class AutowiredBean {
+
+        @Autowired
+        private transient TestService fieldService;
+
+        private transient TestService setterService;
+
+        @Autowired
+        public void setSetterService(TestService setterService) {
+            this.setterService = setterService;
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    @Autowired
+    public @interface InjectedService {
+    }
+
+    public static class MetaAnnotatedBean {
+
+        @InjectedService
+        private transient TestService service;
+    }
 }
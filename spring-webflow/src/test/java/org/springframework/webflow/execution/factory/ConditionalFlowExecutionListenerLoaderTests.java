@@ -72,4 +72,19 @@ public class ConditionalFlowExecutionListenerLoaderTests {
         FlowExecutionListener[] listeners = loader.getListeners(flow);
         assertEquals(0, listeners.length);
     }
+
+    @Test
+    public void testListenersCachedPerFlow() {
+        FlowExecutionListener listener = new FlowExecutionListener() {
+        };
+        loader.addListener(listener, criteriaFactory.allFlows());
+        Flow flow = new Flow("foo");
+        FlowExecutionListener[] listeners = loader.getListeners(flow);
+        assertSame(listeners, loader.getListeners(flow));
+        assertNotSame(listeners, loader.getListeners(new Flow("foo")));
+        FlowExecutionListener listener2 = new FlowExecutionListener() {
+        };
+        loader.addListener(listener2, criteriaFactory.allFlows());
+        assertEquals(2, loader.getListeners(flow).length);
+    }
 }
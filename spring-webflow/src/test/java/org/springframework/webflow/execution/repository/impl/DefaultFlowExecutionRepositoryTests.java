@@ -136,6 +136,32 @@ public class DefaultFlowExecutionRepositoryTests {
         assertNotSame(execution.getKey(), execution2.getKey());
     }
 
+    @Test
+    public void testPutFlowExecutionMemoryBudget() {
+        SnapshotMemoryBudget budget = new SnapshotMemoryBudget(1);
+        repository.setMemoryBudget(budget);
+        FlowExecution execution = executionFactory.createFlowExecution(flow);
+        execution.start(null, new MockExternalContext());
+        repository.putFlowExecution(execution);
+        assertEquals(1, budget.getSnapshotCount());
+        assertTrue(budget.getLiveBytes() > 1);
+        FlowExecutionKey key = execution.getKey();
+        FlowExecution execution2 = repository.getFlowExecution(key);
+        MockExternalContext context = new MockExternalContext();
+        context.setEventId("foo");
+        execution2.resume(context);
+        repository.putFlowExecution(execution2);
+        assertEquals(1, budget.getSnapshotCount());
+        assertEquals(1, budget.getEvictionCount());
+        assertEquals("state2", repository.getFlowExecution(execution2.getKey()).getActiveSession().getState().getId());
+        try {
+            repository.getFlowExecution(key);
+            fail("Should have failed");
+        } catch (FlowExecutionRestorationFailureException e) {
+
+        }
+    }
+
     @Test
     public void testPutFlowExecutionNoKeyAssigned() {
         FlowExecution execution = executionFactory.createFlowExecution(flow);
@@ -0,0 +1,233 @@
+package org.springframework.webflow.execution.repository.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.execution.repository.snapshot.FlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SerializedFlowExecutionSnapshot;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotNotFoundException;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotMemoryBudgetTests {
+
+    private SnapshotMemoryBudget budget = new SnapshotMemoryBudget(1000);
+
+    @Test
+    public void testTrackAndRelease() {
+        SimpleFlowExecutionSnapshotGroup group = createGroup();
+        Serializable id1 = add(group, 100);
+        Serializable id2 = add(group, 200);
+        assertEquals(300, budget.getLiveBytes());
+        assertEquals(2, budget.getSnapshotCount());
+        group.updateSnapshot(id1, new SizedSnapshot(150));
+        assertEquals(350, budget.getLiveBytes());
+        group.addSnapshot(id2, new SizedSnapshot(50));
+        assertEquals(200, budget.getLiveBytes());
+        group.removeSnapshot(id1);
+        assertEquals(50, budget.getLiveBytes());
+        group.removeAllSnapshots();
+        assertEquals(0, budget.getLiveBytes());
+        assertEquals(0, budget.getSnapshotCount());
+        assertEquals(0, budget.getEvictionCount());
+    }
+
+    @Test
+    public void testUnsizedSnapshotsNotTracked() {
+        SimpleFlowExecutionSnapshotGroup group = createGroup();
+        group.addSnapshot(group.nextSnapshotId(), new FlowExecutionSnapshot() {
+        });
+        assertEquals(0, budget.getSnapshotCount());
+        assertEquals(1, group.getSnapshotCount());
+    }
+
+    @Test
+    public void testMaxSnapshotsReleasesExpelledSnapshot() {
+        SimpleFlowExecutionSnapshotGroup group = createGroup();
+        group.setMaxSnapshots(2);
+        add(group, 100);
+        add(group, 200);
+        add(group, 300);
+        assertEquals(500, budget.getLiveBytes());
+        assertEquals(0, budget.getEvictionCount());
+    }
+
+    @Test
+    public void testEvictOldestAcrossGroups() {
+        SimpleFlowExecutionSnapshotGroup group1 = createGroup();
+        SimpleFlowExecutionSnapshotGroup group2 = createGroup();
+        Serializable oldest = add(group1, 300);
+        Serializable older = add(group2, 300);
+        Serializable current1 = add(group1, 300);
+        Serializable current2 = add(group2, 300);
+        assertEquals(900, budget.getLiveBytes());
+        assertEquals(1, budget.getEvictionCount());
+        assertThrows(SnapshotNotFoundException.class, () -> group1.getSnapshot(oldest));
+        assertNotNull(group2.getSnapshot(older));
+        assertNotNull(group1.getSnapshot(current1));
+        assertNotNull(group2.getSnapshot(current2));
+        assertEquals(1, group1.getSnapshotCount());
+    }
+
+    @Test
+    public void testCurrentSnapshotsNotEvicted() {
+        SimpleFlowExecutionSnapshotGroup group1 = createGroup();
+        SimpleFlowExecutionSnapshotGroup group2 = createGroup();
+        Serializable current1 = add(group1, 600);
+        Serializable current2 = add(group2, 600);
+        assertEquals(1200, budget.getLiveBytes());
+        assertEquals(0, budget.getEvictionCount());
+        assertNotNull(group1.getSnapshot(current1));
+        assertNotNull(group2.getSnapshot(current2));
+        Serializable next1 = add(group1, 100);
+        assertThrows(SnapshotNotFoundException.class, () -> group1.getSnapshot(current1));
+        assertNotNull(group1.getSnapshot(next1));
+        assertEquals(700, budget.getLiveBytes());
+    }
+
+    @Test
+    public void testCurrentSnapshotsNotScannedForEviction() {
+        List<EvictionCountingGroup> groups = new ArrayList<>();
+        List<Serializable> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            EvictionCountingGroup group = new EvictionCountingGroup();
+            group.setMemoryBudget(budget);
+            groups.add(group);
+            ids.add(add(group, 600));
+        }
+        assertEquals(2400, budget.getLiveBytes());
+        for (EvictionCountingGroup group : groups) {
+            assertEquals(0, group.evictionAttempts);
+        }
+        Serializable superseded = ids.get(0);
+        add(groups.get(0), 100);
+        assertThrows(SnapshotNotFoundException.class, () -> groups.get(0).getSnapshot(superseded));
+        assertEquals(1, groups.get(0).evictionAttempts);
+        assertEquals(0, groups.get(1).evictionAttempts);
+        assertEquals(1900, budget.getLiveBytes());
+    }
+
+    @Test
+    public void testSnapshotCurrentAgainKeptAndQueuedOnceSuperseded() {
+        SimpleFlowExecutionSnapshotGroup group1 = createGroup();
+        SimpleFlowExecutionSnapshotGroup group2 = createGroup();
+        Serializable previous = add(group1, 400);
+        Serializable removed = add(group1, 100);
+        group1.removeSnapshot(removed);
+        add(group2, 700);
+        assertNotNull(group1.getSnapshot(previous));
+        assertEquals(1100, budget.getLiveBytes());
+        add(group1, 100);
+        assertThrows(SnapshotNotFoundException.class, () -> group1.getSnapshot(previous));
+        assertEquals(800, budget.getLiveBytes());
+    }
+
+    @Test
+    public void testCollectedGroupsReleasedBeforeEviction() {
+        SimpleFlowExecutionSnapshotGroup collected = createGroup();
+        add(collected, 600);
+        budget.groupCollected(collected);
+        assertEquals(0, budget.getLiveBytes());
+        assertEquals(0, budget.getSnapshotCount());
+        SimpleFlowExecutionSnapshotGroup group = createGroup();
+        Serializable older = add(group, 300);
+        add(group, 300);
+        assertNotNull(group.getSnapshot(older));
+        assertEquals(0, budget.getEvictionCount());
+    }
+
+    @Test
+    public void testAttachGroupWithSnapshots() {
+        SimpleFlowExecutionSnapshotGroup group = new SimpleFlowExecutionSnapshotGroup();
+        add(group, 100);
+        add(group, 200);
+        assertEquals(0, budget.getLiveBytes());
+        group.setMemoryBudget(budget);
+        assertEquals(300, budget.getLiveBytes());
+        group.setMemoryBudget(budget);
+        assertEquals(300, budget.getLiveBytes());
+    }
+
+    @Test
+    public void testSnapshotInUseSurvivesEviction() {
+        SimpleFlowExecutionSnapshotGroup group1 = createGroup();
+        SimpleFlowExecutionSnapshotGroup group2 = createGroup();
+        Serializable id = add(group1, 500);
+        add(group1, 100);
+        FlowExecutionSnapshot restoring = group1.getSnapshot(id);
+        add(group2, 500);
+        assertThrows(SnapshotNotFoundException.class, () -> group1.getSnapshot(id));
+        assertEquals(500, ((SizedSnapshot) restoring).getSize());
+    }
+
+    @Test
+    public void testConcurrentGroups() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<SimpleFlowExecutionSnapshotGroup> groups = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            SimpleFlowExecutionSnapshotGroup group = createGroup();
+            group.setMaxSnapshots(5);
+            groups.add(group);
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 2000; j++) {
+                    Serializable id = add(group, 10);
+                    if (j % 7 == 0) {
+                        group.removeSnapshot(id);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        int snapshotCount = 0;
+        for (SimpleFlowExecutionSnapshotGroup group : groups) {
+            snapshotCount += group.getSnapshotCount();
+        }
+        assertEquals(snapshotCount, budget.getSnapshotCount());
+        assertEquals(snapshotCount * 10L, budget.getLiveBytes());
+        assertTrue(budget.getLiveBytes() <= 1000);
+    }
+
+    private SimpleFlowExecutionSnapshotGroup createGroup() {
+        SimpleFlowExecutionSnapshotGroup group = new SimpleFlowExecutionSnapshotGroup();
+        group.setMemoryBudget(budget);
+        return group;
+    }
+
+    private Serializable add(SimpleFlowExecutionSnapshotGroup group, int size) {
+        Serializable id = group.nextSnapshotId();
+        group.addSnapshot(id, new SizedSnapshot(size));
+        return id;
+    }
+
+    private static class EvictionCountingGroup extends SimpleFlowExecutionSnapshotGroup {
+
+        private int evictionAttempts;
+
+        synchronized boolean evictSnapshot(SnapshotMemoryBudget.Entry entry) {
+            evictionAttempts++;
+            return super.evictSnapshot(entry);
+        }
+    }
+
+    private static class SizedSnapshot extends SerializedFlowExecutionSnapshot {
+
+        private final int size;
+
+        private SizedSnapshot(int size) {
+            this.size = size;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+}
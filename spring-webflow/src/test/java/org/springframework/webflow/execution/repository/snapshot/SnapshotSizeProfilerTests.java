@@ -0,0 +1,134 @@
+package org.springframework.webflow.execution.repository.snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.engine.Flow;
+import org.springframework.webflow.engine.StubViewFactory;
+import org.springframework.webflow.engine.ViewState;
+import org.springframework.webflow.engine.impl.FlowExecutionImpl;
+import org.springframework.webflow.engine.impl.FlowExecutionImplFactory;
+import org.springframework.webflow.execution.ScopeType;
+import org.springframework.webflow.execution.repository.snapshot.SnapshotSizeProfiler.BudgetPolicy;
+import org.springframework.webflow.test.MockExternalContext;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotSizeProfilerTests {
+
+    private SerializedFlowExecutionSnapshotFactory factory;
+
+    private SnapshotSizeProfiler profiler;
+
+    private FlowExecutionImpl flowExecution;
+
+    @BeforeEach
+    public void setUp() {
+        Flow flow = new Flow("myFlow");
+        new ViewState(flow, "view", new StubViewFactory());
+        FlowExecutionImplFactory executionFactory = new FlowExecutionImplFactory();
+        factory = new SerializedFlowExecutionSnapshotFactory(executionFactory, flowId -> flow);
+        factory.setCompress(false);
+        profiler = new SnapshotSizeProfiler();
+        factory.setSizeProfiler(profiler);
+        flowExecution = (FlowExecutionImpl) executionFactory.createFlowExecution(flow);
+        flowExecution.start(null, new MockExternalContext());
+    }
+
+    @Test
+    public void testProfileAttributeSizes() {
+        flowExecution.getActiveSession().getScope().put("large", new byte[10000]);
+        flowExecution.getActiveSession().getScope().put("small", "foo");
+        flowExecution.getActiveSession().getViewScope().put("view", new byte[2000]);
+        flowExecution.getConversationScope().put("conversation", new byte[3000]);
+        flowExecution.getFlashScope().put("flash", new byte[1000]);
+        SerializedFlowExecutionSnapshot snapshot = (SerializedFlowExecutionSnapshot) factory.createSnapshot(
+            flowExecution);
+        SnapshotSizeProfile profile = profiler.getRegistry().getTotals("myFlow").getLargestProfile();
+        assertEquals("myFlow", profile.getFlowId());
+        assertEquals(snapshot.getSize(), profile.getSnapshotSize());
+        assertTrue(profile.isAttributesProfiled());
+        assertEquals(Arrays.asList("flowScope.large", "conversationScope.conversation", "viewScope.view"),
+            profile.getLargestAttributes(3));
+        assertEquals(Arrays.asList("flowScope.large", "viewScope.view"), profile.getLargestSnapshotAttributes(2));
+        long large = profile.getAttributeSizes().get("flowScope.large");
+        assertTrue(large > 10000 && large < 10100, "Unexpected size " + large);
+        assertFalse(profile.getAttributeSizes().containsKey("flowScope.viewScope"));
+        assertFalse(profile.getAttributeSizes().containsKey("conversationScope.flashScope"));
+        assertTrue(profile.getAttributeSizes().containsKey("flashScope.flash"));
+        assertTrue(profile.getScopeSize(ScopeType.FLOW) >= large + profile.getAttributeSizes().get("flowScope.small"));
+        assertTrue(profile.getScopeSize(ScopeType.VIEW) > 2000);
+        assertTrue(profile.getScopeSize(ScopeType.FLASH) > 1000);
+    }
+
+    @Test
+    public void testProfileNotSerializableConversationAttribute() {
+        flowExecution.getConversationScope().put("notSerializable", new Object());
+        flowExecution.getConversationScope().put("conversation", "foo");
+        factory.createSnapshot(flowExecution);
+        SnapshotSizeProfile profile = profiler.getRegistry().getTotals("myFlow").getLargestProfile();
+        assertFalse(profile.getAttributeSizes().containsKey("conversationScope.notSerializable"));
+        assertEquals(profile.getAttributeSizes().get("conversationScope.conversation").longValue(),
+            profile.getScopeSize(ScopeType.CONVERSATION));
+    }
+
+    @Test
+    public void testProfileWithoutAttributes() {
+        profiler.setProfileAttributes(false);
+        flowExecution.getActiveSession().getScope().put("large", new byte[10000]);
+        factory.createSnapshot(flowExecution);
+        SnapshotSizeProfile profile = profiler.getRegistry().getTotals("myFlow").getLargestProfile();
+        assertFalse(profile.isAttributesProfiled());
+        assertTrue(profile.getAttributeSizes().isEmpty());
+        assertEquals(0, profile.getScopeSize(ScopeType.FLOW));
+        assertTrue(profile.getSnapshotSize() > 10000);
+    }
+
+    @Test
+    public void testRegistryTotals() {
+        factory.createSnapshot(flowExecution);
+        flowExecution.getActiveSession().getScope().put("large", new byte[10000]);
+        SerializedFlowExecutionSnapshot large = (SerializedFlowExecutionSnapshot) factory.createSnapshot(
+            flowExecution);
+        flowExecution.getActiveSession().getScope().remove("large");
+        factory.createSnapshot(flowExecution);
+        SnapshotSizeRegistry registry = profiler.getRegistry();
+        assertEquals(1, registry.getFlowIds().size());
+        SnapshotSizeRegistry.FlowTotals totals = registry.getTotals("myFlow");
+        assertEquals(3, totals.getSnapshotCount());
+        assertEquals(3, registry.getSnapshotCount());
+        assertEquals(totals.getSnapshotBytes(), registry.getSnapshotBytes());
+        assertEquals(large.getSize(), totals.getMaxSnapshotSize());
+        assertEquals(large.getSize(), totals.getLargestProfile().getSnapshotSize());
+        assertTrue(totals.getMaxAttributeSizes().get("flowScope.large") > 10000);
+        assertEquals(0, totals.getBudgetExceededCount());
+        registry.clear();
+        assertNull(registry.getTotals("myFlow"));
+    }
+
+    @Test
+    public void testBudgetExceededWarn() {
+        profiler.setMaxSnapshotSize(5000);
+        factory.createSnapshot(flowExecution);
+        flowExecution.getActiveSession().getScope().put("large", new byte[10000]);
+        assertNotNull(factory.createSnapshot(flowExecution));
+        assertEquals(1, profiler.getRegistry().getBudgetExceededCount());
+    }
+
+    @Test
+    public void testBudgetExceededFail() {
+        profiler.setMaxSnapshotSize(5000);
+        profiler.setBudgetPolicy(BudgetPolicy.FAIL);
+        factory.createSnapshot(flowExecution);
+        flowExecution.getActiveSession().getScope().put("large", new byte[10000]);
+        flowExecution.getConversationScope().put("conversation", new byte[20000]);
+        SnapshotCreationException e = assertThrows(SnapshotCreationException.class,
+            () -> factory.createSnapshot(flowExecution));
+        assertSame(flowExecution, e.getFlowExecution());
+        assertTrue(e.getMessage().contains("flowScope.large"), e.getMessage());
+        assertFalse(e.getMessage().contains("conversationScope.conversation"), e.getMessage());
+        assertTrue(e.getMessage().contains("outside the snapshot: conversation scope 20"), e.getMessage());
+        assertEquals(1, profiler.getRegistry().getBudgetExceededCount());
+    }
+}
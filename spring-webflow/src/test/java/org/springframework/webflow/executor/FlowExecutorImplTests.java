@@ -18,6 +18,14 @@ import org.springframework.webflow.test.GeneratedFlowExecutionKey;
 import org.springframework.webflow.test.MockExternalContext;
 import org.springframework.webflow.test.MockFlowExecutionKey;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class FlowExecutorImplTests {
@@ -195,6 +203,102 @@ public class FlowExecutorImplTests {
         verifyMocks();
     }
 
+    @Test
+    public void testCoalesceDuplicateSubmits() throws Exception {
+        MockExternalContext duplicateContext = new MockExternalContext();
+        duplicateContext.putRequestParameter("_eventId_submit", "Submit");
+        FlowExecutionResult[] results = resumeWithDuplicate(duplicateContext, true, true);
+        assertSame(results[0], results[1]);
+        assertTrue(duplicateContext.getFlowExecutionRedirectRequested());
+    }
+
+    @Test
+    public void testDuplicateSubmitsFromOtherSessionsNotCoalesced() throws Exception {
+        MockExternalContext otherSessionContext = new MockExternalContext();
+        otherSessionContext.putRequestParameter("_eventId_submit", "Submit");
+        resumeWithDuplicate(otherSessionContext, false, false);
+    }
+
+    @Test
+    public void testSubmitsWithOtherFormDataNotCoalesced() throws Exception {
+        MockExternalContext otherDataContext = new MockExternalContext();
+        otherDataContext.putRequestParameter("_eventId_submit", "Submit");
+        otherDataContext.putRequestParameter("name", "other");
+        resumeWithDuplicate(otherDataContext, true, false);
+    }
+
+    /**
+     * Resumes a flow execution with a submit that pauses and redirects, and concurrently with a second request.
+     */
+    private FlowExecutionResult[] resumeWithDuplicate(MockExternalContext duplicateContext, boolean sameSession,
+                                                      boolean coalesced)
+        throws Exception {
+        ((FlowExecutorImpl) flowExecutor).setCoalesceDuplicateSubmits(true);
+        String flowExecutionKey = "12345";
+        MockExternalContext context = new MockExternalContext();
+        context.putRequestParameter("_eventId_submit", "Submit");
+        context.putRequestParameter("name", "value");
+        if (!duplicateContext.getRequestParameterMap().contains("name")) {
+            duplicateContext.putRequestParameter("name", "value");
+        }
+        if (sameSession) {
+            duplicateContext.setSessionMap(context.getSessionMap());
+        }
+        FlowExecutionKey key = new MockFlowExecutionKey("12345");
+        FlowExecutionLock executionLock = new ReentrantFlowExecutionLock();
+        CountDownLatch resuming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int resumes = coalesced ? 1 : 2;
+
+        EasyMock.expect(repository.parseFlowExecutionKey(flowExecutionKey)).andReturn(key).times(2);
+        EasyMock.expect(repository.getLock(key)).andReturn(executionLock).times(2);
+        EasyMock.expect(repository.getFlowExecution(key)).andReturn(execution).times(resumes);
+        execution.resume(context);
+        EasyMock.expectLastCall().andAnswer(() -> {
+            resuming.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            context.requestFlowExecutionRedirect();
+            return null;
+        });
+        if (!coalesced) {
+            execution.resume(duplicateContext);
+        }
+        EasyMock.expect(execution.hasEnded()).andReturn(false).times(resumes);
+        repository.putFlowExecution(execution);
+        EasyMock.expectLastCall().times(resumes);
+        EasyMock.expect(execution.getDefinition()).andReturn(definition).times(resumes);
+        EasyMock.expect(definition.getId()).andReturn("foo").times(resumes);
+        EasyMock.expect(execution.getKey()).andReturn(key).times(resumes);
+
+        replayMocks();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<FlowExecutionResult> first = executor.submit(() -> flowExecutor.resumeExecution(flowExecutionKey,
+                context));
+            assertTrue(resuming.await(10, TimeUnit.SECONDS));
+            AtomicReference<Thread> duplicateThread = new AtomicReference<>();
+            Future<FlowExecutionResult> duplicate = executor.submit(() -> {
+                duplicateThread.set(Thread.currentThread());
+                return flowExecutor.resumeExecution(flowExecutionKey, duplicateContext);
+            });
+            long deadline = System.currentTimeMillis() + 10000;
+            while ((duplicateThread.get() == null || duplicateThread.get().getState() != Thread.State.WAITING)
+                   && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            FlowExecutionResult result = first.get(10, TimeUnit.SECONDS);
+            assertTrue(result.isPaused());
+            assertEquals("12345", result.getPausedKey());
+            FlowExecutionResult duplicateResult = duplicate.get(10, TimeUnit.SECONDS);
+            assertTrue(duplicateResult.isPaused());
+            verifyMocks();
+            return new FlowExecutionResult[] { result, duplicateResult };
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private void replayMocks() {
         EasyMock.replay(locator, definition, factory, execution, repository, lock);
     }
@@ -202,4 +306,17 @@ public class FlowExecutorImplTests {
     private void verifyMocks() {
         EasyMock.verify(locator, definition, factory, execution, repository, lock);
     }
+
+    private static class ReentrantFlowExecutionLock implements FlowExecutionLock {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        public void lock() {
+            lock.lock();
+        }
+
+        public void unlock() {
+            lock.unlock();
+        }
+    }
 }
@@ -2,6 +2,7 @@ package org.springframework.webflow.expression.el;
 
 import org.apache.el.ExpressionFactoryImpl;
 import org.junit.jupiter.api.Test;
+import org.springframework.binding.expression.EvaluationException;
 import org.springframework.binding.expression.Expression;
 import org.springframework.binding.expression.support.FluentParserContext;
 import org.springframework.context.support.StaticApplicationContext;
@@ -58,6 +59,67 @@ public class WebFlowELExpressionParserTests {
         assertSame(context, exp.getValue(context));
     }
 
+    @Test
+    public void testReuseELContextPerRequest() {
+        MockRequestContext context = new MockRequestContext();
+        context.getFlowScope().put("foo", "bar");
+        MockRequestContext otherContext = new MockRequestContext();
+        otherContext.getFlowScope().put("foo", "baz");
+        Expression exp = parser.parseExpression("foo", new FluentParserContext().evaluate(RequestContext.class));
+        Expression requestContextExp = parser.parseExpression("flowRequestContext",
+            new FluentParserContext().evaluate(RequestContext.class));
+        assertEquals("bar", exp.getValue(context));
+        Object elContext = context.getAttributes().get(WebFlowELExpressionParser.EL_CONTEXT_ATTRIBUTE);
+        assertNotNull(elContext);
+        assertEquals("baz", exp.getValue(otherContext));
+        assertSame(context, requestContextExp.getValue(context));
+        assertSame(otherContext, requestContextExp.getValue(otherContext));
+        assertSame(elContext, context.getAttributes().get(WebFlowELExpressionParser.EL_CONTEXT_ATTRIBUTE));
+        Expression bogus = parser.parseExpression("bogus", new FluentParserContext().evaluate(RequestContext.class));
+        assertThrows(EvaluationException.class, () -> bogus.getValue(context));
+    }
+
+    @Test
+    public void testELContextOfOtherRequestNotReused() {
+        MockRequestContext context = new MockRequestContext();
+        MockRequestContext otherContext = new MockRequestContext();
+        Expression exp = parser.parseExpression("flowRequestContext",
+            new FluentParserContext().evaluate(RequestContext.class));
+        exp.getValue(context);
+        otherContext.getAttributes().put(WebFlowELExpressionParser.EL_CONTEXT_ATTRIBUTE,
+            context.getAttributes().get(WebFlowELExpressionParser.EL_CONTEXT_ATTRIBUTE));
+        assertSame(otherContext, exp.getValue(otherContext));
+    }
+
+    @Test
+    public void testNestedEvaluationInSameRequest() {
+        MockRequestContext context = new MockRequestContext();
+        Expression inner = parser.parseExpression("null", new FluentParserContext().evaluate(RequestContext.class));
+        context.getFlowScope().put("bean", new NestedEvaluationBean(inner, context));
+        Expression exp = parser.parseExpression("bean.nested",
+            new FluentParserContext().evaluate(RequestContext.class));
+        assertEquals("nested", exp.getValue(context));
+        assertEquals("nested", exp.getValue(context));
+        assertEquals(1, context.getAttributes().size());
+    }
+
+    public static class NestedEvaluationBean {
+
+        private final Expression expression;
+
+        private final RequestContext context;
+
+        public NestedEvaluationBean(Expression expression, RequestContext context) {
+            this.expression = expression;
+            this.context = context;
+        }
+
+        public String getNested() {
+            assertNull(expression.getValue(context));
+            return "nested";
+        }
+    }
+
     @Test
     public void testResolveCurrentUser() {
         MockRequestContext context = new MockRequestContext();
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2004-2012 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.webflow.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryFlowExecutionMetricsTests {
+
+    private InMemoryFlowExecutionMetrics metrics = new InMemoryFlowExecutionMetrics();
+
+    @Test
+    public void testPerFlowAndStateDurations() {
+        metrics.recordRequest("flow", 10);
+        metrics.recordRequest("flow", 20);
+        metrics.recordRequest("other", 5);
+        metrics.recordState("flow", "view", 7);
+        metrics.recordRender("flow", "view", 3);
+        metrics.recordAction("flow", 2);
+        assertEquals(2, metrics.getRequestDurations().get("flow").getCount());
+        assertEquals(30, metrics.getRequestDurations().get("flow").getTotal());
+        assertEquals(1, metrics.getRequestDurations().get("other").getCount());
+        assertEquals(7, metrics.getStateDurations("flow").get("view").getTotal());
+        assertEquals(3, metrics.getRenderDurations("flow").get("view").getTotal());
+        assertEquals(2, metrics.getActionDurations().get("flow").getTotal());
+        assertTrue(metrics.getStateDurations("other").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> metrics.getRequestDurations().clear());
+    }
+
+    @Test
+    public void testSnapshotsLocksAndEvictions() {
+        metrics.recordSnapshotSerialization(100, 2048);
+        metrics.recordSnapshotDeserialization(50, 2048);
+        metrics.recordLockWait(25);
+        metrics.recordSnapshotEviction();
+        metrics.recordConversationEviction();
+        metrics.recordConversationEviction();
+        assertEquals(100, metrics.getSnapshotSerializationDurations().getTotal());
+        assertEquals(2048, metrics.getSnapshotSerializationSizes().getMax());
+        assertEquals(50, metrics.getSnapshotDeserializationDurations().getTotal());
+        assertEquals(2048, metrics.getSnapshotDeserializationSizes().getMax());
+        assertEquals(25, metrics.getLockWaitDurations().getTotal());
+        assertEquals(1, metrics.getSnapshotEvictions());
+        assertEquals(2, metrics.getConversationEvictions());
+    }
+}
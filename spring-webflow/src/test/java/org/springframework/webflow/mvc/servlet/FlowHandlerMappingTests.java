@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockServletContext;
 import org.springframework.web.context.support.StaticWebApplicationContext;
@@ -21,12 +22,16 @@ import static org.junit.jupiter.api.Assertions.*;
 public class FlowHandlerMappingTests {
     private FlowHandlerMapping mapping = new FlowHandlerMapping();
 
+    private CountingFlowDefinitionRegistry registry;
+
+    private StaticWebApplicationContext context;
+
     @BeforeEach
     public void setUp() {
-        FlowDefinitionRegistryImpl registry = new FlowDefinitionRegistryImpl();
+        registry = new CountingFlowDefinitionRegistry();
         registry.registerFlowDefinition(new FlowDefinitionImpl());
         registry.registerFlowDefinition(new FlowDefinitionImpl("foo/flow2"));
-        StaticWebApplicationContext context = new StaticWebApplicationContext();
+        context = new StaticWebApplicationContext();
         context.getBeanFactory().registerSingleton("foo/flow2", new CustomFlowHandler());
         mapping.setFlowRegistry(registry);
         mapping.setServletContext(new MockServletContext());
@@ -80,6 +85,86 @@ public class FlowHandlerMappingTests {
         assertNull(chain);
     }
 
+    @Test
+    public void testGetHandlerCached() throws Exception {
+        FlowHandler handler = (FlowHandler) mapping.getHandler(createRequest("/flow")).getHandler();
+        assertSame(handler, mapping.getHandler(createRequest("/flow")).getHandler());
+        assertEquals(1, registry.lookups);
+    }
+
+    @Test
+    public void testGetHandlerNoHandlerCached() throws Exception {
+        assertNull(mapping.getHandler(createRequest("/bogus")));
+        assertNull(mapping.getHandler(createRequest("/bogus")));
+        assertEquals(1, registry.lookups);
+    }
+
+    @Test
+    public void testGetHandlerNoHandlerCacheBounded() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            assertNull(mapping.getHandler(createRequest("/bogus" + i)));
+        }
+        assertEquals(1000, registry.lookups);
+        assertNull(mapping.getHandler(createRequest("/bogus0")));
+        assertEquals(1000, registry.lookups);
+        assertNull(mapping.getHandler(createRequest("/bogus999")));
+        assertEquals(1001, registry.lookups);
+    }
+
+    @Test
+    public void testGetHandlerAfterFlowRegistered() throws Exception {
+        assertNull(mapping.getHandler(createRequest("/bogus")));
+        registry.registerFlowDefinition(new FlowDefinitionImpl("bogus"));
+        FlowHandler handler = (FlowHandler) mapping.getHandler(createRequest("/bogus")).getHandler();
+        assertEquals("bogus", handler.getFlowId());
+    }
+
+    @Test
+    public void testGetHandlerAfterFlowRegisteredInParent() throws Exception {
+        FlowDefinitionRegistryImpl parent = new FlowDefinitionRegistryImpl();
+        registry.setParent(parent);
+        assertNull(mapping.getHandler(createRequest("/bogus")));
+        parent.registerFlowDefinition(new FlowDefinitionImpl("bogus"));
+        FlowHandler handler = (FlowHandler) mapping.getHandler(createRequest("/bogus")).getHandler();
+        assertEquals("bogus", handler.getFlowId());
+    }
+
+    @Test
+    public void testGetHandlerAfterContextRefreshed() throws Exception {
+        assertFalse(mapping.getHandler(createRequest("/flow")).getHandler() instanceof CustomFlowHandler);
+        context.getBeanFactory().registerSingleton("flow", new CustomFlowHandler());
+        mapping.onApplicationEvent(new ContextRefreshedEvent(context));
+        assertTrue(mapping.getHandler(createRequest("/flow")).getHandler() instanceof CustomFlowHandler);
+    }
+
+    @Test
+    public void testGetHandlerPrototypeCustomFlowHandlerNotCached() throws Exception {
+        context.registerPrototype("flow", CustomFlowHandler.class);
+        Object handler = mapping.getHandler(createRequest("/flow")).getHandler();
+        assertTrue(handler instanceof CustomFlowHandler);
+        assertNotSame(handler, mapping.getHandler(createRequest("/flow")).getHandler());
+    }
+
+    private MockHttpServletRequest createRequest(String pathInfo) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContextPath("/springtravel");
+        request.setServletPath("/app");
+        request.setPathInfo(pathInfo);
+        request.setRequestURI("/springtravel/app" + pathInfo);
+        request.setMethod("GET");
+        return request;
+    }
+
+    private static class CountingFlowDefinitionRegistry extends FlowDefinitionRegistryImpl {
+
+        private int lookups;
+
+        public boolean containsFlowDefinition(String flowId) {
+            lookups++;
+            return super.containsFlowDefinition(flowId);
+        }
+    }
+
     private static class FlowDefinitionImpl implements FlowDefinition {
 
         private String flowId = "flow";